@@ -22,6 +22,7 @@ public class ExpenseTrackerApplication {
                         .allowedOrigins("*")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor")
                         .maxAge(3600);
             }
         };
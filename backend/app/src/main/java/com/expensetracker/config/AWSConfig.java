@@ -1,5 +1,6 @@
 package com.expensetracker.config;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
@@ -12,6 +13,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class AWSConfig {
 
@@ -24,10 +27,19 @@ public class AWSConfig {
     @Value("${aws.region}")
     private String region;
 
+    // With virtual threads there is no request thread pool to cap concurrency; the connection pools are the
+    // limit, and calls beyond them wait for a connection up to the connection timeout
+    @Value("${aws.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.http.connection-timeout:10s}")
+    private Duration connectionTimeout;
+
     @Bean
     public AmazonDynamoDB amazonDynamoDB() {
         return AmazonDynamoDBClientBuilder.standard()
             .withRegion(region)
+            .withClientConfiguration(clientConfiguration())
             .withCredentials(new AWSStaticCredentialsProvider(
                 new BasicAWSCredentials(accessKeyId, secretAccessKey)))
             .build();
@@ -37,6 +49,7 @@ public class AWSConfig {
     public AmazonSQS amazonSQS() {
         return AmazonSQSClientBuilder.standard()
             .withRegion(region)
+            .withClientConfiguration(clientConfiguration())
             .withCredentials(new AWSStaticCredentialsProvider(
                 new BasicAWSCredentials(accessKeyId, secretAccessKey)))
             .build();
@@ -50,4 +63,10 @@ public class AWSConfig {
                 new BasicAWSCredentials(accessKeyId, secretAccessKey)))
             .build();
     }
-} 
\ No newline at end of file
+
+    private ClientConfiguration clientConfiguration() {
+        return new ClientConfiguration()
+            .withMaxConnections(maxConnections)
+            .withConnectionTimeout((int) connectionTimeout.toMillis());
+    }
+}
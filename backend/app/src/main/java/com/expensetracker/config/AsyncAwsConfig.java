@@ -0,0 +1,96 @@
+package com.expensetracker.config;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.time.Duration;
+
+/**
+ * SDK v2 async clients for the request path. Both run on one small Netty event loop group, so thousands of
+ * DynamoDB and SQS calls can be in flight without a thread each. {@code max-concurrency} is the connection
+ * limit per client; calls beyond it queue for a connection, up to {@code max-pending-acquires} of them for
+ * at most {@code acquisition-timeout}, and then fail rather than queue without bound.
+ */
+@Configuration
+public class AsyncAwsConfig {
+
+    @Value("${aws.access-key-id}")
+    private String accessKeyId;
+
+    @Value("${aws.secret-access-key}")
+    private String secretAccessKey;
+
+    @Value("${aws.region}")
+    private String region;
+
+    @Value("${aws.async.event-loop-threads:0}")
+    private int eventLoopThreads;
+
+    @Value("${aws.async.max-concurrency:500}")
+    private int maxConcurrency;
+
+    @Value("${aws.async.max-pending-acquires:10000}")
+    private int maxPendingAcquires;
+
+    @Value("${aws.async.acquisition-timeout:5s}")
+    private Duration acquisitionTimeout;
+
+    @Value("${aws.async.connection-timeout:2s}")
+    private Duration connectionTimeout;
+
+    @Value("${aws.async.read-timeout:10s}")
+    private Duration readTimeout;
+
+    // 0 leaves the thread count to Netty, which uses twice the available processors
+    @Bean(destroyMethod = "shutdownGracefully")
+    public EventLoopGroup awsEventLoopGroup() {
+        return new NioEventLoopGroup(eventLoopThreads, new DefaultThreadFactory("aws-event-loop", true));
+    }
+
+    @Bean(destroyMethod = "close")
+    public DynamoDbAsyncClient dynamoDbAsyncClient(EventLoopGroup awsEventLoopGroup) {
+        return DynamoDbAsyncClient.builder()
+            .region(Region.of(region))
+            .credentialsProvider(credentials())
+            .httpClientBuilder(httpClient(awsEventLoopGroup))
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public SqsAsyncClient sqsAsyncClient(EventLoopGroup awsEventLoopGroup) {
+        return SqsAsyncClient.builder()
+            .region(Region.of(region))
+            .credentialsProvider(credentials())
+            .httpClientBuilder(httpClient(awsEventLoopGroup))
+            .build();
+    }
+
+    // Built by each SDK client, which then closes it; the shared event loop group is left to its own bean
+    private NettyNioAsyncHttpClient.Builder httpClient(EventLoopGroup eventLoopGroup) {
+        return NettyNioAsyncHttpClient.builder()
+            .eventLoopGroup(SdkEventLoopGroup.create(eventLoopGroup))
+            .maxConcurrency(maxConcurrency)
+            .maxPendingConnectionAcquires(maxPendingAcquires)
+            .connectionAcquisitionTimeout(acquisitionTimeout)
+            .connectionTimeout(connectionTimeout)
+            .readTimeout(readTimeout)
+            .writeTimeout(readTimeout)
+            .connectionMaxIdleTime(Duration.ofSeconds(60))
+            .tcpKeepAlive(true);
+    }
+
+    private StaticCredentialsProvider credentials() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, secretAccessKey));
+    }
+}
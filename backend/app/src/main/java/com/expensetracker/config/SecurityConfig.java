@@ -0,0 +1,55 @@
+package com.expensetracker.config;
+
+import com.expensetracker.security.CognitoAuthenticationFilter;
+import com.expensetracker.security.CognitoTokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, CognitoTokenVerifier cognitoTokenVerifier) throws Exception {
+        http
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers("/api/expenses/**").authenticated()
+                .anyRequest().permitAll())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            // Not a bean, so Spring Boot does not register it a second time as a servlet filter
+            .addFilterBefore(new CognitoAuthenticationFilter(cognitoTokenVerifier),
+                UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CognitoTokenVerifier cognitoTokenVerifier(
+            MeterRegistry meterRegistry,
+            @Value("${aws.cognito.issuer:https://cognito-idp.${aws.region}.amazonaws.com/${aws.cognito.user-pool-id}}") String issuer,
+            @Value("${aws.cognito.jwks-uri:}") String jwksUri,
+            @Value("${aws.cognito.jwks-cache-ttl:15m}") Duration jwksCacheTtl,
+            @Value("${aws.cognito.token-cache.max-size:10000}") int tokenCacheSize) {
+        String keysUri = jwksUri.isEmpty() ? issuer + "/.well-known/jwks.json" : jwksUri;
+        CognitoTokenVerifier verifier = new CognitoTokenVerifier(
+            CognitoTokenVerifier.keySource(keysUri, jwksCacheTtl), issuer, tokenCacheSize, meterRegistry, Clock.systemUTC());
+        verifier.prefetchKeys();
+        return verifier;
+    }
+}
@@ -0,0 +1,34 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Beans used when {@code spring.threads.virtual.enabled} is set and the JVM is Java 21 or later, in which
+ * case Spring Boot already serves requests on virtual threads. Blocking work the API starts itself, such as
+ * parallel scan workers, then runs on virtual threads too.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public ThreadFactory blockingCallThreadFactory() {
+        return new VirtualThreadTaskExecutor("blocking-call-").getVirtualThreadFactory();
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
@@ -0,0 +1,85 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread for longer than {@code threshold}, which
+ * happens when they block inside {@code synchronized} or native code. A pinned virtual thread holds one of
+ * the few carrier threads, so enough of them stall every request.
+ *
+ * <p>Pinning is read from the JDK Flight Recorder {@code jdk.VirtualThreadPinned} event, in process and
+ * without a recording file. Each event is timed under {@code jvm.threads.virtual.pinned} and logged with
+ * the top of its stack, which names the monitor or native frame responsible.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .register(meterRegistry);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread {} pinned for {} ms at:\n{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), frames(event.getStackTrace()));
+        }
+    }
+
+    private static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(LOGGED_FRAMES)
+            .map(VirtualThreadPinningMonitor::frame)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + " line " + frame.getLineNumber();
+    }
+}
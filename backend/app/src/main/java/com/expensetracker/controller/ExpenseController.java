@@ -0,0 +1,435 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseSummary;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.ImportProgress;
+import com.expensetracker.model.ImportRowError;
+import com.expensetracker.model.MonthlySummary;
+import com.expensetracker.model.Page;
+import com.expensetracker.repository.ExpenseNotFoundException;
+import com.expensetracker.repository.ExpenseVersionConflictException;
+import com.expensetracker.service.AsyncExpenseService;
+import com.expensetracker.service.ExpenseExportService;
+import com.expensetracker.service.ExpenseImportService;
+import com.expensetracker.service.ExpenseService;
+import com.expensetracker.service.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/expenses")
+@RequiredArgsConstructor
+@Tag(name = "Expenses", description = "Expense management APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class ExpenseController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ExpenseService expenseService;
+    // Request-path operations complete on the SDK's threads; the servlet thread is released while they run
+    private final AsyncExpenseService asyncExpenseService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseImportService expenseImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    @Operation(
+        summary = "Create a new expense",
+        description = "Creates a new expense and sends it for processing"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expense created successfully",
+            content = @Content(schema = @Schema(implementation = Expense.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<Expense>> createExpense(
+        @Parameter(description = "Expense details", required = true)
+        @Valid @RequestBody Expense expense
+    ) {
+        return asyncExpenseService.createExpense(expense).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Create expenses in bulk",
+        description = "Creates up to 100 expenses in one request and sends them for processing. "
+            + "Each entry gets its own result, reported at the same index as the request entry; an invalid entry "
+            + "fails on its own without failing the others"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch accepted; see per-item results",
+            content = @Content(schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or batch too large"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> createExpenses(
+        @Parameter(description = "Expenses to create", required = true,
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Expense.class))))
+        @RequestBody List<ObjectNode> expenses
+    ) {
+        return asyncExpenseService.createExpenses(expenses).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv", produces = "application/x-ndjson")
+    @Operation(
+        summary = "Import expenses from CSV",
+        description = "Imports a CSV file of expenses, which may be gzip-compressed (Content-Encoding: gzip), "
+            + "reading and writing it as it is uploaded. The header row names the columns: date, description, "
+            + "amount and category are required, currency, receiptUrl and notes optional, and others ignored. "
+            + "The response is a stream of JSON lines: an error line for each rejected row, and progress lines "
+            + "carrying importId and checkpoint. If the import stops early, send the file again with that "
+            + "importId and resumeFrom set to the last checkpoint"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Import ran; see the reported rows and final progress",
+            content = @Content(schema = @Schema(oneOf = {ImportRowError.class, ImportProgress.class}))),
+        @ApiResponse(responseCode = "400", description = "Missing header, missing required column or invalid resumeFrom"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    // Like the export, handled on the request thread to stay clear of the async request timeout
+    public void importExpenses(
+        @Parameter(hidden = true)
+        @RequestAttribute("userId") String userId,
+        @Parameter(description = "Id of the import to resume; a new one is assigned when omitted")
+        @RequestParam(required = false) String importId,
+        @Parameter(description = "Checkpoint to resume from; rows up to it are skipped")
+        @RequestParam(defaultValue = "0") long resumeFrom,
+        @Parameter(hidden = true)
+        @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        InputStream body = "gzip".equalsIgnoreCase(contentEncoding)
+            ? new GZIPInputStream(request.getInputStream())
+            : request.getInputStream();
+        OutputStream output = response.getOutputStream();
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        expenseImportService.importExpenses(userId, importId != null ? importId : UUID.randomUUID().toString(),
+            resumeFrom, new InputStreamReader(body, StandardCharsets.UTF_8), new ExpenseImportService.ImportListener() {
+                @Override
+                public void rowRejected(ImportRowError error) throws IOException {
+                    writeLine(output, error);
+                }
+
+                @Override
+                public void progress(ImportProgress progress) throws IOException {
+                    writeLine(output, progress);
+                    output.flush();
+                }
+            });
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Get expense by ID",
+        description = "Retrieves a specific expense by its ID"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expense found",
+            content = @Content(schema = @Schema(implementation = Expense.class))),
+        @ApiResponse(responseCode = "404", description = "Expense not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<Expense>> getExpense(
+        @Parameter(description = "Expense ID", required = true)
+        @PathVariable String id
+    ) {
+        return asyncExpenseService.getExpense(id).thenApply(expense -> expense
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "Get all expenses",
+        description = "Retrieves one page of the caller's expenses with optional date filtering. "
+            + "When more results exist, the cursor for the next page is returned in the X-Next-Cursor header"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully",
+            content = @Content(schema = @Schema(oneOf = {Expense.class, ExpenseSummary.class}))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or fields"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<List<?>>> getAllExpenses(
+        @Parameter(hidden = true)
+        @RequestAttribute("userId") String userId,
+        @Parameter(description = "Start date for filtering (ISO format)")
+        @RequestParam(required = false) LocalDateTime startDate,
+        @Parameter(description = "End date for filtering (ISO format)")
+        @RequestParam(required = false) LocalDateTime endDate,
+        @Parameter(description = "Maximum number of expenses to return (1-" + Page.MAX_LIMIT + ")")
+        @RequestParam(required = false) Integer limit,
+        @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Set to summary to return only id, date, description, amount, category and status")
+        @RequestParam(required = false) String fields
+    ) {
+        ExpenseView view = ExpenseView.fromFields(fields);
+        CompletableFuture<Page<Expense>> page = startDate != null && endDate != null
+            ? asyncExpenseService.getUserExpensesByDateRange(userId, startDate, endDate, limit, cursor, view)
+            : asyncExpenseService.getUserExpenses(userId, limit, cursor, view);
+        return page.thenApply(result -> pageResponse(render(result.getItems(), view), result.getNextCursor()));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export expenses",
+        description = "Downloads the caller's expenses dated within a range, in date order, as CSV or NDJSON. "
+            + "Rows are streamed as they are read and gzip-compressed when the client accepts gzip. A failure "
+            + "after the first rows have been sent ends the download early"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid format or date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    // Written on the request thread rather than as a StreamingResponseBody, which the async request timeout
+    // would cut short on large exports
+    public void exportExpenses(
+        @Parameter(hidden = true)
+        @RequestAttribute("userId") String userId,
+        @Parameter(description = "Start of the range (ISO format)", required = true)
+        @RequestParam LocalDateTime startDate,
+        @Parameter(description = "End of the range, inclusive (ISO format)", required = true)
+        @RequestParam LocalDateTime endDate,
+        @Parameter(description = "csv or ndjson")
+        @RequestParam(defaultValue = "csv") String format,
+        @Parameter(hidden = true)
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("expenses." + exportFormat.getExtension()).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            expenseExportService.exportExpenses(userId, startDate, endDate, exportFormat, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        // Sync flushes push each page's rows to the client instead of holding them in the compressor
+        try (OutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 8192, true)) {
+            expenseExportService.exportExpenses(userId, startDate, endDate, exportFormat, gzip);
+        }
+    }
+
+    @PutMapping("/{id}")
+    @Operation(
+        summary = "Update expense",
+        description = "Replaces an existing expense, except its status, which only processing changes. When the "
+            + "body carries the version last read, the update is rejected if the expense has been changed since; "
+            + "without it the last write wins"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expense updated successfully",
+            content = @Content(schema = @Schema(implementation = Expense.class))),
+        @ApiResponse(responseCode = "404", description = "Expense not found"),
+        @ApiResponse(responseCode = "409", description = "Expense changed since the given version"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<Expense>> updateExpense(
+        @Parameter(description = "Expense ID", required = true)
+        @PathVariable String id,
+        @Parameter(description = "Updated expense details", required = true)
+        @Valid @RequestBody Expense expense
+    ) {
+        return asyncExpenseService.updateExpense(id, expense).thenApply(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(
+        summary = "Patch expense",
+        description = "Changes only the fields present in the body; a field set to null is cleared. "
+            + "An amount sent alone is in the expense's currency; currency can only be sent with amount, and "
+            + "status cannot be sent. "
+            + "When the body carries the version last read, the change is rejected if the expense has been "
+            + "changed since"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expense updated successfully",
+            content = @Content(schema = @Schema(implementation = Expense.class))),
+        @ApiResponse(responseCode = "404", description = "Expense not found"),
+        @ApiResponse(responseCode = "409", description = "Expense changed since the given version"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or a field that cannot be patched"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<Expense>> patchExpense(
+        @Parameter(description = "Expense ID", required = true)
+        @PathVariable String id,
+        @Parameter(description = "Fields to change", required = true)
+        @RequestBody ObjectNode patch
+    ) {
+        return asyncExpenseService.patchExpense(id, ExpensePatch.from(patch, objectMapper))
+            .thenApply(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Delete expense",
+        description = "Deletes an existing expense"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Expense deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Expense not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public CompletableFuture<ResponseEntity<Void>> deleteExpense(
+        @Parameter(description = "Expense ID", required = true)
+        @PathVariable String id
+    ) {
+        return asyncExpenseService.deleteExpense(id).thenApply(deleted -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/category/{category}")
+    @Operation(
+        summary = "Get expenses by category",
+        description = "Retrieves all expenses for a specific category"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully",
+            content = @Content(schema = @Schema(oneOf = {Expense.class, ExpenseSummary.class}))),
+        @ApiResponse(responseCode = "400", description = "Invalid fields"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<?>> getExpensesByCategory(
+        @Parameter(description = "Category name", required = true)
+        @PathVariable String category,
+        @Parameter(description = "Set to summary to return only id, date, description, amount, category and status")
+        @RequestParam(required = false) String fields
+    ) {
+        ExpenseView view = ExpenseView.fromFields(fields);
+        return ResponseEntity.ok(render(expenseService.getExpensesByCategory(category, view), view));
+    }
+
+    @GetMapping("/status/{status}")
+    @Operation(
+        summary = "Get expenses by status",
+        description = "Retrieves all expenses with a specific status"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully",
+            content = @Content(schema = @Schema(oneOf = {Expense.class, ExpenseSummary.class}))),
+        @ApiResponse(responseCode = "400", description = "Invalid fields"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<?>> getExpensesByStatus(
+        @Parameter(description = "Expense status", required = true)
+        @PathVariable String status,
+        @Parameter(description = "Set to summary to return only id, date, description, amount, category and status")
+        @RequestParam(required = false) String fields
+    ) {
+        ExpenseView view = ExpenseView.fromFields(fields);
+        return ResponseEntity.ok(render(expenseService.getExpensesByStatus(status, view), view));
+    }
+
+    @GetMapping("/summary")
+    @Operation(
+        summary = "Get monthly spending summary",
+        description = "Retrieves the caller's spending for a month, totalled per currency and per category and "
+            + "currency. Totals are maintained as expenses are processed, so pending expenses are not included"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+            content = @Content(schema = @Schema(implementation = MonthlySummary.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid month"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<MonthlySummary> getMonthlySummary(
+        @Parameter(hidden = true)
+        @RequestAttribute("userId") String userId,
+        @Parameter(description = "Month to summarize (yyyy-MM); defaults to the current month")
+        @RequestParam(required = false) YearMonth month
+    ) {
+        return ResponseEntity.ok(expenseService.getMonthlySummary(userId, month != null ? month : YearMonth.now()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    @ExceptionHandler(ExpenseNotFoundException.class)
+    public ResponseEntity<Void> handleNotFound(ExpenseNotFoundException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(ExpenseVersionConflictException.class)
+    public ResponseEntity<Void> handleConflict(ExpenseVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private void writeLine(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+    }
+
+    private static ResponseEntity<List<?>> pageResponse(List<?> items, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    private static List<?> render(List<Expense> expenses, ExpenseView view) {
+        if (view == ExpenseView.FULL) {
+            return expenses;
+        }
+        return expenses.stream().map(ExpenseSummary::of).collect(Collectors.toList());
+    }
+}
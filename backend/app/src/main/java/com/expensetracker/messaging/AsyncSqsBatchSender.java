@@ -0,0 +1,94 @@
+package com.expensetracker.messaging;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SqsBatchSender} on the SDK v2 {@link SqsAsyncClient}: chunks of 10 are sent concurrently, and
+ * retried on the same terms after the same jittered backoff, scheduled rather than slept. Errors that
+ * retrying cannot fix fail the returned future.
+ */
+public final class AsyncSqsBatchSender {
+    static final int MAX_ATTEMPTS = 3;
+
+    private AsyncSqsBatchSender() {
+    }
+
+    /**
+     * Sends each message in a FIFO message group named by its entry id, as {@link SqsBatchSender#sendAll} does.
+     *
+     * @param messages message bodies keyed by batch entry id, as for {@link SqsBatchSender#sendAll}
+     * @return ids of the entries that could not be sent; fails with an {@link AwsServiceException} if SQS
+     *         rejected a request with an error that retrying cannot fix
+     */
+    public static CompletableFuture<Set<String>> sendAll(SqsAsyncClient sqs, String queueUrl, Map<String, String> messages) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(messages.size());
+        messages.forEach((id, body) -> entries.add(
+            SendMessageBatchRequestEntry.builder().id(id).messageBody(body).messageGroupId(id).build()));
+
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += SqsBatchSender.MAX_BATCH_SIZE) {
+            chunks.add(sendChunk(sqs, queueUrl,
+                entries.subList(from, Math.min(from + SqsBatchSender.MAX_BATCH_SIZE, entries.size())), failed, 0));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(done -> failed);
+    }
+
+    private static CompletableFuture<Void> sendChunk(SqsAsyncClient sqs, String queueUrl,
+                                                     List<SendMessageBatchRequestEntry> entries,
+                                                     Set<String> failed, int attempt) {
+        if (entries.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (attempt == MAX_ATTEMPTS) {
+            entries.forEach(entry -> failed.add(entry.id()));
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> delay = attempt == 0
+            ? CompletableFuture.completedFuture(null)
+            : CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(ThreadLocalRandom.current()
+                .nextLong((SqsBatchSender.BASE_BACKOFF_MILLIS << (attempt - 1)) + 1), TimeUnit.MILLISECONDS));
+        return delay
+            .thenCompose(ready -> sqs.sendMessageBatch(
+                SendMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build()))
+            .handle((result, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                    if (cause instanceof AwsServiceException service
+                            && (service.isThrottlingException() || service.statusCode() >= 500)) {
+                        return entries;
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }
+                Set<String> retryable = new HashSet<>();
+                for (BatchResultErrorEntry entry : result.failed()) {
+                    if (Boolean.TRUE.equals(entry.senderFault())) {
+                        failed.add(entry.id());
+                    } else {
+                        retryable.add(entry.id());
+                    }
+                }
+                List<SendMessageBatchRequestEntry> retry = new ArrayList<>(retryable.size());
+                entries.stream().filter(entry -> retryable.contains(entry.id())).forEach(retry::add);
+                return retry;
+            })
+            .thenCompose(retry -> sendChunk(sqs, queueUrl, retry, failed, attempt + 1));
+    }
+}
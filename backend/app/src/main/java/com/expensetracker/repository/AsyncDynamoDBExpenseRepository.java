@@ -0,0 +1,318 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AsyncExpenseRepository} on the SDK v2 {@link DynamoDbAsyncClient}. Items are mapped by
+ * {@link ExpenseItemCodec} and cursors by {@link PageCursor}, exactly as in {@link DynamoDBExpenseRepository}.
+ *
+ * <p>Batch writes send their chunks concurrently and retry {@code UnprocessedItems} with the same
+ * exponential backoff as {@link BatchWriter}, waiting on a delayed executor instead of a sleeping thread.
+ * Full listings from indexes that do not project every attribute read the ids and fetch the items the
+ * same way, as {@link BatchReader} does.
+ */
+@Repository
+@Profile("!in-memory")
+public class AsyncDynamoDBExpenseRepository implements AsyncExpenseRepository {
+    static final int MAX_BATCH_ATTEMPTS = 6;
+    static final long BASE_BACKOFF_MILLIS = 50;
+
+    private final DynamoDbAsyncClient dynamoDb;
+    private final String tableName;
+    private final boolean indexesHoldFullItems;
+
+    AsyncDynamoDBExpenseRepository(DynamoDbAsyncClient dynamoDb, String tableName) {
+        this(dynamoDb, tableName, "ALL");
+    }
+
+    @Autowired
+    public AsyncDynamoDBExpenseRepository(
+            DynamoDbAsyncClient dynamoDb,
+            @Value("${aws.dynamodb.table-name}") String tableName,
+            @Value("${aws.dynamodb.index-projection:ALL}") String indexProjection) {
+        this.dynamoDb = dynamoDb;
+        this.tableName = tableName;
+        this.indexesHoldFullItems = ExpenseProjection.indexesHoldFullItems(indexProjection);
+    }
+
+    @Override
+    public CompletableFuture<Expense> save(Expense expense) {
+        PutItemRequest request = PutItemRequest.builder()
+            .tableName(tableName)
+            .item(SdkV2Items.toV2(ExpenseItemCodec.encode(expense)))
+            .build();
+        return dynamoDb.putItem(request).thenApply(response -> expense);
+    }
+
+    @Override
+    public CompletableFuture<List<Expense>> saveAll(List<Expense> expenses) {
+        List<CompletableFuture<List<WriteRequest>>> chunks = new ArrayList<>();
+        for (int from = 0; from < expenses.size(); from += BatchWriter.MAX_BATCH_SIZE) {
+            List<WriteRequest> writes = expenses.subList(from, Math.min(from + BatchWriter.MAX_BATCH_SIZE, expenses.size()))
+                .stream()
+                .map(expense -> WriteRequest.builder()
+                    .putRequest(PutRequest.builder().item(SdkV2Items.toV2(ExpenseItemCodec.encode(expense))).build())
+                    .build())
+                .collect(Collectors.toList());
+            chunks.add(writeChunk(writes, 0));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            Set<String> unprocessedIds = new HashSet<>();
+            chunks.forEach(chunk -> chunk.join()
+                .forEach(write -> unprocessedIds.add(write.putRequest().item().get("id").s())));
+            return expenses.stream()
+                .filter(expense -> !unprocessedIds.contains(expense.getId()))
+                .collect(Collectors.toList());
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Expense>> findById(String id) {
+        GetItemRequest request = GetItemRequest.builder()
+            .tableName(tableName)
+            .key(Collections.singletonMap("id", AttributeValue.fromS(id)))
+            .build();
+        return dynamoDb.getItem(request).thenApply(response -> response.hasItem()
+            ? Optional.of(ExpenseItemCodec.decode(SdkV2Items.fromV2(response.item())))
+            : Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Expense> update(Expense expense) {
+        return update(expense.getId(), expense.getVersion(), ExpenseUpdate.replace(expense));
+    }
+
+    @Override
+    public CompletableFuture<Expense> patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        if (!patch.isAmountInStoredCurrency()) {
+            return update(id, patch.getExpectedVersion(), ExpenseUpdate.patch(id, patch, updatedAtMillis));
+        }
+        return findById(id).thenCompose(stored -> patchAmount(id, patch, updatedAtMillis,
+            stored.orElseThrow(() -> new ExpenseNotFoundException(id)).getCurrency(), 1));
+    }
+
+    // Writes an amount patched alone in the stored currency, again in the new one if that has changed meanwhile
+    private CompletableFuture<Expense> patchAmount(String id, ExpensePatch patch, long updatedAtMillis,
+                                                   String storedCurrency, int attempt) {
+        ExpenseUpdate update;
+        try {
+            update = ExpenseUpdate.patch(id, patch, updatedAtMillis, storedCurrency);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return write(id, update).exceptionallyCompose(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (!(cause instanceof ConditionalCheckFailedException failed)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            Map<String, com.amazonaws.services.dynamodbv2.model.AttributeValue> current =
+                failed.hasItem() ? SdkV2Items.fromV2(failed.item()) : null;
+            String currency = ExpenseUpdate.storedCurrency(patch, storedCurrency, current);
+            if (currency == null || attempt == ExpenseUpdate.MAX_PATCH_ATTEMPTS) {
+                return CompletableFuture.failedFuture(
+                    ExpenseUpdate.conditionFailed(id, patch.getExpectedVersion(), current));
+            }
+            return patchAmount(id, patch, updatedAtMillis, currency, attempt + 1);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> findByUserId(String userId, int limit, String cursor, ExpenseView view) {
+        return queryPage(project(QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(ExpenseIndexes.USER_DATE)
+            .keyConditionExpression("userId = :userId")
+            .expressionAttributeValues(Collections.singletonMap(":userId", AttributeValue.fromS(userId))),
+            Collections.emptyMap(), view), view, limit, cursor);
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> findByUserIdAndDateRange(String userId, LocalDateTime startDate,
+                                                                     LocalDateTime endDate, int limit, String cursor,
+                                                                     ExpenseView view) {
+        return queryPage(project(QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(ExpenseIndexes.USER_DATE)
+            .keyConditionExpression("userId = :userId AND #date BETWEEN :startDate AND :endDate")
+            .expressionAttributeValues(Map.of(
+                ":userId", AttributeValue.fromS(userId),
+                ":startDate", AttributeValue.fromS(startDate.toString()),
+                ":endDate", AttributeValue.fromS(endDate.toString())
+            )), Collections.singletonMap("#date", "date"), view), view, limit, cursor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(String id) {
+        DeleteItemRequest request = DeleteItemRequest.builder()
+            .tableName(tableName)
+            .key(Collections.singletonMap("id", AttributeValue.fromS(id)))
+            .build();
+        return dynamoDb.deleteItem(request).thenApply(response -> null);
+    }
+
+    private CompletableFuture<Expense> update(String id, long expectedVersion, ExpenseUpdate update) {
+        return write(id, update).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof ConditionalCheckFailedException failed) {
+                throw ExpenseUpdate.conditionFailed(id, expectedVersion,
+                    failed.hasItem() ? SdkV2Items.fromV2(failed.item()) : null);
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+        });
+    }
+
+    private CompletableFuture<Expense> write(String id, ExpenseUpdate update) {
+        UpdateItemRequest request = UpdateItemRequest.builder()
+            .tableName(tableName)
+            .key(Collections.singletonMap("id", AttributeValue.fromS(id)))
+            .updateExpression(update.getUpdateExpression())
+            .conditionExpression(update.getConditionExpression())
+            .expressionAttributeNames(update.getNames())
+            .expressionAttributeValues(SdkV2Items.toV2(update.getValues()))
+            .returnValues(ReturnValue.ALL_NEW)
+            .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+            .build();
+        return dynamoDb.updateItem(request)
+            .thenApply(response -> ExpenseItemCodec.decode(SdkV2Items.fromV2(response.attributes())));
+    }
+
+    // Sets the attribute names once, since a summary projection adds its own to those of the key condition
+    private QueryRequest.Builder project(QueryRequest.Builder request, Map<String, String> names, ExpenseView view) {
+        if (ExpenseProjection.readsKeysOnly(view, indexesHoldFullItems)) {
+            request.projectionExpression(ExpenseProjection.KEYS_EXPRESSION);
+        } else if (view == ExpenseView.SUMMARY) {
+            return request
+                .projectionExpression(ExpenseProjection.SUMMARY_EXPRESSION)
+                .expressionAttributeNames(ExpenseProjection.withSummaryNames(names));
+        }
+        return names.isEmpty() ? request : request.expressionAttributeNames(names);
+    }
+
+    private CompletableFuture<Page<Expense>> queryPage(QueryRequest.Builder request, ExpenseView view, int limit,
+                                                       String cursor) {
+        Map<String, AttributeValue> exclusiveStartKey;
+        try {
+            exclusiveStartKey = SdkV2Items.toV2(PageCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return dynamoDb.query(request.limit(limit).exclusiveStartKey(exclusiveStartKey).build())
+            .thenCompose(response -> items(response.items(), view).thenApply(items -> {
+                List<Expense> expenses = items.stream()
+                    .map(item -> ExpenseItemCodec.decode(SdkV2Items.fromV2(item)))
+                    .collect(Collectors.toList());
+                String nextCursor = response.hasLastEvaluatedKey()
+                    ? PageCursor.encode(SdkV2Items.fromV2(response.lastEvaluatedKey()))
+                    : null;
+                return new Page<>(expenses, nextCursor);
+            }));
+    }
+
+    /**
+     * @return {@code items}, or, when the query read only their ids, the expenses with those ids in the same
+     * order, leaving out any deleted since
+     */
+    private CompletableFuture<List<Map<String, AttributeValue>>> items(List<Map<String, AttributeValue>> items,
+                                                                       ExpenseView view) {
+        if (!ExpenseProjection.readsKeysOnly(view, indexesHoldFullItems)) {
+            return CompletableFuture.completedFuture(items);
+        }
+        Map<String, Map<String, AttributeValue>> itemsById = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BatchReader.MAX_BATCH_SIZE) {
+            List<Map<String, AttributeValue>> keys = items.subList(from, Math.min(from + BatchReader.MAX_BATCH_SIZE, items.size()))
+                .stream()
+                .map(item -> Collections.singletonMap("id", item.get("id")))
+                .collect(Collectors.toList());
+            chunks.add(readChunk(keys, 0, itemsById));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(done -> items.stream()
+            .map(item -> itemsById.get(item.get("id").s()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<Void> readChunk(List<Map<String, AttributeValue>> pending, int attempt,
+                                              Map<String, Map<String, AttributeValue>> itemsById) {
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (attempt == MAX_BATCH_ATTEMPTS) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                "Could not read " + pending.size() + " expenses after " + MAX_BATCH_ATTEMPTS + " attempts"));
+        }
+        BatchGetItemRequest request = BatchGetItemRequest.builder()
+            .requestItems(Collections.singletonMap(tableName, KeysAndAttributes.builder().keys(pending).build()))
+            .build();
+        return backoff(attempt)
+            .thenCompose(go -> dynamoDb.batchGetItem(request))
+            .thenCompose(response -> {
+                response.responses().getOrDefault(tableName, Collections.emptyList())
+                    .forEach(item -> itemsById.put(item.get("id").s(), item));
+                KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+                return readChunk(unprocessed == null ? Collections.emptyList() : unprocessed.keys(), attempt + 1,
+                    itemsById);
+            });
+    }
+
+    /**
+     * @return the writes still unprocessed after the final attempt
+     */
+    private CompletableFuture<List<WriteRequest>> writeChunk(List<WriteRequest> pending, int attempt) {
+        if (pending.isEmpty() || attempt == MAX_BATCH_ATTEMPTS) {
+            return CompletableFuture.completedFuture(pending);
+        }
+        BatchWriteItemRequest request = BatchWriteItemRequest.builder()
+            .requestItems(Collections.singletonMap(tableName, pending))
+            .build();
+        return backoff(attempt)
+            .thenCompose(go -> dynamoDb.batchWriteItem(request))
+            .thenCompose(response -> writeChunk(
+                response.unprocessedItems().getOrDefault(tableName, Collections.emptyList()), attempt + 1));
+    }
+
+    private static CompletableFuture<Void> backoff(int attempt) {
+        return attempt == 0
+            ? CompletableFuture.completedFuture(null)
+            : CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(BASE_BACKOFF_MILLIS << (attempt - 1), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ExpenseRepository} for the calls on the API request path. Methods
+ * return at once; failures, including invalid cursors, complete the future exceptionally rather than being
+ * thrown. Results match the blocking repository, cursors included, so either can continue a listing the
+ * other started.
+ */
+public interface AsyncExpenseRepository {
+    CompletableFuture<Expense> save(Expense expense);
+
+    /**
+     * @return the expenses that were written; any left out could not be saved
+     */
+    CompletableFuture<List<Expense>> saveAll(List<Expense> expenses);
+
+    CompletableFuture<Optional<Expense>> findById(String id);
+
+    /**
+     * @see ExpenseRepository#update
+     */
+    CompletableFuture<Expense> update(Expense expense);
+
+    /**
+     * @see ExpenseRepository#patch
+     */
+    CompletableFuture<Expense> patch(String id, ExpensePatch patch, long updatedAtMillis);
+
+    CompletableFuture<Page<Expense>> findByUserId(String userId, int limit, String cursor, ExpenseView view);
+
+    CompletableFuture<Page<Expense>> findByUserIdAndDateRange(String userId, LocalDateTime startDate,
+                                                              LocalDateTime endDate, int limit, String cursor,
+                                                              ExpenseView view);
+
+    default CompletableFuture<Page<Expense>> findByUserId(String userId, int limit, String cursor) {
+        return findByUserId(userId, limit, cursor, ExpenseView.FULL);
+    }
+
+    default CompletableFuture<Page<Expense>> findByUserIdAndDateRange(String userId, LocalDateTime startDate,
+                                                                      LocalDateTime endDate, int limit, String cursor) {
+        return findByUserIdAndDateRange(userId, startDate, endDate, limit, cursor, ExpenseView.FULL);
+    }
+
+    CompletableFuture<Void> deleteById(String id);
+}
@@ -0,0 +1,92 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-through cache for {@link #findById}, in front of {@link AsyncDynamoDBExpenseRepository}. It shares its
+ * {@link ExpenseCache} with {@link CachingExpenseRepository}, so the async and blocking paths read and
+ * invalidate the same entries. Writes invalidate the affected ids once they complete, whether or not they
+ * succeeded.
+ *
+ * <p>Queries are not cached; they are passed straight to the delegate.
+ */
+@Primary
+@Repository
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "aws.dynamodb.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingAsyncExpenseRepository implements AsyncExpenseRepository {
+
+    private final AsyncExpenseRepository delegate;
+    private final ExpenseCache cache;
+
+    @Autowired
+    public CachingAsyncExpenseRepository(AsyncDynamoDBExpenseRepository delegate, ExpenseCache cache) {
+        this((AsyncExpenseRepository) delegate, cache);
+    }
+
+    CachingAsyncExpenseRepository(AsyncExpenseRepository delegate, ExpenseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Expense>> findById(String id) {
+        ExpenseCache.Lookup lookup = cache.lookup(id);
+        if (lookup.hit()) {
+            return CompletableFuture.completedFuture(Optional.of(lookup.expense()));
+        }
+        return delegate.findById(id).thenApply(loaded -> {
+            loaded.ifPresent(expense -> cache.putIfUnchanged(id, expense, lookup.generation()));
+            return loaded;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Expense> save(Expense expense) {
+        return delegate.save(expense).whenComplete((saved, e) -> cache.invalidate(expense.getId()));
+    }
+
+    @Override
+    public CompletableFuture<List<Expense>> saveAll(List<Expense> expenses) {
+        return delegate.saveAll(expenses).whenComplete((saved, e) -> cache.invalidateAll(expenses));
+    }
+
+    @Override
+    public CompletableFuture<Expense> update(Expense expense) {
+        return delegate.update(expense).whenComplete((updated, e) -> cache.invalidate(expense.getId()));
+    }
+
+    @Override
+    public CompletableFuture<Expense> patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        return delegate.patch(id, patch, updatedAtMillis).whenComplete((patched, e) -> cache.invalidate(id));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(String id) {
+        return delegate.deleteById(id).whenComplete((deleted, e) -> cache.invalidate(id));
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> findByUserId(String userId, int limit, String cursor, ExpenseView view) {
+        return delegate.findByUserId(userId, limit, cursor, view);
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> findByUserIdAndDateRange(String userId, LocalDateTime startDate,
+                                                                     LocalDateTime endDate, int limit, String cursor,
+                                                                     ExpenseView view) {
+        return delegate.findByUserIdAndDateRange(userId, startDate, endDate, limit, cursor, view);
+    }
+}
@@ -0,0 +1,168 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache for {@link #findById}, in front of {@link DynamoDBExpenseRepository}. Entries live in the
+ * {@link ExpenseCache} shared with {@link CachingAsyncExpenseRepository}; their TTL also bounds how stale an
+ * entry can get when the Lambda handlers write to the table directly. Writes through this repository
+ * invalidate the affected ids.
+ *
+ * <p>Queries are not cached; they are passed straight to the delegate.
+ */
+@Primary
+@Repository
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "aws.dynamodb.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingExpenseRepository implements ExpenseRepository {
+
+    private final ExpenseRepository delegate;
+    private final ExpenseCache cache;
+
+    @Autowired
+    public CachingExpenseRepository(DynamoDBExpenseRepository delegate, ExpenseCache cache) {
+        this((ExpenseRepository) delegate, cache);
+    }
+
+    CachingExpenseRepository(ExpenseRepository delegate, MeterRegistry meterRegistry, int maxSize, Duration ttl) {
+        this(delegate, new ExpenseCache(meterRegistry, maxSize, ttl));
+    }
+
+    CachingExpenseRepository(ExpenseRepository delegate, ExpenseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<Expense> findById(String id) {
+        ExpenseCache.Lookup lookup = cache.lookup(id);
+        if (lookup.hit()) {
+            return Optional.of(lookup.expense());
+        }
+        Optional<Expense> loaded = delegate.findById(id);
+        loaded.ifPresent(expense -> cache.putIfUnchanged(id, expense, lookup.generation()));
+        return loaded;
+    }
+
+    @Override
+    public List<Expense> findAllById(List<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Expense save(Expense expense) {
+        try {
+            return delegate.save(expense);
+        } finally {
+            cache.invalidate(expense.getId());
+        }
+    }
+
+    @Override
+    public List<Expense> saveAll(List<Expense> expenses) {
+        try {
+            return delegate.saveAll(expenses);
+        } finally {
+            cache.invalidateAll(expenses);
+        }
+    }
+
+    @Override
+    public void saveAll(List<Expense> expenses, AdaptiveWriteThrottle throttle) {
+        try {
+            delegate.saveAll(expenses, throttle);
+        } finally {
+            cache.invalidateAll(expenses);
+        }
+    }
+
+    @Override
+    public Expense update(Expense expense) {
+        try {
+            return delegate.update(expense);
+        } finally {
+            cache.invalidate(expense.getId());
+        }
+    }
+
+    @Override
+    public Expense patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        try {
+            return delegate.patch(id, patch, updatedAtMillis);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String id, String status, long updatedAtMillis) {
+        try {
+            return delegate.updateStatus(id, status, updatedAtMillis);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<Expense> findByUserId(String userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public List<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return delegate.findByUserIdAndDateRange(userId, startDate, endDate);
+    }
+
+    @Override
+    public Page<Expense> findByUserId(String userId, int limit, String cursor, ExpenseView view) {
+        return delegate.findByUserId(userId, limit, cursor, view);
+    }
+
+    @Override
+    public Page<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                  int limit, String cursor, ExpenseView view) {
+        return delegate.findByUserIdAndDateRange(userId, startDate, endDate, limit, cursor, view);
+    }
+
+    @Override
+    public List<Expense> findByCategory(String category, ExpenseView view) {
+        return delegate.findByCategory(category, view);
+    }
+
+    @Override
+    public List<Expense> findByStatus(String status, ExpenseView view) {
+        return delegate.findByStatus(status, view);
+    }
+
+    @Override
+    public void scanAll(String category, String status, Consumer<Expense> consumer) {
+        delegate.scanAll(category, status, consumer);
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
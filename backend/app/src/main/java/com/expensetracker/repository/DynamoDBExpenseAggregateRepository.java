@@ -0,0 +1,58 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.CategorySummary;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.*;
+
+@Repository
+@Profile("!in-memory")
+public class DynamoDBExpenseAggregateRepository implements ExpenseAggregateRepository {
+
+    private final AmazonDynamoDB dynamoDB;
+    private final String tableName;
+
+    @Autowired
+    public DynamoDBExpenseAggregateRepository(
+            AmazonDynamoDB dynamoDB,
+            @Value("${aws.dynamodb.aggregates-table-name}") String tableName) {
+        this.dynamoDB = dynamoDB;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public List<CategorySummary> findMonth(String userId, YearMonth month) {
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":userId", new AttributeValue(userId));
+        values.put(":month", new AttributeValue(ExpenseAggregates.monthPrefix(month)));
+
+        QueryRequest queryRequest = new QueryRequest()
+            .withTableName(tableName)
+            .withKeyConditionExpression("userId = :userId AND begins_with(#period, :month)")
+            .withExpressionAttributeNames(Collections.singletonMap("#period", ExpenseAggregates.PERIOD_ATTRIBUTE))
+            .withExpressionAttributeValues(values);
+
+        // Items written before totals were kept per currency are merged into the default currency's
+        Map<List<String>, CategorySummary> categories = new TreeMap<>(Comparator
+            .comparing((List<String> key) -> key.get(0)).thenComparing(key -> key.get(1)));
+        do {
+            QueryResult result = dynamoDB.query(queryRequest);
+            for (Map<String, AttributeValue> item : result.getItems()) {
+                String currency = ExpenseAggregates.currency(item);
+                String category = ExpenseAggregates.category(item);
+                CategorySummary summary = categories.computeIfAbsent(List.of(currency, category),
+                    key -> CategorySummary.builder().category(category).currency(currency).total(BigDecimal.ZERO).build());
+                summary.setTotal(summary.getTotal().add(new BigDecimal(item.get(ExpenseAggregates.TOTAL_ATTRIBUTE).getN())));
+                summary.setCount(summary.getCount() + Long.parseLong(item.get(ExpenseAggregates.COUNT_ATTRIBUTE).getN()));
+            }
+            queryRequest.setExclusiveStartKey(result.getLastEvaluatedKey());
+        } while (queryRequest.getExclusiveStartKey() != null);
+        return new ArrayList<>(categories.values());
+    }
+}
@@ -0,0 +1,289 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("!in-memory")
+public class DynamoDBExpenseRepository implements ExpenseRepository {
+
+    private final AmazonDynamoDB dynamoDB;
+    private final String tableName;
+    private final ParallelScanner parallelScanner;
+    private final boolean indexesHoldFullItems;
+
+    @Autowired
+    public DynamoDBExpenseRepository(
+            AmazonDynamoDB dynamoDB,
+            @Value("${aws.dynamodb.table-name}") String tableName,
+            @Value("${aws.dynamodb.scan-segments:4}") int scanSegments,
+            @Value("${aws.dynamodb.index-projection:ALL}") String indexProjection,
+            ObjectProvider<ThreadFactory> scanThreadFactory) {
+        this.dynamoDB = dynamoDB;
+        this.tableName = tableName;
+        this.indexesHoldFullItems = ExpenseProjection.indexesHoldFullItems(indexProjection);
+        this.parallelScanner = new ParallelScanner(dynamoDB, scanSegments, ParallelScanner.DEFAULT_QUEUE_CAPACITY,
+            scanThreadFactory.getIfUnique(Executors::defaultThreadFactory));
+    }
+
+    @Override
+    public Expense save(Expense expense) {
+        PutItemRequest putItemRequest = new PutItemRequest()
+            .withTableName(tableName)
+            .withItem(ExpenseItemCodec.encode(expense));
+
+        dynamoDB.putItem(putItemRequest);
+        return expense;
+    }
+
+    @Override
+    public List<Expense> saveAll(List<Expense> expenses) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>(expenses.size());
+        expenses.forEach(expense -> items.add(ExpenseItemCodec.encode(expense)));
+
+        Set<String> unprocessedIds = new HashSet<>();
+        BatchWriter.putAll(dynamoDB, tableName, items)
+            .forEach(item -> unprocessedIds.add(item.get("id").getS()));
+        return expenses.stream()
+            .filter(expense -> !unprocessedIds.contains(expense.getId()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void saveAll(List<Expense> expenses, AdaptiveWriteThrottle throttle) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>(expenses.size());
+        expenses.forEach(expense -> items.add(ExpenseItemCodec.encode(expense)));
+        BatchWriter.putAll(dynamoDB, tableName, items, throttle);
+    }
+
+    @Override
+    public Optional<Expense> findById(String id) {
+        GetItemRequest getItemRequest = new GetItemRequest()
+            .withTableName(tableName)
+            .withKey(Collections.singletonMap("id", new AttributeValue(id)));
+
+        GetItemResult result = dynamoDB.getItem(getItemRequest);
+        return Optional.ofNullable(result.getItem())
+            .map(ExpenseItemCodec::decode);
+    }
+
+    @Override
+    public List<Expense> findAllById(List<String> ids) {
+        List<Map<String, AttributeValue>> keys = new ArrayList<>(ids.size());
+        ids.forEach(id -> keys.add(Collections.singletonMap("id", new AttributeValue(id))));
+        return BatchReader.getAll(dynamoDB, tableName, keys).stream()
+            .map(ExpenseItemCodec::decode)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Expense update(Expense expense) {
+        return update(expense.getId(), expense.getVersion(), ExpenseUpdate.replace(expense));
+    }
+
+    @Override
+    public Expense patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        if (!patch.isAmountInStoredCurrency()) {
+            return update(id, patch.getExpectedVersion(), ExpenseUpdate.patch(id, patch, updatedAtMillis));
+        }
+        String storedCurrency = findById(id).orElseThrow(() -> new ExpenseNotFoundException(id)).getCurrency();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write(id, ExpenseUpdate.patch(id, patch, updatedAtMillis, storedCurrency));
+            } catch (ConditionalCheckFailedException e) {
+                String currency = ExpenseUpdate.storedCurrency(patch, storedCurrency, e.getItem());
+                if (currency == null || attempt == ExpenseUpdate.MAX_PATCH_ATTEMPTS) {
+                    throw ExpenseUpdate.conditionFailed(id, patch.getExpectedVersion(), e.getItem());
+                }
+                storedCurrency = currency;
+            }
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String id, String status, long updatedAtMillis) {
+        try {
+            dynamoDB.updateItem(updateRequest(id, ExpenseUpdate.status(id, status, updatedAtMillis)));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public List<Expense> findByUserId(String userId) {
+        return queryAll(userIdQuery(userId), ExpenseView.FULL);
+    }
+
+    @Override
+    public List<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return queryAll(userIdAndDateRangeQuery(userId, startDate, endDate), ExpenseView.FULL);
+    }
+
+    @Override
+    public Page<Expense> findByUserId(String userId, int limit, String cursor, ExpenseView view) {
+        return queryPage(userIdQuery(userId), view, limit, cursor);
+    }
+
+    @Override
+    public Page<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                  int limit, String cursor, ExpenseView view) {
+        return queryPage(userIdAndDateRangeQuery(userId, startDate, endDate), view, limit, cursor);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        DeleteItemRequest deleteItemRequest = new DeleteItemRequest()
+            .withTableName(tableName)
+            .withKey(Collections.singletonMap("id", new AttributeValue(id)));
+
+        dynamoDB.deleteItem(deleteItemRequest);
+    }
+
+    @Override
+    public List<Expense> findByCategory(String category, ExpenseView view) {
+        QueryRequest queryRequest = new QueryRequest()
+            .withTableName(tableName)
+            .withIndexName(ExpenseIndexes.CATEGORY_DATE)
+            .withKeyConditionExpression("category = :category")
+            .withExpressionAttributeValues(Collections.singletonMap(":category", new AttributeValue(category)));
+
+        return queryAll(queryRequest, view);
+    }
+
+    @Override
+    public List<Expense> findByStatus(String status, ExpenseView view) {
+        List<Expense> expenses = new ArrayList<>();
+        for (String shard : ExpenseIndexes.statusShards(status)) {
+            QueryRequest queryRequest = new QueryRequest()
+                .withTableName(tableName)
+                .withIndexName(ExpenseIndexes.STATUS_DATE)
+                .withKeyConditionExpression("#shard = :shard")
+                .withExpressionAttributeNames(Collections.singletonMap("#shard", ExpenseIndexes.STATUS_SHARD_ATTRIBUTE))
+                .withExpressionAttributeValues(Collections.singletonMap(":shard", new AttributeValue(shard)));
+            expenses.addAll(queryAll(queryRequest, view));
+        }
+        // Each shard is already date-ordered; restore a single date order across shards
+        expenses.sort(Comparator.comparing(Expense::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Expense::getId));
+        return expenses;
+    }
+
+    @Override
+    public void scanAll(String category, String status, Consumer<Expense> consumer) {
+        ScanRequest scanRequest = new ScanRequest().withTableName(tableName);
+
+        List<String> conditions = new ArrayList<>(2);
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        if (category != null) {
+            conditions.add("category = :category");
+            values.put(":category", new AttributeValue(category));
+        }
+        if (status != null) {
+            conditions.add("#status = :status");
+            names.put("#status", "status");
+            values.put(":status", new AttributeValue(status));
+        }
+        if (!conditions.isEmpty()) {
+            scanRequest
+                .withFilterExpression(String.join(" AND ", conditions))
+                .withExpressionAttributeValues(values);
+        }
+        if (!names.isEmpty()) {
+            scanRequest.withExpressionAttributeNames(names);
+        }
+
+        parallelScanner.scan(scanRequest, item -> consumer.accept(ExpenseItemCodec.decode(item)));
+    }
+
+    private Expense update(String id, long expectedVersion, ExpenseUpdate update) {
+        try {
+            return write(id, update);
+        } catch (ConditionalCheckFailedException e) {
+            throw ExpenseUpdate.conditionFailed(id, expectedVersion, e.getItem());
+        }
+    }
+
+    private Expense write(String id, ExpenseUpdate update) {
+        UpdateItemResult result = dynamoDB.updateItem(updateRequest(id, update)
+            .withReturnValues(ReturnValue.ALL_NEW)
+            .withReturnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD));
+        return ExpenseItemCodec.decode(result.getAttributes());
+    }
+
+    private UpdateItemRequest updateRequest(String id, ExpenseUpdate update) {
+        return new UpdateItemRequest()
+            .withTableName(tableName)
+            .withKey(Collections.singletonMap("id", new AttributeValue(id)))
+            .withUpdateExpression(update.getUpdateExpression())
+            .withConditionExpression(update.getConditionExpression())
+            .withExpressionAttributeNames(update.getNames())
+            .withExpressionAttributeValues(update.getValues());
+    }
+
+    private QueryRequest userIdQuery(String userId) {
+        return new QueryRequest()
+            .withTableName(tableName)
+            .withIndexName(ExpenseIndexes.USER_DATE)
+            .withKeyConditionExpression("userId = :userId")
+            .withExpressionAttributeValues(Collections.singletonMap(":userId", new AttributeValue(userId)));
+    }
+
+    private QueryRequest userIdAndDateRangeQuery(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return new QueryRequest()
+            .withTableName(tableName)
+            .withIndexName(ExpenseIndexes.USER_DATE)
+            .withKeyConditionExpression("userId = :userId AND #date BETWEEN :startDate AND :endDate")
+            .withExpressionAttributeNames(Collections.singletonMap("#date", "date"))
+            .withExpressionAttributeValues(Map.of(
+                ":userId", new AttributeValue(userId),
+                ":startDate", new AttributeValue(startDate.toString()),
+                ":endDate", new AttributeValue(endDate.toString())
+            ));
+    }
+
+    private Page<Expense> queryPage(QueryRequest queryRequest, ExpenseView view, int limit, String cursor) {
+        QueryResult result = dynamoDB.query(ExpenseProjection.apply(queryRequest, view, indexesHoldFullItems)
+            .withLimit(limit)
+            .withExclusiveStartKey(PageCursor.decode(cursor)));
+        List<Expense> expenses = items(result, view).stream()
+            .map(ExpenseItemCodec::decode)
+            .collect(Collectors.toList());
+        return new Page<>(expenses, PageCursor.encode(result.getLastEvaluatedKey()));
+    }
+
+    private List<Expense> queryAll(QueryRequest queryRequest, ExpenseView view) {
+        QueryRequest projected = ExpenseProjection.apply(queryRequest, view, indexesHoldFullItems);
+        List<Expense> expenses = new ArrayList<>();
+        Map<String, AttributeValue> lastEvaluatedKey = null;
+        do {
+            QueryResult result = dynamoDB.query(projected.withExclusiveStartKey(lastEvaluatedKey));
+            items(result, view).forEach(item -> expenses.add(ExpenseItemCodec.decode(item)));
+            lastEvaluatedKey = result.getLastEvaluatedKey();
+        } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
+        return expenses;
+    }
+
+    // An index that does not project every attribute answers full listings with ids, read from the table here
+    private List<Map<String, AttributeValue>> items(QueryResult result, ExpenseView view) {
+        return ExpenseProjection.readsKeysOnly(view, indexesHoldFullItems)
+            ? BatchReader.getAll(dynamoDB, tableName, result.getItems())
+            : result.getItems();
+    }
+}
@@ -0,0 +1,158 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Expenses by id, shared by {@link CachingExpenseRepository} and {@link CachingAsyncExpenseRepository} so a
+ * write through either repository invalidates what the other reads. Entries are evicted least-recently-used
+ * once {@code maxSize} is reached and expire {@code ttl} after they were loaded. Expenses are copied in and
+ * out so callers can keep mutating what they get back.
+ *
+ * <p>The map is guarded by a {@link ReentrantLock} rather than {@code synchronized}: on virtual threads a
+ * thread waiting for a monitor pins its carrier, and every request touches this lock.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "aws.dynamodb.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpenseCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+    // Bumped on every invalidation so a load that raced with a write does not cache what it read
+    private long invalidations;
+
+    @Autowired
+    public ExpenseCache(
+            MeterRegistry meterRegistry,
+            @Value("${aws.dynamodb.cache.max-size:1000}") int maxSize,
+            @Value("${aws.dynamodb.cache.ttl:30s}") Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ExpenseCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Tags tags = Tags.of("cache", "expenses");
+        this.hits = meterRegistry.counter("cache.gets", tags.and("result", "hit"));
+        this.misses = meterRegistry.counter("cache.gets", tags.and("result", "miss"));
+        this.evictions = meterRegistry.counter("cache.evictions", tags);
+        meterRegistry.gauge("cache.size", tags, this, ExpenseCache::size);
+    }
+
+    /**
+     * Looks up {@code id}, counting a hit or a miss. On a miss, pass the lookup's generation to
+     * {@link #putIfUnchanged} with whatever is then loaded.
+     */
+    Lookup lookup(String id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (now() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return new Lookup(copy(entry.expense), invalidations);
+                }
+                entries.remove(id);
+                evictions.increment();
+            }
+            misses.increment();
+            return new Lookup(null, invalidations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches {@code expense} unless an invalidation happened since the lookup that returned {@code generation}.
+     */
+    void putIfUnchanged(String id, Expense expense, long generation) {
+        lock.lock();
+        try {
+            if (generation == invalidations) {
+                entries.put(id, new Entry(copy(expense), now()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(String id) {
+        lock.lock();
+        try {
+            entries.remove(id);
+            invalidations++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateAll(Collection<Expense> expenses) {
+        lock.lock();
+        try {
+            expenses.forEach(expense -> entries.remove(expense.getId()));
+            invalidations++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long now() {
+        return meterRegistry.config().clock().monotonicTime();
+    }
+
+    private static Expense copy(Expense expense) {
+        return expense.toBuilder().build();
+    }
+
+    /**
+     * @param expense a copy of the cached expense, or null on a miss
+     */
+    record Lookup(Expense expense, long generation) {
+        boolean hit() {
+            return expense != null;
+        }
+    }
+
+    private record Entry(Expense expense, long loadedAt) {
+    }
+}
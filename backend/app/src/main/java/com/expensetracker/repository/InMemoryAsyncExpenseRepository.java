@@ -0,0 +1,82 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncExpenseRepository} over {@link InMemoryExpenseRepository} for the {@code in-memory} profile,
+ * so both APIs see the same expenses. Nothing here blocks, so every future is already complete.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryAsyncExpenseRepository implements AsyncExpenseRepository {
+
+    private final InMemoryExpenseRepository delegate;
+
+    public InMemoryAsyncExpenseRepository(InMemoryExpenseRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<Expense> save(Expense expense) {
+        return complete(() -> delegate.save(expense));
+    }
+
+    @Override
+    public CompletableFuture<List<Expense>> saveAll(List<Expense> expenses) {
+        return complete(() -> delegate.saveAll(expenses));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Expense>> findById(String id) {
+        return complete(() -> delegate.findById(id));
+    }
+
+    @Override
+    public CompletableFuture<Expense> update(Expense expense) {
+        return complete(() -> delegate.update(expense));
+    }
+
+    @Override
+    public CompletableFuture<Expense> patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        return complete(() -> delegate.patch(id, patch, updatedAtMillis));
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> findByUserId(String userId, int limit, String cursor, ExpenseView view) {
+        return complete(() -> delegate.findByUserId(userId, limit, cursor, view));
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> findByUserIdAndDateRange(String userId, LocalDateTime startDate,
+                                                                     LocalDateTime endDate, int limit, String cursor,
+                                                                     ExpenseView view) {
+        return complete(() -> delegate.findByUserIdAndDateRange(userId, startDate, endDate, limit, cursor, view));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(String id) {
+        return complete(() -> {
+            delegate.deleteById(id);
+            return null;
+        });
+    }
+
+    private static <T> CompletableFuture<T> complete(Supplier<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
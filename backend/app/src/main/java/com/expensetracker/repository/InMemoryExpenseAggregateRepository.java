@@ -0,0 +1,49 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.CategorySummary;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.MinorUnits;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Monthly totals for the {@code in-memory} profile, computed on read from {@link InMemoryExpenseRepository}.
+ * Nothing processes expenses locally, so every expense counts as if it had been processed.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryExpenseAggregateRepository implements ExpenseAggregateRepository {
+
+    private final InMemoryExpenseRepository expenseRepository;
+
+    @Autowired
+    public InMemoryExpenseAggregateRepository(InMemoryExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    @Override
+    public List<CategorySummary> findMonth(String userId, YearMonth month) {
+        Map<List<String>, CategorySummary> categories = new TreeMap<>(Comparator
+            .comparing((List<String> key) -> key.get(0)).thenComparing(key -> key.get(1)));
+        List<Expense> expenses = expenseRepository.findByUserIdAndDateRange(userId,
+            month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(LocalTime.MAX));
+        for (Expense expense : expenses) {
+            String currency = ExpenseAggregates.currency(expense.getCurrency());
+            CategorySummary summary = categories.computeIfAbsent(List.of(currency, expense.getCategory()),
+                key -> CategorySummary.builder().category(expense.getCategory()).currency(currency)
+                    .total(BigDecimal.ZERO).build());
+            summary.setTotal(summary.getTotal().add(MinorUnits.toDecimal(expense.getAmountMinor(), currency)));
+            summary.setCount(summary.getCount() + 1);
+        }
+        return new ArrayList<>(categories.values());
+    }
+}
@@ -0,0 +1,294 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ExpenseRepository} held in memory, for running the API locally and load testing it without AWS.
+ * Enabled by the {@code in-memory} profile, which replaces the DynamoDB repositories and the cache.
+ *
+ * <p>It behaves like the expenses table and its indexes: items are keyed by id, and the user, category and
+ * status indexes are sparse (an expense without the attribute is not in the index) and ordered by the
+ * {@code date} string, ties broken by id. Queries return index order, pages end with a cursor whenever
+ * they are full, and the cursors have the same format as the DynamoDB ones. As with a global secondary
+ * index, a query running alongside a write may or may not see it.
+ *
+ * <p>Every write to an id runs inside {@link ConcurrentMap#compute}, so writes to the same expense are
+ * applied one at a time together with their index updates. Expenses are copied in and out.
+ *
+ * <p>Listings return whole expenses whatever the view; there is nothing to save by projecting in memory.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryExpenseRepository implements ExpenseRepository {
+    // Sorts below every character a date or id can contain, so "date + SEPARATOR + id" keeps date order
+    private static final char SEPARATOR = '\u0000';
+
+    private final ConcurrentMap<String, Expense> items = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<String>> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<String>> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<String>> byStatus = new ConcurrentHashMap<>();
+
+    @Override
+    public Expense save(Expense expense) {
+        Expense stored = expense.toBuilder().build();
+        items.compute(stored.getId(), (id, previous) -> {
+            unindex(previous);
+            index(stored);
+            return stored;
+        });
+        return expense;
+    }
+
+    @Override
+    public List<Expense> saveAll(List<Expense> expenses) {
+        expenses.forEach(this::save);
+        return expenses;
+    }
+
+    @Override
+    public void saveAll(List<Expense> expenses, AdaptiveWriteThrottle throttle) {
+        expenses.forEach(this::save);
+    }
+
+    @Override
+    public Optional<Expense> findById(String id) {
+        return Optional.ofNullable(items.get(id)).map(expense -> expense.toBuilder().build());
+    }
+
+    @Override
+    public List<Expense> findAllById(List<String> ids) {
+        return ids.stream()
+            .map(items::get)
+            .filter(Objects::nonNull)
+            .map(expense -> expense.toBuilder().build())
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Expense update(Expense expense) {
+        return update(expense.getId(), expense.getVersion(),
+            previous -> expense.toBuilder().createdAtMillis(previous.getCreatedAtMillis())
+                .status(previous.getStatus()).build());
+    }
+
+    @Override
+    public Expense patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        return update(id, patch.getExpectedVersion(),
+            previous -> patch.applyTo(previous).toBuilder().updatedAtMillis(updatedAtMillis).build());
+    }
+
+    @Override
+    public boolean updateStatus(String id, String status, long updatedAtMillis) {
+        return items.computeIfPresent(id, (key, previous) -> {
+            Expense updated = previous.toBuilder()
+                .status(status)
+                .updatedAtMillis(updatedAtMillis)
+                .version(previous.getVersion() + 1)
+                .build();
+            unindex(previous);
+            index(updated);
+            return updated;
+        }) != null;
+    }
+
+    @Override
+    public List<Expense> findByUserId(String userId) {
+        return findAll(byUser.get(userId), expense -> userId.equals(expense.getUserId()));
+    }
+
+    @Override
+    public List<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return findAll(dateRange(byUser.get(userId), startDate, endDate), expense -> userId.equals(expense.getUserId()));
+    }
+
+    @Override
+    public Page<Expense> findByUserId(String userId, int limit, String cursor, ExpenseView view) {
+        return findPage(byUser.get(userId), expense -> userId.equals(expense.getUserId()), limit, cursor);
+    }
+
+    @Override
+    public Page<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                  int limit, String cursor, ExpenseView view) {
+        return findPage(dateRange(byUser.get(userId), startDate, endDate),
+            expense -> userId.equals(expense.getUserId()), limit, cursor);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        items.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Expense> findByCategory(String category, ExpenseView view) {
+        return findAll(byCategory.get(category), expense -> category.equals(expense.getCategory()));
+    }
+
+    @Override
+    public List<Expense> findByStatus(String status, ExpenseView view) {
+        return findAll(byStatus.get(status), expense -> status.equals(expense.getStatus()));
+    }
+
+    @Override
+    public void scanAll(String category, String status, Consumer<Expense> consumer) {
+        for (Expense expense : items.values()) {
+            if ((category == null || category.equals(expense.getCategory()))
+                    && (status == null || status.equals(expense.getStatus()))) {
+                consumer.accept(expense.toBuilder().build());
+            }
+        }
+    }
+
+    private Expense update(String id, long expectedVersion, UnaryOperator<Expense> change) {
+        Expense[] updated = new Expense[1];
+        items.computeIfPresent(id, (key, previous) -> {
+            if (expectedVersion != 0L && expectedVersion != previous.getVersion()) {
+                throw new ExpenseVersionConflictException(id, expectedVersion, previous.getVersion());
+            }
+            updated[0] = change.apply(previous).toBuilder().version(previous.getVersion() + 1).build();
+            unindex(previous);
+            index(updated[0]);
+            return updated[0];
+        });
+        if (updated[0] == null) {
+            throw new ExpenseNotFoundException(id);
+        }
+        return updated[0].toBuilder().build();
+    }
+
+    private void index(Expense expense) {
+        if (expense.getDate() == null) {
+            return;
+        }
+        String key = indexKey(expense.getDate().toString(), expense.getId());
+        add(byUser, expense.getUserId(), key);
+        add(byCategory, expense.getCategory(), key);
+        add(byStatus, expense.getStatus(), key);
+    }
+
+    private void unindex(Expense expense) {
+        if (expense == null || expense.getDate() == null) {
+            return;
+        }
+        String key = indexKey(expense.getDate().toString(), expense.getId());
+        remove(byUser, expense.getUserId(), key);
+        remove(byCategory, expense.getCategory(), key);
+        remove(byStatus, expense.getStatus(), key);
+    }
+
+    private static void add(ConcurrentMap<String, NavigableSet<String>> index, String partition, String key) {
+        if (partition != null) {
+            index.computeIfAbsent(partition, p -> new ConcurrentSkipListSet<>()).add(key);
+        }
+    }
+
+    private static void remove(ConcurrentMap<String, NavigableSet<String>> index, String partition, String key) {
+        if (partition != null) {
+            NavigableSet<String> keys = index.get(partition);
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    private static NavigableSet<String> dateRange(NavigableSet<String> keys, LocalDateTime startDate,
+                                                  LocalDateTime endDate) {
+        if (keys == null) {
+            return null;
+        }
+        // BETWEEN is inclusive at both ends, whatever the id
+        return keys.subSet(startDate.toString() + SEPARATOR, true,
+            endDate.toString() + (char) (SEPARATOR + 1), false);
+    }
+
+    private List<Expense> findAll(NavigableSet<String> keys, Predicate<Expense> inPartition) {
+        if (keys == null) {
+            return new ArrayList<>();
+        }
+        List<Expense> expenses = new ArrayList<>();
+        for (String key : keys) {
+            Expense expense = resolve(key, inPartition);
+            if (expense != null) {
+                expenses.add(expense);
+            }
+        }
+        return expenses;
+    }
+
+    private Page<Expense> findPage(NavigableSet<String> keys, Predicate<Expense> inPartition,
+                                   int limit, String cursor) {
+        if (keys == null) {
+            return new Page<>(new ArrayList<>(), null);
+        }
+        Map<String, AttributeValue> exclusiveStartKey = PageCursor.decode(cursor);
+        Iterator<String> iterator;
+        if (exclusiveStartKey == null) {
+            iterator = keys.iterator();
+        } else if (exclusiveStartKey.containsKey("date") && exclusiveStartKey.containsKey("id")) {
+            iterator = keys.tailSet(
+                indexKey(exclusiveStartKey.get("date").getS(), exclusiveStartKey.get("id").getS()), false).iterator();
+        } else {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+
+        List<Expense> expenses = new ArrayList<>(Math.min(limit, Page.MAX_LIMIT));
+        while (expenses.size() < limit && iterator.hasNext()) {
+            Expense expense = resolve(iterator.next(), inPartition);
+            if (expense != null) {
+                expenses.add(expense);
+            }
+        }
+        if (expenses.size() < limit) {
+            return new Page<>(expenses, null);
+        }
+        Expense last = expenses.get(expenses.size() - 1);
+        return new Page<>(expenses, PageCursor.encode(lastEvaluatedKey(last)));
+    }
+
+    // Skips keys whose expense was deleted or moved since the key was read
+    private Expense resolve(String key, Predicate<Expense> inPartition) {
+        String id = key.substring(key.indexOf(SEPARATOR) + 1);
+        Expense expense = items.get(id);
+        if (expense == null || expense.getDate() == null || !inPartition.test(expense)
+                || !key.equals(indexKey(expense.getDate().toString(), id))) {
+            return null;
+        }
+        return expense.toBuilder().build();
+    }
+
+    private static Map<String, AttributeValue> lastEvaluatedKey(Expense expense) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("id", new AttributeValue(expense.getId()));
+        key.put("userId", new AttributeValue(expense.getUserId()));
+        key.put("date", new AttributeValue(expense.getDate().toString()));
+        return key;
+    }
+
+    private static String indexKey(String date, String id) {
+        return Objects.requireNonNull(date) + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,89 @@
+package com.expensetracker.repository;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts items between the SDK v1 attribute values that {@link ExpenseItemCodec} and {@link PageCursor}
+ * produce and the SDK v2 ones the async clients take, so the async repository uses the same item mapping
+ * and cursor format as everything else. Binary values are not supported; no expense attribute is binary.
+ */
+final class SdkV2Items {
+
+    private SdkV2Items() {
+    }
+
+    static Map<String, AttributeValue> toV2(Map<String, com.amazonaws.services.dynamodbv2.model.AttributeValue> item) {
+        if (item == null) {
+            return null;
+        }
+        Map<String, AttributeValue> converted = new HashMap<>((int) (item.size() / 0.75f) + 1);
+        item.forEach((name, value) -> converted.put(name, toV2(value)));
+        return converted;
+    }
+
+    static Map<String, com.amazonaws.services.dynamodbv2.model.AttributeValue> fromV2(Map<String, AttributeValue> item) {
+        if (item == null) {
+            return null;
+        }
+        Map<String, com.amazonaws.services.dynamodbv2.model.AttributeValue> converted =
+            new HashMap<>((int) (item.size() / 0.75f) + 1);
+        item.forEach((name, value) -> converted.put(name, fromV2(value)));
+        return converted;
+    }
+
+    private static AttributeValue toV2(com.amazonaws.services.dynamodbv2.model.AttributeValue value) {
+        if (value.getS() != null) {
+            return AttributeValue.fromS(value.getS());
+        }
+        if (value.getN() != null) {
+            return AttributeValue.fromN(value.getN());
+        }
+        if (value.getBOOL() != null) {
+            return AttributeValue.fromBool(value.getBOOL());
+        }
+        if (Boolean.TRUE.equals(value.getNULL())) {
+            return AttributeValue.fromNul(true);
+        }
+        if (value.getM() != null) {
+            return AttributeValue.fromM(toV2(value.getM()));
+        }
+        if (value.getL() != null) {
+            List<AttributeValue> list = new ArrayList<>(value.getL().size());
+            value.getL().forEach(element -> list.add(toV2(element)));
+            return AttributeValue.fromL(list);
+        }
+        if (value.getSS() != null) {
+            return AttributeValue.fromSs(value.getSS());
+        }
+        if (value.getNS() != null) {
+            return AttributeValue.fromNs(value.getNS());
+        }
+        throw new IllegalArgumentException("Unsupported attribute value: " + value);
+    }
+
+    private static com.amazonaws.services.dynamodbv2.model.AttributeValue fromV2(AttributeValue value) {
+        com.amazonaws.services.dynamodbv2.model.AttributeValue converted =
+            new com.amazonaws.services.dynamodbv2.model.AttributeValue();
+        switch (value.type()) {
+            case S -> converted.setS(value.s());
+            case N -> converted.setN(value.n());
+            case BOOL -> converted.setBOOL(value.bool());
+            case NUL -> converted.setNULL(true);
+            case M -> converted.setM(fromV2(value.m()));
+            case L -> {
+                List<com.amazonaws.services.dynamodbv2.model.AttributeValue> list = new ArrayList<>(value.l().size());
+                value.l().forEach(element -> list.add(fromV2(element)));
+                converted.setL(list);
+            }
+            case SS -> converted.setSS(value.ss());
+            case NS -> converted.setNS(value.ns());
+            default -> throw new IllegalArgumentException("Unsupported attribute value: " + value);
+        }
+        return converted;
+    }
+}
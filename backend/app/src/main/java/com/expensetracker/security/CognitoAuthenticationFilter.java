@@ -0,0 +1,59 @@
+package com.expensetracker.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} token. The token's subject becomes the
+ * principal and the {@code userId} request attribute the controller reads. An invalid token is answered
+ * with 401 straight away; a request without one continues unauthenticated.
+ *
+ * <p>The security context is also stored as a request attribute, so it is still there when an async
+ * controller result is dispatched back to the container.
+ */
+public class CognitoAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final CognitoTokenVerifier verifier;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    public CognitoAuthenticationFilter(CognitoTokenVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            JWTClaimsSet claims;
+            try {
+                claims = verifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+            } catch (BadCredentialsException e) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            String userId = claims.getSubject();
+            request.setAttribute("userId", userId);
+
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(userId, null, List.of()));
+            SecurityContextHolder.setContext(context);
+            securityContextRepository.saveContext(context, request, response);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,194 @@
+package com.expensetracker.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verifies RS256 bearer tokens from the user pool and remembers the ones it has verified.
+ *
+ * <p>The processor is built once and shared; nimbus processors are thread-safe once configured. Signing
+ * keys come from the pool's JWKS, cached and refreshed on a background thread shortly before the cache
+ * expires, so requests do not wait on a JWKS fetch once the first one has succeeded. Tokens must carry the
+ * configured issuer, a subject and an expiry.
+ *
+ * <p>Verified claims are cached under the SHA-256 of the token until the token's {@code exp}, so further
+ * requests in the same session skip the RSA verification. The cache holds at most {@code maxSize} tokens,
+ * evicting the least recently used.
+ */
+public class CognitoTokenVerifier implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(CognitoTokenVerifier.class);
+    private static final Duration JWKS_REFRESH_AHEAD = Duration.ofMinutes(1);
+    private static final Duration JWKS_REFRESH_TIMEOUT = Duration.ofSeconds(15);
+
+    private final JWKSource<SecurityContext> keySource;
+    private final DefaultJWTProcessor<SecurityContext> processor;
+    private final int maxSize;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Verified> verified;
+
+    public CognitoTokenVerifier(JWKSource<SecurityContext> keySource, String issuer, int maxSize,
+                                MeterRegistry meterRegistry, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Token cache size must be at least 1");
+        }
+        this.keySource = keySource;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+            new JWTClaimsSet.Builder().issuer(issuer).build(), Set.of("sub", "exp")));
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Verified> eldest) {
+                return size() > CognitoTokenVerifier.this.maxSize;
+            }
+        };
+
+        Tags tags = Tags.of("cache", "verified-tokens");
+        this.hits = meterRegistry.counter("cache.gets", tags.and("result", "hit"));
+        this.misses = meterRegistry.counter("cache.gets", tags.and("result", "miss"));
+        meterRegistry.gauge("cache.size", tags, this, CognitoTokenVerifier::size);
+    }
+
+    /**
+     * Keys for {@code jwksUri}. An http(s) JWKS is cached for {@code timeToLive} and refreshed in the
+     * background; a {@code file:} JWKS, used to trust locally minted tokens, is read once.
+     */
+    public static JWKSource<SecurityContext> keySource(String jwksUri, Duration timeToLive) {
+        URI uri = URI.create(jwksUri);
+        if ("file".equals(uri.getScheme())) {
+            try {
+                return new ImmutableJWKSet<>(JWKSet.load(Path.of(uri.getSchemeSpecificPart()).toFile()));
+            } catch (IOException | ParseException e) {
+                log.warn("Could not load JWKS from {}; every token will be rejected", jwksUri, e);
+                return new ImmutableJWKSet<>(new JWKSet());
+            }
+        }
+        try {
+            return JWKSourceBuilder.<SecurityContext>create(uri.toURL())
+                .cache(timeToLive.toMillis(), JWKS_REFRESH_TIMEOUT.toMillis())
+                .refreshAheadCache(JWKS_REFRESH_AHEAD.toMillis(), true)
+                .build();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid JWKS URI: " + jwksUri, e);
+        }
+    }
+
+    /**
+     * Fetches the signing keys now rather than on the first request. Failure is only logged: the
+     * application can start while the JWKS is unreachable, and the next request tries again.
+     */
+    public void prefetchKeys() {
+        try {
+            keySource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+        } catch (KeySourceException e) {
+            log.warn("Could not prefetch signing keys; they will be fetched on first use", e);
+        }
+    }
+
+    /**
+     * @return the token's claims
+     * @throws BadCredentialsException if the token is malformed, badly signed, expired or from another issuer
+     */
+    public JWTClaimsSet verify(String token) {
+        String key = hash(token);
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            Verified entry = verified.get(key);
+            if (entry != null) {
+                if (now.isBefore(entry.expiresAt)) {
+                    hits.increment();
+                    return entry.claims;
+                }
+                verified.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        JWTClaimsSet claims;
+        try {
+            claims = processor.process(token, null);
+        } catch (Exception e) {
+            throw new BadCredentialsException("Invalid bearer token", e);
+        }
+        Verified entry = new Verified(claims, claims.getExpirationTime().toInstant());
+        lock.lock();
+        try {
+            verified.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+        return claims;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return verified.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (keySource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Verified(JWTClaimsSet claims, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking form of the {@link ExpenseService} operations the REST API serves per request. Each method
+ * behaves like its blocking counterpart, with failures completing the returned future.
+ */
+public interface AsyncExpenseService {
+    CompletableFuture<Expense> createExpense(Expense expense);
+    CompletableFuture<List<BatchItemResult>> createExpenses(List<ObjectNode> entries);
+    CompletableFuture<Optional<Expense>> getExpense(String id);
+    CompletableFuture<Page<Expense>> getUserExpenses(String userId, Integer limit, String cursor, ExpenseView view);
+    CompletableFuture<Page<Expense>> getUserExpensesByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate, Integer limit, String cursor, ExpenseView view);
+    CompletableFuture<Expense> updateExpense(String id, Expense expense);
+    CompletableFuture<Expense> patchExpense(String id, ExpensePatch patch);
+    CompletableFuture<Void> deleteExpense(String id);
+}
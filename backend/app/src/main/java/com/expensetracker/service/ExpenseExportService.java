@@ -0,0 +1,16 @@
+package com.expensetracker.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExpenseExportService {
+    /**
+     * Writes the user's expenses dated within the range to {@code output}, in date order, as they are read.
+     * {@code output} is flushed but not closed.
+     *
+     * @throws IllegalArgumentException if {@code endDate} is before {@code startDate}; nothing is written then
+     */
+    void exportExpenses(String userId, LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                        OutputStream output) throws IOException;
+}
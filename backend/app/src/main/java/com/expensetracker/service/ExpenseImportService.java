@@ -0,0 +1,28 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.ImportProgress;
+import com.expensetracker.model.ImportRowError;
+import java.io.IOException;
+import java.io.Reader;
+
+public interface ExpenseImportService {
+    /**
+     * Imports the CSV read from {@code input} as the user's expenses. The header row names the columns:
+     * date, description, amount and category are required, currency, receiptUrl and notes optional, and any
+     * others, such as those of an export, are ignored. Rejected rows and progress are reported to
+     * {@code listener} as the import goes; counts cover this run only.
+     *
+     * @param resumeFrom the checkpoint an earlier run of the same import reached; rows up to it are skipped
+     * @return the final progress, also the last reported; its error is set if the import stopped early
+     * @throws IllegalArgumentException if the header row is missing or lacks a required column; nothing has
+     *                                  been imported or reported then
+     */
+    ImportProgress importExpenses(String userId, String importId, long resumeFrom, Reader input,
+                                  ImportListener listener) throws IOException;
+
+    interface ImportListener {
+        void rowRejected(ImportRowError error) throws IOException;
+
+        void progress(ImportProgress progress) throws IOException;
+    }
+}
@@ -0,0 +1,34 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.MonthlySummary;
+import com.expensetracker.model.Page;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+public interface ExpenseService {
+    Expense createExpense(Expense expense);
+    /**
+     * @param entries the expenses as sent; each is read on its own, so one that is not a valid expense fails at
+     *                its index instead of failing the batch
+     */
+    List<BatchItemResult> createExpenses(List<ObjectNode> entries);
+    Optional<Expense> getExpense(String id);
+    List<Expense> getUserExpenses(String userId);
+    List<Expense> getUserExpensesByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate);
+    Page<Expense> getUserExpenses(String userId, Integer limit, String cursor);
+    Page<Expense> getUserExpensesByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate, Integer limit, String cursor);
+    void deleteExpense(String id);
+    List<Expense> getExpensesByCategory(String category, ExpenseView view);
+    List<Expense> getExpensesByStatus(String status, ExpenseView view);
+    Expense updateExpense(String id, Expense expense);
+    Expense patchExpense(String id, ExpensePatch patch);
+    void processExpense(String id);
+    MonthlySummary getMonthlySummary(String userId, YearMonth month);
+} 
\ No newline at end of file
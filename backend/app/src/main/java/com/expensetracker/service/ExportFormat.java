@@ -0,0 +1,111 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Expense;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * File formats of an expense export. CSV has a header row and one row per expense, quoted as RFC 4180
+ * requires; NDJSON has one expense per line in the JSON form the API returns.
+ *
+ * <p>Free-text CSV fields that a spreadsheet would read as a formula are prefixed with {@code '}, so opening
+ * an export cannot run what a user typed into a description or note.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv") {
+        @Override
+        public void writeHeader(Writer out) throws IOException {
+            out.write(String.join(",", CSV_COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(Writer out, Expense expense, ObjectMapper objectMapper) throws IOException {
+            writeField(out, expense.getId());
+            writeField(out, expense.getDate());
+            writeField(out, text(expense.getDescription()));
+            writeField(out, expense.getAmount() != null ? expense.getAmount().toPlainString() : null);
+            writeField(out, expense.getCurrency());
+            writeField(out, text(expense.getCategory()));
+            writeField(out, expense.getStatus());
+            writeField(out, text(expense.getReceiptUrl()));
+            writeField(out, text(expense.getNotes()));
+            writeField(out, expense.getCreatedAt());
+            writeField(out, expense.getUpdatedAt());
+            writeValue(out, expense.getVersion());
+            out.write("\r\n");
+        }
+    },
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public void writeRow(Writer out, Expense expense, ObjectMapper objectMapper) throws IOException {
+            out.write(objectMapper.writeValueAsString(expense));
+            out.write('\n');
+        }
+    };
+
+    public static final List<String> CSV_COLUMNS = List.of(
+        "id", "date", "description", "amount", "currency", "category", "status", "receiptUrl", "notes",
+        "createdAt", "updatedAt", "version");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * @param name the format's file extension, in any case
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + name);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public void writeHeader(Writer out) throws IOException {
+    }
+
+    public abstract void writeRow(Writer out, Expense expense, ObjectMapper objectMapper) throws IOException;
+
+    // A leading =, +, - or @ starts a formula in spreadsheets, as does a tab or carriage return in some
+    static String text(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    private static void writeField(Writer out, Object value) throws IOException {
+        writeValue(out, value);
+        out.write(',');
+    }
+
+    private static void writeValue(Writer out, Object value) throws IOException {
+        if (value != null) {
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(text.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.messaging.AsyncSqsBatchSender;
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import com.expensetracker.repository.AsyncExpenseRepository;
+import com.expensetracker.service.AsyncExpenseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+public class AsyncExpenseServiceImpl implements AsyncExpenseService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncExpenseServiceImpl.class);
+
+    private final AsyncExpenseRepository expenseRepository;
+    private final SqsAsyncClient sqsClient;
+    private final ObjectMapper objectMapper;
+    private final String queueUrl;
+    // When set, creates only write the item and the stream-driven outbox relay enqueues it
+    private final boolean outboxEnabled;
+
+    @Autowired
+    public AsyncExpenseServiceImpl(
+            AsyncExpenseRepository expenseRepository,
+            SqsAsyncClient sqsClient,
+            ObjectMapper objectMapper,
+            @Value("${aws.sqs.queue-url}") String queueUrl,
+            @Value("${aws.sqs.outbox-enabled:false}") boolean outboxEnabled) {
+        this.expenseRepository = expenseRepository;
+        this.sqsClient = sqsClient;
+        this.objectMapper = objectMapper;
+        this.queueUrl = queueUrl;
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    @Override
+    public CompletableFuture<Expense> createExpense(Expense expense) {
+        expense.setId(UUID.randomUUID().toString());
+        long now = System.currentTimeMillis();
+        expense.setCreatedAtMillis(now);
+        expense.setUpdatedAtMillis(now);
+        expense.setStatus("PENDING");
+        expense.setVersion(1L);
+
+        return expenseRepository.save(expense).thenCompose(savedExpense -> outboxEnabled
+            ? CompletableFuture.completedFuture(savedExpense)
+            : sendToProcessingQueue(savedExpense).thenApply(sent -> savedExpense));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult>> createExpenses(List<ObjectNode> entries) {
+        if (entries.isEmpty() || entries.size() > ExpenseServiceImpl.MAX_BATCH_SIZE) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                "Batch must contain between 1 and " + ExpenseServiceImpl.MAX_BATCH_SIZE + " expenses"));
+        }
+
+        Map<Integer, String> rejected = new HashMap<>();
+        List<Expense> expenses = ExpenseServiceImpl.readEntries(entries, objectMapper, rejected);
+        List<Expense> valid = ExpenseServiceImpl.prepareForCreate(expenses);
+
+        return expenseRepository.saveAll(valid).thenCompose(saved -> {
+            Set<String> savedIds = new HashSet<>();
+            Map<String, String> messages = new LinkedHashMap<>();
+            for (Expense expense : saved) {
+                savedIds.add(expense.getId());
+                if (!outboxEnabled) {
+                    messages.put(expense.getId(), toMessage(expense));
+                }
+            }
+            CompletableFuture<Set<String>> unsent = messages.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.emptySet())
+                : AsyncSqsBatchSender.sendAll(sqsClient, queueUrl, messages).exceptionally(e -> {
+                    // The expenses are saved, so report them as unsent rather than failing the batch
+                    log.warn("Failed to send {} expenses to the processing queue", messages.size(), e);
+                    return messages.keySet();
+                });
+            return unsent.thenApply(unsentIds ->
+                BatchItemResult.of(ExpenseServiceImpl.ids(expenses), savedIds, unsentIds, rejected));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Expense>> getExpense(String id) {
+        return expenseRepository.findById(id);
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> getUserExpenses(String userId, Integer limit, String cursor,
+                                                            ExpenseView view) {
+        return expenseRepository.findByUserId(userId, Page.clampLimit(limit), cursor, view);
+    }
+
+    @Override
+    public CompletableFuture<Page<Expense>> getUserExpensesByDateRange(String userId, LocalDateTime startDate,
+                                                                       LocalDateTime endDate, Integer limit,
+                                                                       String cursor, ExpenseView view) {
+        return expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate, Page.clampLimit(limit), cursor,
+            view);
+    }
+
+    @Override
+    public CompletableFuture<Expense> updateExpense(String id, Expense expense) {
+        expense.setId(id);
+        expense.setUpdatedAtMillis(System.currentTimeMillis());
+        return expenseRepository.update(expense);
+    }
+
+    @Override
+    public CompletableFuture<Expense> patchExpense(String id, ExpensePatch patch) {
+        return expenseRepository.patch(id, patch, System.currentTimeMillis());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteExpense(String id) {
+        return expenseRepository.deleteById(id);
+    }
+
+    private CompletableFuture<Void> sendToProcessingQueue(Expense expense) {
+        SendMessageRequest request = SendMessageRequest.builder()
+            .queueUrl(queueUrl)
+            .messageBody(toMessage(expense))
+            .messageGroupId(expense.getId())
+            .build();
+        return sqsClient.sendMessage(request)
+            .<Void>thenApply(response -> null)
+            .exceptionally(e -> {
+                throw new CompletionException(new RuntimeException("Failed to send expense to processing queue", e));
+            });
+    }
+
+    private String toMessage(Expense expense) {
+        try {
+            return objectMapper.writeValueAsString(expense);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize expense " + expense.getId(), e);
+        }
+    }
+}
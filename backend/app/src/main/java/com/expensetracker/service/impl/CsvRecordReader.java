@@ -0,0 +1,93 @@
+package com.expensetracker.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV as RFC 4180 describes it one record at a time, so input of any length is parsed in constant
+ * memory. Quoted fields may hold commas, doubled quotes and line breaks; records end with CRLF or LF, and
+ * blank lines are skipped.
+ */
+final class CsvRecordReader {
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     * @throws IllegalArgumentException if a record is longer than {@link #MAX_RECORD_LENGTH} characters or the
+     *                                  input ends inside a quoted field
+     */
+    List<String> next() throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        for (int length = 1; ; length++, c = reader.read()) {
+            if (length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("CSV record longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (c == -1) {
+                if (quoted) {
+                    throw new IllegalArgumentException("CSV input ends inside a quoted field");
+                }
+                break;
+            }
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else if (peek() == '"') {
+                    field.append((char) reader.read());
+                } else {
+                    quoted = false;
+                }
+                continue;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            }
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    reader.read();
+                }
+                break;
+            }
+            if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int peek() throws IOException {
+        reader.mark(1);
+        int c = reader.read();
+        reader.reset();
+        return c;
+    }
+}
@@ -0,0 +1,170 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Page;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.service.ExpenseExportService;
+import com.expensetracker.service.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Splits the export range into calendar months and queries up to {@code concurrency} of them at once, one
+ * worker paging through each month, while the calling thread writes the months out in order. The user's
+ * date index returns each month already in date order, so no sorting is needed. A worker hands its pages
+ * over through a queue of {@link #PAGES_AHEAD} pages and the next month starts only when the writer finishes
+ * one, so memory stays bounded by the concurrency and page size, however many expenses the range holds.
+ */
+@Service
+public class ExpenseExportServiceImpl implements ExpenseExportService {
+
+    static final int PAGES_AHEAD = 2;
+
+    private static final Object MONTH_DONE = new Object();
+
+    private final ExpenseRepository expenseRepository;
+    private final ObjectMapper objectMapper;
+    private final int concurrency;
+    private final int pageSize;
+    private final ThreadFactory threadFactory;
+
+    @Autowired
+    public ExpenseExportServiceImpl(
+            ExpenseRepository expenseRepository,
+            ObjectMapper objectMapper,
+            @Value("${export.concurrency:4}") int concurrency,
+            @Value("${export.page-size:500}") int pageSize,
+            ObjectProvider<ThreadFactory> workerThreadFactory) {
+        this(expenseRepository, objectMapper, concurrency, pageSize,
+            workerThreadFactory.getIfUnique(Executors::defaultThreadFactory));
+    }
+
+    public ExpenseExportServiceImpl(ExpenseRepository expenseRepository, ObjectMapper objectMapper, int concurrency,
+                                    int pageSize, ThreadFactory threadFactory) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        this.expenseRepository = expenseRepository;
+        this.objectMapper = objectMapper;
+        this.concurrency = concurrency;
+        this.pageSize = pageSize;
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void exportExpenses(String userId, LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                               OutputStream output) throws IOException {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        List<MonthFetch> months = months(userId, startDate, endDate);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        format.writeHeader(writer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, months.size()), threadFactory);
+        try {
+            Deque<MonthFetch> inFlight = new ArrayDeque<>(concurrency);
+            int started = 0;
+            while (!inFlight.isEmpty() || started < months.size()) {
+                while (inFlight.size() < concurrency && started < months.size()) {
+                    MonthFetch month = months.get(started++);
+                    executor.execute(month);
+                    inFlight.add(month);
+                }
+
+                MonthFetch month = inFlight.remove();
+                for (List<Expense> page = month.nextPage(); page != null; page = month.nextPage()) {
+                    for (Expense expense : page) {
+                        format.writeRow(writer, expense, objectMapper);
+                    }
+                    writer.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Export interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        writer.flush();
+    }
+
+    private List<MonthFetch> months(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<MonthFetch> months = new ArrayList<>();
+        LocalDateTime from = startDate;
+        while (!from.isAfter(endDate)) {
+            LocalDateTime nextMonth = from.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+            months.add(new MonthFetch(userId, from, nextMonth.isAfter(endDate) ? endDate : nextMonth.minusNanos(1)));
+            from = nextMonth;
+        }
+        return months;
+    }
+
+    private final class MonthFetch implements Runnable {
+        private final BlockingQueue<Object> pages = new ArrayBlockingQueue<>(PAGES_AHEAD);
+        private final String userId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        MonthFetch(String userId, LocalDateTime from, LocalDateTime to) {
+            this.userId = userId;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            try {
+                try {
+                    String cursor = null;
+                    do {
+                        Page<Expense> page = expenseRepository.findByUserIdAndDateRange(
+                            userId, from, to, pageSize, cursor);
+                        pages.put(page.getItems());
+                        cursor = page.getNextCursor();
+                    } while (cursor != null);
+                    pages.put(MONTH_DONE);
+                } catch (RuntimeException e) {
+                    pages.put(e);
+                }
+            } catch (InterruptedException e) {
+                // The export was abandoned; nothing is waiting for the rest of the month
+            }
+        }
+
+        /**
+         * @return the next page of the month, or null once it has all been read
+         */
+        @SuppressWarnings("unchecked")
+        List<Expense> nextPage() throws InterruptedException {
+            Object next = pages.take();
+            if (next == MONTH_DONE) {
+                return null;
+            }
+            if (next instanceof RuntimeException failure) {
+                throw failure;
+            }
+            return (List<Expense>) next;
+        }
+    }
+}
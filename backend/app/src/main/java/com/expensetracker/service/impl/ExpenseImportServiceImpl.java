@@ -0,0 +1,263 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.messaging.SqsBatchSender;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ImportProgress;
+import com.expensetracker.model.ImportRowError;
+import com.expensetracker.model.MinorUnits;
+import com.expensetracker.repository.AdaptiveWriteThrottle;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.service.ExpenseImportService;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads the upload one CSV record at a time and validates each row as it is read. Valid rows are written
+ * {@code chunkSize} at a time through one {@link AdaptiveWriteThrottle} per import, so heap use does not
+ * grow with the file and the import slows down whenever the table throttles, leaving its capacity to live
+ * traffic. The checkpoint advances after each written chunk.
+ *
+ * <p>A row's id is derived from the user, import id and row number, so an import resumed from a checkpoint
+ * can tell which of its rows the interrupted run already wrote past that checkpoint. Those rows are skipped
+ * rather than written again, since they may have been processed and counted since; rows are checked until
+ * a chunk turns up none of them.
+ */
+@Service
+public class ExpenseImportServiceImpl implements ExpenseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseImportServiceImpl.class);
+
+    static final List<String> REQUIRED_COLUMNS = List.of("date", "description", "amount", "category");
+
+    private final ExpenseRepository expenseRepository;
+    private final AmazonSQS sqsClient;
+    private final ObjectMapper objectMapper;
+    private final String queueUrl;
+    // As for creates: with the outbox on, the stream relay enqueues imported expenses
+    private final boolean outboxEnabled;
+    private final int chunkSize;
+    private final double initialWriteRate;
+    private final double minWriteRate;
+    private final double maxWriteRate;
+
+    @Autowired
+    public ExpenseImportServiceImpl(
+            ExpenseRepository expenseRepository,
+            AmazonSQS sqsClient,
+            ObjectMapper objectMapper,
+            @Value("${aws.sqs.queue-url}") String queueUrl,
+            @Value("${aws.sqs.outbox-enabled:false}") boolean outboxEnabled,
+            @Value("${import.chunk-size:250}") int chunkSize,
+            @Value("${import.write-rate.initial:50}") double initialWriteRate,
+            @Value("${import.write-rate.min:5}") double minWriteRate,
+            @Value("${import.write-rate.max:500}") double maxWriteRate) {
+        this.expenseRepository = expenseRepository;
+        this.sqsClient = sqsClient;
+        this.objectMapper = objectMapper;
+        this.queueUrl = queueUrl;
+        this.outboxEnabled = outboxEnabled;
+        this.chunkSize = chunkSize;
+        this.initialWriteRate = initialWriteRate;
+        this.minWriteRate = minWriteRate;
+        this.maxWriteRate = maxWriteRate;
+    }
+
+    @Override
+    public ImportProgress importExpenses(String userId, String importId, long resumeFrom, Reader input,
+                                         ImportListener listener) throws IOException {
+        if (resumeFrom < 0) {
+            throw new IllegalArgumentException("resumeFrom must not be negative");
+        }
+        CsvRecordReader reader = new CsvRecordReader(input);
+        Header header = Header.of(reader.next());
+
+        AdaptiveWriteThrottle throttle = new AdaptiveWriteThrottle(initialWriteRate, minWriteRate, maxWriteRate);
+        ImportProgress progress = ImportProgress.builder().importId(importId).checkpoint(resumeFrom).build();
+        List<Expense> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+        boolean replaying = resumeFrom > 0;
+        long row = 0;
+        try {
+            for (List<String> record = reader.next(); record != null; record = reader.next()) {
+                if (++row <= resumeFrom) {
+                    continue;
+                }
+                try {
+                    chunk.add(toExpense(userId, importId, row, record, header));
+                    chunkRows.add(row);
+                } catch (IllegalArgumentException e) {
+                    progress.setFailed(progress.getFailed() + 1);
+                    listener.rowRejected(new ImportRowError(row, e.getMessage()));
+                }
+                if (chunk.size() == chunkSize) {
+                    replaying = write(chunk, chunkRows, throttle, progress, listener, replaying);
+                    progress.setCheckpoint(row);
+                    listener.progress(progress);
+                }
+            }
+            write(chunk, chunkRows, throttle, progress, listener, replaying);
+            progress.setCheckpoint(Math.max(row, resumeFrom));
+            progress.setComplete(true);
+        } catch (RuntimeException e) {
+            progress.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        listener.progress(progress);
+        return progress;
+    }
+
+    /**
+     * @param replaying whether rows of the chunk may already have been written by an interrupted run
+     * @return whether the next chunk may hold such rows too
+     */
+    private boolean write(List<Expense> chunk, List<Long> chunkRows, AdaptiveWriteThrottle throttle,
+                          ImportProgress progress, ImportListener listener, boolean replaying) throws IOException {
+        if (chunk.isEmpty()) {
+            return replaying;
+        }
+        Set<String> writtenIds = replaying ? writtenIds(chunk) : Collections.emptySet();
+        List<Expense> unwritten = new ArrayList<>(chunk.size());
+        chunk.stream().filter(expense -> !writtenIds.contains(expense.getId())).forEach(unwritten::add);
+        if (!unwritten.isEmpty()) {
+            expenseRepository.saveAll(unwritten, throttle);
+        }
+
+        Set<String> unsentIds = Collections.emptySet();
+        if (!outboxEnabled && !unwritten.isEmpty()) {
+            Map<String, String> messages = new LinkedHashMap<>();
+            for (Expense expense : unwritten) {
+                messages.put(expense.getId(), toMessage(expense));
+            }
+            try {
+                unsentIds = SqsBatchSender.sendAll(sqsClient, queueUrl, messages);
+            } catch (AmazonServiceException e) {
+                // The rows are written, so report them as unsent rather than failing the import
+                log.warn("Failed to send {} imported expenses to the processing queue", messages.size(), e);
+                unsentIds = messages.keySet();
+            }
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            if (unsentIds.contains(chunk.get(i).getId())) {
+                progress.setFailed(progress.getFailed() + 1);
+                listener.rowRejected(new ImportRowError(chunkRows.get(i),
+                    "Expense saved but failed to send to processing queue"));
+            } else {
+                progress.setImported(progress.getImported() + 1);
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+        return !writtenIds.isEmpty();
+    }
+
+    private Set<String> writtenIds(List<Expense> chunk) {
+        List<String> ids = new ArrayList<>(chunk.size());
+        chunk.forEach(expense -> ids.add(expense.getId()));
+        Set<String> writtenIds = new HashSet<>();
+        expenseRepository.findAllById(ids).forEach(expense -> writtenIds.add(expense.getId()));
+        return writtenIds;
+    }
+
+    private static Expense toExpense(String userId, String importId, long row, List<String> record, Header header) {
+        if (record.size() != header.width()) {
+            throw new IllegalArgumentException("Expected " + header.width() + " fields but found " + record.size());
+        }
+        String currency = header.field(record, "currency");
+        long amountMinor;
+        try {
+            amountMinor = MinorUnits.toMinor(new BigDecimal(header.required(record, "amount")), currency);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount is not a number");
+        }
+        long now = System.currentTimeMillis();
+        return Expense.builder()
+            .id(UUID.nameUUIDFromBytes((userId + "/" + importId + "/" + row).getBytes(StandardCharsets.UTF_8)).toString())
+            .userId(userId)
+            .description(header.required(record, "description"))
+            .amountMinor(amountMinor)
+            .currency(currency)
+            .category(header.required(record, "category"))
+            .date(date(header.required(record, "date")))
+            .status("PENDING")
+            .receiptUrl(header.field(record, "receiptUrl"))
+            .notes(header.field(record, "notes"))
+            .createdAtMillis(now)
+            .updatedAtMillis(now)
+            .version(1L)
+            .build();
+    }
+
+    private static LocalDateTime date(String text) {
+        try {
+            return text.indexOf('T') >= 0 ? LocalDateTime.parse(text) : LocalDate.parse(text).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("date is not an ISO date or date-time: " + text);
+        }
+    }
+
+    private String toMessage(Expense expense) {
+        try {
+            return objectMapper.writeValueAsString(expense);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize expense " + expense.getId(), e);
+        }
+    }
+
+    private record Header(Map<String, Integer> columns, int width) {
+        static Header of(List<String> names) {
+            if (names == null) {
+                throw new IllegalArgumentException("CSV has no header row");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                columns.putIfAbsent(names.get(i).trim(), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("CSV header lacks the " + column + " column");
+                }
+            }
+            return new Header(columns, names.size());
+        }
+
+        // Empty and absent fields are both null
+        String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        String required(List<String> record, String column) {
+            String value = field(record, column);
+            if (value == null) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return value;
+        }
+    }
+}
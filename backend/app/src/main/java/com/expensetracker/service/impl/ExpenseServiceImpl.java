@@ -0,0 +1,257 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.messaging.SqsBatchSender;
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.model.CategorySummary;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.MonthlySummary;
+import com.expensetracker.model.Page;
+import com.expensetracker.repository.ExpenseAggregateRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.service.ExpenseService;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+public class ExpenseServiceImpl implements ExpenseService {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseServiceImpl.class);
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseAggregateRepository aggregateRepository;
+    private final AmazonSQS sqsClient;
+    private final ObjectMapper objectMapper;
+    private final String queueUrl;
+    // When set, creates only write the item and the stream-driven outbox relay enqueues it
+    private final boolean outboxEnabled;
+
+    @Autowired
+    public ExpenseServiceImpl(
+            ExpenseRepository expenseRepository,
+            ExpenseAggregateRepository aggregateRepository,
+            AmazonSQS sqsClient,
+            ObjectMapper objectMapper,
+            @Value("${aws.sqs.queue-url}") String queueUrl,
+            @Value("${aws.sqs.outbox-enabled:false}") boolean outboxEnabled) {
+        this.expenseRepository = expenseRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.sqsClient = sqsClient;
+        this.objectMapper = objectMapper;
+        this.queueUrl = queueUrl;
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    @Override
+    public Expense createExpense(Expense expense) {
+        expense.setId(UUID.randomUUID().toString());
+        long now = System.currentTimeMillis();
+        expense.setCreatedAtMillis(now);
+        expense.setUpdatedAtMillis(now);
+        expense.setStatus("PENDING");
+        expense.setVersion(1L);
+
+        Expense savedExpense = expenseRepository.save(expense);
+        if (!outboxEnabled) {
+            sendToProcessingQueue(savedExpense);
+        }
+        return savedExpense;
+    }
+
+    @Override
+    public List<BatchItemResult> createExpenses(List<ObjectNode> entries) {
+        if (entries.isEmpty() || entries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " expenses");
+        }
+
+        Map<Integer, String> rejected = new HashMap<>();
+        List<Expense> expenses = readEntries(entries, objectMapper, rejected);
+        List<Expense> valid = prepareForCreate(expenses);
+
+        Set<String> savedIds = new HashSet<>();
+        Map<String, String> messages = new LinkedHashMap<>();
+        for (Expense saved : expenseRepository.saveAll(valid)) {
+            savedIds.add(saved.getId());
+            if (!outboxEnabled) {
+                messages.put(saved.getId(), toMessage(saved));
+            }
+        }
+        Set<String> unsentIds = Collections.emptySet();
+        if (!messages.isEmpty()) {
+            try {
+                unsentIds = SqsBatchSender.sendAll(sqsClient, queueUrl, messages);
+            } catch (AmazonServiceException e) {
+                // The expenses are saved, so report them as unsent rather than failing the batch
+                log.warn("Failed to send {} expenses to the processing queue", messages.size(), e);
+                unsentIds = messages.keySet();
+            }
+        }
+
+        return BatchItemResult.of(ids(expenses), savedIds, unsentIds, rejected);
+    }
+
+    /**
+     * Reads each batch entry on its own. An entry that is not a valid expense, such as one whose amount is in an
+     * unknown currency, is left null and its error recorded in {@code rejected} by its index.
+     */
+    static List<Expense> readEntries(List<ObjectNode> entries, ObjectMapper objectMapper,
+                                     Map<Integer, String> rejected) {
+        List<Expense> expenses = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Expense expense = null;
+            try {
+                expense = entries.get(i) != null ? objectMapper.treeToValue(entries.get(i), Expense.class) : null;
+                if (expense == null) {
+                    rejected.put(i, "Expense is required");
+                }
+            } catch (JsonProcessingException e) {
+                rejected.put(i, e.getCause() instanceof IllegalArgumentException
+                    ? e.getCause().getMessage()
+                    : e.getOriginalMessage());
+            }
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    /**
+     * Assigns ids and initial state to the entries that were read, returning them without the rejected ones.
+     */
+    static List<Expense> prepareForCreate(List<Expense> expenses) {
+        long now = System.currentTimeMillis();
+        List<Expense> valid = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            if (expense == null) {
+                continue;
+            }
+            expense.setId(UUID.randomUUID().toString());
+            expense.setCreatedAtMillis(now);
+            expense.setUpdatedAtMillis(now);
+            expense.setStatus("PENDING");
+            expense.setVersion(1L);
+            valid.add(expense);
+        }
+        return valid;
+    }
+
+    /**
+     * @return the id of each entry, in request order, with null for rejected entries
+     */
+    static List<String> ids(List<Expense> expenses) {
+        return expenses.stream().map(expense -> expense != null ? expense.getId() : null).toList();
+    }
+
+    @Override
+    public Optional<Expense> getExpense(String id) {
+        return expenseRepository.findById(id);
+    }
+
+    @Override
+    public List<Expense> getUserExpenses(String userId) {
+        return expenseRepository.findByUserId(userId);
+    }
+
+    @Override
+    public List<Expense> getUserExpensesByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate);
+    }
+
+    @Override
+    public Page<Expense> getUserExpenses(String userId, Integer limit, String cursor) {
+        return expenseRepository.findByUserId(userId, Page.clampLimit(limit), cursor);
+    }
+
+    @Override
+    public Page<Expense> getUserExpensesByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                    Integer limit, String cursor) {
+        return expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate, Page.clampLimit(limit), cursor);
+    }
+
+    @Override
+    public void deleteExpense(String id) {
+        expenseRepository.deleteById(id);
+    }
+
+    @Override
+    public List<Expense> getExpensesByCategory(String category, ExpenseView view) {
+        return expenseRepository.findByCategory(category, view);
+    }
+
+    @Override
+    public List<Expense> getExpensesByStatus(String status, ExpenseView view) {
+        return expenseRepository.findByStatus(status, view);
+    }
+
+    @Override
+    public Expense updateExpense(String id, Expense expense) {
+        expense.setId(id);
+        expense.setUpdatedAtMillis(System.currentTimeMillis());
+        return expenseRepository.update(expense);
+    }
+
+    @Override
+    public Expense patchExpense(String id, ExpensePatch patch) {
+        return expenseRepository.patch(id, patch, System.currentTimeMillis());
+    }
+
+    @Override
+    public void processExpense(String id) {
+        // A missing expense was deleted before it was processed; there is nothing to update
+        expenseRepository.updateStatus(id, "PROCESSED", System.currentTimeMillis());
+    }
+
+    @Override
+    public MonthlySummary getMonthlySummary(String userId, YearMonth month) {
+        List<CategorySummary> categories = aggregateRepository.findMonth(userId, month);
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        categories.forEach(category -> totals.merge(category.getCurrency(), category.getTotal(), BigDecimal::add));
+        return MonthlySummary.builder()
+            .month(month.toString())
+            .totals(totals)
+            .count(categories.stream().mapToLong(CategorySummary::getCount).sum())
+            .categories(categories)
+            .build();
+    }
+
+    private void sendToProcessingQueue(Expense expense) {
+        try {
+            sqsClient.sendMessage(new SendMessageRequest(queueUrl, toMessage(expense)).withMessageGroupId(expense.getId()));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to send expense to processing queue", e);
+        }
+    }
+
+    private String toMessage(Expense expense) {
+        try {
+            return objectMapper.writeValueAsString(expense);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize expense " + expense.getId(), e);
+        }
+    }
+} 
\ No newline at end of file
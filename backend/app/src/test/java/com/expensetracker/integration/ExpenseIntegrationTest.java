@@ -81,8 +81,7 @@ class ExpenseIntegrationTest {
         Map<String, String> claims = new HashMap<>();
         claims.put("sub", TEST_USER_ID);
         createInput.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
-        createInput.getRequestContext().setAuthorizer(new APIGatewayProxyRequestEvent.ProxyRequestContext.Authorizer());
-        createInput.getRequestContext().getAuthorizer().setClaims(claims);
+        createInput.getRequestContext().setAuthorizer(Map.of("claims", claims));
 
         // Mock DynamoDB and SQS responses for create
         when(dynamoDB.putItem(any())).thenReturn(new com.amazonaws.services.dynamodbv2.model.PutItemResult());
@@ -100,8 +99,7 @@ class ExpenseIntegrationTest {
         // Step 2: Get the expense
         APIGatewayProxyRequestEvent getInput = new APIGatewayProxyRequestEvent();
         getInput.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
-        getInput.getRequestContext().setAuthorizer(new APIGatewayProxyRequestEvent.ProxyRequestContext.Authorizer());
-        getInput.getRequestContext().getAuthorizer().setClaims(claims);
+        getInput.getRequestContext().setAuthorizer(Map.of("claims", claims));
 
         // Mock DynamoDB response for get
         List<Map<String, AttributeValue>> items = new ArrayList<>();
@@ -148,8 +146,7 @@ class ExpenseIntegrationTest {
         Map<String, String> claims = new HashMap<>();
         claims.put("sub", TEST_USER_ID);
         input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
-        input.getRequestContext().setAuthorizer(new APIGatewayProxyRequestEvent.ProxyRequestContext.Authorizer());
-        input.getRequestContext().getAuthorizer().setClaims(claims);
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
 
         // Set date range parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -0,0 +1,73 @@
+package com.expensetracker.messaging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncSqsBatchSenderTest {
+
+    @Mock
+    private SqsAsyncClient sqs;
+
+    @Test
+    void sendAll_SendsEachMessageInItsOwnGroup() {
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder().build()));
+        Map<String, String> messages = new LinkedHashMap<>();
+        messages.put("expense-1", "{}");
+        messages.put("expense-2", "{}");
+
+        Set<String> unsent = AsyncSqsBatchSender.sendAll(sqs, "queue", messages).join();
+
+        assertTrue(unsent.isEmpty());
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqs).sendMessageBatch(captor.capture());
+        for (SendMessageBatchRequestEntry entry : captor.getValue().entries()) {
+            assertEquals(entry.id(), entry.messageGroupId());
+        }
+    }
+
+    @Test
+    void sendAll_RetriesThrottlingAndFailsOnErrorsThatRetryingCannotFix() {
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class)))
+            .thenReturn(CompletableFuture.failedFuture(sqsException("ThrottlingException", 400)))
+            .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder().build()));
+
+        assertTrue(AsyncSqsBatchSender.sendAll(sqs, "queue", Map.of("expense-1", "{}")).join().isEmpty());
+        verify(sqs, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class)))
+            .thenReturn(CompletableFuture.failedFuture(sqsException("AccessDenied", 403)));
+
+        CompletionException e = assertThrows(CompletionException.class,
+            () -> AsyncSqsBatchSender.sendAll(sqs, "queue", Map.of("expense-1", "{}")).join());
+        assertInstanceOf(SqsException.class, e.getCause());
+        verify(sqs, times(3)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    private static SqsException sqsException(String errorCode, int statusCode) {
+        return (SqsException) SqsException.builder()
+            .statusCode(statusCode)
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+            .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncDynamoDBExpenseRepositoryTest {
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDb;
+
+    private AsyncDynamoDBExpenseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AsyncDynamoDBExpenseRepository(dynamoDb, "test-table");
+    }
+
+    @Test
+    void findById_DecodesItemWithSharedCodec() {
+        Map<String, AttributeValue> item = SdkV2Items.toV2(ExpenseItemCodec.encode(expense("1")));
+        when(dynamoDb.getItem(any(GetItemRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(GetItemResponse.builder().item(item).build()));
+
+        Expense found = repository.findById("1").join().orElseThrow();
+
+        assertEquals("1", found.getId());
+        assertEquals(1234L, found.getAmountMinor());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 12, 0), found.getDate());
+    }
+
+    @Test
+    void findById_ReturnsEmptyWhenItemMissing() {
+        when(dynamoDb.getItem(any(GetItemRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(GetItemResponse.builder().build()));
+
+        assertTrue(repository.findById("missing").join().isEmpty());
+    }
+
+    @Test
+    void findByUserId_UsesPageCursorFormat() {
+        Map<String, AttributeValue> lastKey = Map.of(
+            "id", AttributeValue.fromS("1"),
+            "userId", AttributeValue.fromS("user-1"),
+            "date", AttributeValue.fromS("2024-03-01T12:00"));
+        when(dynamoDb.query(any(QueryRequest.class))).thenReturn(CompletableFuture.completedFuture(QueryResponse.builder()
+            .items(SdkV2Items.toV2(ExpenseItemCodec.encode(expense("1"))))
+            .lastEvaluatedKey(lastKey)
+            .build()));
+
+        Page<Expense> first = repository.findByUserId("user-1", 1, null).join();
+        repository.findByUserId("user-1", 1, first.getNextCursor()).join();
+
+        assertEquals(1, first.getItems().size());
+        assertEquals(lastKey, SdkV2Items.toV2(PageCursor.decode(first.getNextCursor())));
+        ArgumentCaptor<QueryRequest> requests = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDb, times(2)).query(requests.capture());
+        assertEquals(ExpenseIndexes.USER_DATE, requests.getValue().indexName());
+        assertEquals(1, requests.getValue().limit());
+        assertEquals(lastKey, requests.getValue().exclusiveStartKey());
+    }
+
+    @Test
+    void findByUserId_FailsFutureOnInvalidCursor() {
+        CompletableFuture<Page<Expense>> page = repository.findByUserId("user-1", 10, "not-a-cursor");
+
+        CompletionException thrown = assertThrows(CompletionException.class, page::join);
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+        verifyNoInteractions(dynamoDb);
+    }
+
+    @Test
+    void findByUserIdAndDateRange_SummaryAddsProjection() {
+        when(dynamoDb.query(any(QueryRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(QueryResponse.builder().build()));
+
+        repository.findByUserIdAndDateRange("user-1", LocalDateTime.of(2024, 3, 1, 0, 0),
+            LocalDateTime.of(2024, 3, 31, 23, 59), 10, null, ExpenseView.SUMMARY).join();
+        repository.findByUserId("user-1", 10, null).join();
+
+        ArgumentCaptor<QueryRequest> requests = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDb, times(2)).query(requests.capture());
+        QueryRequest summary = requests.getAllValues().get(0);
+        assertEquals(ExpenseProjection.SUMMARY_EXPRESSION, summary.projectionExpression());
+        assertEquals("date", summary.expressionAttributeNames().get("#date"));
+        assertEquals("category", summary.expressionAttributeNames().get("#category"));
+        QueryRequest full = requests.getAllValues().get(1);
+        assertNull(full.projectionExpression());
+        assertFalse(full.hasExpressionAttributeNames());
+    }
+
+    @Test
+    void findByUserId_FullViewOfIncludeIndexFetchesItemsInIndexOrder() {
+        repository = new AsyncDynamoDBExpenseRepository(dynamoDb, "test-table", "INCLUDE");
+        when(dynamoDb.query(any(QueryRequest.class))).thenReturn(CompletableFuture.completedFuture(QueryResponse.builder()
+            .items(Map.of("id", AttributeValue.fromS("1")), Map.of("id", AttributeValue.fromS("2")))
+            .build()));
+        Expense second = expense("2").toBuilder().notes("Receipt attached").build();
+        when(dynamoDb.batchGetItem(any(BatchGetItemRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(BatchGetItemResponse.builder()
+                .responses(Map.of("test-table", List.of(SdkV2Items.toV2(ExpenseItemCodec.encode(second)))))
+                .unprocessedKeys(Map.of("test-table", KeysAndAttributes.builder()
+                    .keys(Map.of("id", AttributeValue.fromS("1"))).build()))
+                .build()))
+            .thenReturn(CompletableFuture.completedFuture(BatchGetItemResponse.builder()
+                .responses(Map.of("test-table", List.of(SdkV2Items.toV2(ExpenseItemCodec.encode(expense("1"))))))
+                .build()));
+
+        Page<Expense> page = repository.findByUserId("user-1", 10, null, ExpenseView.FULL).join();
+
+        assertEquals(List.of("1", "2"), page.getItems().stream().map(Expense::getId).collect(Collectors.toList()));
+        assertEquals("Receipt attached", page.getItems().get(1).getNotes());
+        ArgumentCaptor<QueryRequest> request = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDb).query(request.capture());
+        assertEquals(ExpenseProjection.KEYS_EXPRESSION, request.getValue().projectionExpression());
+        verify(dynamoDb, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void saveAll_RetriesUnprocessedItemsAndReportsTheRest() {
+        List<Expense> expenses = List.of(expense("1"), expense("2"), expense("3"));
+        when(dynamoDb.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            // "3" is never accepted; everything else goes through on its first attempt
+            List<WriteRequest> unprocessed = request.requestItems().get("test-table").stream()
+                .filter(write -> "3".equals(write.putRequest().item().get("id").s()))
+                .collect(Collectors.toList());
+            return CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                .unprocessedItems(Map.of("test-table", unprocessed))
+                .build());
+        });
+
+        List<Expense> saved = repository.saveAll(expenses).join();
+
+        assertEquals(List.of("1", "2"), saved.stream().map(Expense::getId).collect(Collectors.toList()));
+        verify(dynamoDb, times(AsyncDynamoDBExpenseRepository.MAX_BATCH_ATTEMPTS)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    void update_WritesOnceConditionedOnVersion() {
+        Expense expense = expense("1");
+        expense.setVersion(3L);
+        Expense stored = expense.toBuilder().version(4L).build();
+        when(dynamoDb.updateItem(any(UpdateItemRequest.class))).thenReturn(CompletableFuture.completedFuture(
+            UpdateItemResponse.builder().attributes(SdkV2Items.toV2(ExpenseItemCodec.encode(stored))).build()));
+
+        Expense updated = repository.update(expense).join();
+
+        assertEquals(4L, updated.getVersion());
+        ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDb).updateItem(request.capture());
+        verifyNoMoreInteractions(dynamoDb);
+        assertEquals(ReturnValue.ALL_NEW, request.getValue().returnValues());
+        assertEquals("attribute_exists(id) AND #version = :expectedVersion", request.getValue().conditionExpression());
+        assertEquals("3", request.getValue().expressionAttributeValues().get(":expectedVersion").n());
+        assertTrue(request.getValue().updateExpression().matches(".* REMOVE .*#notes.*"));
+    }
+
+    @Test
+    void update_TellsConflictFromMissingExpense() {
+        Expense expense = expense("1");
+        expense.setVersion(3L);
+        Map<String, AttributeValue> current = SdkV2Items.toV2(ExpenseItemCodec.encode(expense.toBuilder().version(5L).build()));
+        when(dynamoDb.updateItem(any(UpdateItemRequest.class)))
+            .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().item(current).build()))
+            .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().build()));
+
+        CompletionException conflict = assertThrows(CompletionException.class, () -> repository.update(expense).join());
+        CompletionException missing = assertThrows(CompletionException.class, () -> repository.update(expense).join());
+
+        assertEquals(5L, assertInstanceOf(ExpenseVersionConflictException.class, conflict.getCause()).getCurrentVersion());
+        assertInstanceOf(ExpenseNotFoundException.class, missing.getCause());
+    }
+
+    private static Expense expense(String id) {
+        return Expense.builder()
+            .id(id)
+            .userId("user-1")
+            .description("Lunch")
+            .amountMinor(1234L)
+            .category("Food")
+            .date(LocalDateTime.of(2024, 3, 1, 12, 0))
+            .status("PENDING")
+            .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAsyncExpenseRepositoryTest {
+
+    @Mock
+    private AsyncExpenseRepository asyncDelegate;
+
+    @Mock
+    private ExpenseRepository delegate;
+
+    private CachingAsyncExpenseRepository asyncRepository;
+    private CachingExpenseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ExpenseCache cache = new ExpenseCache(new SimpleMeterRegistry(), 10, Duration.ofSeconds(30));
+        asyncRepository = new CachingAsyncExpenseRepository(asyncDelegate, cache);
+        repository = new CachingExpenseRepository(delegate, cache);
+    }
+
+    @Test
+    void findById_ServesRepeatReadsFromCache() {
+        when(asyncDelegate.findById("1")).thenReturn(CompletableFuture.completedFuture(Optional.of(expense("1"))));
+
+        asyncRepository.findById("1").join();
+        Expense cached = asyncRepository.findById("1").join().orElseThrow();
+
+        assertEquals("PENDING", cached.getStatus());
+        verify(asyncDelegate, times(1)).findById("1");
+    }
+
+    @Test
+    void asyncWrites_InvalidateWhatTheBlockingPathCached() {
+        when(delegate.findById("1")).thenReturn(Optional.of(expense("1")));
+        when(asyncDelegate.update(any())).thenReturn(CompletableFuture.completedFuture(expense("1")));
+        when(asyncDelegate.patch(eq("1"), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(expense("1")));
+        when(asyncDelegate.deleteById("1")).thenReturn(CompletableFuture.completedFuture(null));
+
+        repository.findById("1");
+        asyncRepository.update(expense("1")).join();
+        repository.findById("1");
+        asyncRepository.patch("1", new ExpensePatch(Set.of("notes"), expense("1"), 0L), 1L).join();
+        repository.findById("1");
+        asyncRepository.deleteById("1").join();
+        repository.findById("1");
+
+        verify(delegate, times(4)).findById("1");
+    }
+
+    @Test
+    void failedWrite_StillInvalidates() {
+        when(delegate.findById("1")).thenReturn(Optional.of(expense("1")));
+        when(asyncDelegate.update(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException()));
+
+        repository.findById("1");
+        assertThrows(Exception.class, () -> asyncRepository.update(expense("1")).join());
+        repository.findById("1");
+
+        verify(delegate, times(2)).findById("1");
+    }
+
+    private static Expense expense(String id) {
+        return Expense.builder().id(id).userId("test-user-id").status("PENDING").build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingExpenseRepositoryTest {
+
+    @Mock
+    private ExpenseRepository delegate;
+
+    private MockClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingExpenseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        repository = new CachingExpenseRepository(delegate, meterRegistry, 2, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void findById_ServesRepeatReadsFromCache() {
+        when(delegate.findById("1")).thenReturn(Optional.of(expense("1")));
+
+        Expense first = repository.findById("1").orElseThrow();
+        first.setStatus("PROCESSED");
+        Expense second = repository.findById("1").orElseThrow();
+
+        assertEquals("PENDING", second.getStatus());
+        verify(delegate, times(1)).findById("1");
+        assertEquals(1, count("hit"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void findById_ReloadsAfterTtl() {
+        when(delegate.findById("1")).thenReturn(Optional.of(expense("1")));
+
+        repository.findById("1");
+        clock.add(Duration.ofSeconds(31));
+        repository.findById("1");
+
+        verify(delegate, times(2)).findById("1");
+        assertEquals(1, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    @Test
+    void findById_EvictsLeastRecentlyUsed() {
+        when(delegate.findById(anyString())).thenAnswer(invocation -> Optional.of(expense(invocation.getArgument(0))));
+
+        repository.findById("1");
+        repository.findById("2");
+        repository.findById("1");
+        repository.findById("3");
+        repository.findById("1");
+        repository.findById("2");
+
+        verify(delegate, times(1)).findById("1");
+        verify(delegate, times(2)).findById("2");
+        assertEquals(2, repository.size());
+        assertEquals(2, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    @Test
+    void saveAndDelete_InvalidateCachedExpense() {
+        when(delegate.findById("1")).thenReturn(Optional.of(expense("1")));
+
+        repository.findById("1");
+        repository.save(expense("1"));
+        repository.findById("1");
+        repository.deleteById("1");
+        repository.findById("1");
+
+        verify(delegate, times(3)).findById("1");
+        assertEquals(0, count("hit"));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).counter().count();
+    }
+
+    private static Expense expense(String id) {
+        return Expense.builder().id(id).userId("test-user-id").status("PENDING").build();
+    }
+}
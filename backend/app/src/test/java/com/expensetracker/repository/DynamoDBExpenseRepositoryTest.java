@@ -0,0 +1,70 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDBExpenseRepositoryTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Mock
+    private ObjectProvider<ThreadFactory> scanThreadFactory;
+
+    private DynamoDBExpenseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new DynamoDBExpenseRepository(dynamoDB, "test-table", 1, "ALL", scanThreadFactory);
+    }
+
+    @Test
+    void findByStatus_MergesShardsByDateWithUndatedExpensesLast() {
+        List<QueryResult> shards = new ArrayList<>();
+        shards.add(new QueryResult().withItems(item("c", "2024-03-01T12:00:00"), item("b", null)));
+        shards.add(new QueryResult().withItems(item("a", null), item("d", "2024-02-01T12:00:00")));
+        for (int i = 2; i < ExpenseIndexes.statusShards("PENDING").size(); i++) {
+            shards.add(new QueryResult().withItems(List.of()));
+        }
+        when(dynamoDB.query(any(QueryRequest.class)))
+            .thenReturn(shards.get(0), shards.subList(1, shards.size()).toArray(QueryResult[]::new));
+
+        List<Expense> expenses = repository.findByStatus("PENDING", ExpenseView.FULL);
+
+        assertEquals(List.of("d", "c", "a", "b"),
+            expenses.stream().map(Expense::getId).collect(Collectors.toList()));
+    }
+
+    private static Map<String, AttributeValue> item(String id, String date) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue(id));
+        item.put("userId", new AttributeValue("user-1"));
+        item.put("status", new AttributeValue("PENDING"));
+        if (date != null) {
+            item.put("date", new AttributeValue(date));
+        }
+        return item;
+    }
+}
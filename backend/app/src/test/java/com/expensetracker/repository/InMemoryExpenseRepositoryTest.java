@@ -0,0 +1,192 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryExpenseRepositoryTest {
+
+    private InMemoryExpenseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryExpenseRepository();
+    }
+
+    @Test
+    void findByUserId_PagesInDateOrder() {
+        repository.save(expense("c", "user-1", "2024-05-03T10:00"));
+        repository.save(expense("a", "user-1", "2024-05-01T10:00"));
+        repository.save(expense("b", "user-1", "2024-05-02T10:00"));
+        repository.save(expense("d", "user-2", "2024-05-01T10:00"));
+
+        Page<Expense> first = repository.findByUserId("user-1", 2, null);
+        Page<Expense> second = repository.findByUserId("user-1", 2, first.getNextCursor());
+
+        assertEquals(List.of("a", "b"), ids(first.getItems()));
+        assertTrue(first.hasMore());
+        assertEquals(List.of("c"), ids(second.getItems()));
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void findByUserIdAndDateRange_IncludesBothEnds() {
+        repository.save(expense("a", "user-1", "2024-05-01T00:00"));
+        repository.save(expense("b", "user-1", "2024-05-15T12:00"));
+        repository.save(expense("c", "user-1", "2024-05-31T23:59"));
+        repository.save(expense("d", "user-1", "2024-06-01T00:00"));
+
+        List<Expense> expenses = repository.findByUserIdAndDateRange("user-1",
+            LocalDateTime.parse("2024-05-01T00:00"), LocalDateTime.parse("2024-05-31T23:59"));
+
+        assertEquals(List.of("a", "b", "c"), ids(expenses));
+    }
+
+    @Test
+    void save_MovesExpenseBetweenIndexes() {
+        repository.save(expense("a", "user-1", "2024-05-01T10:00"));
+
+        Expense updated = repository.findById("a").orElseThrow();
+        updated.setStatus("PROCESSED");
+        updated.setCategory("Travel");
+        updated.setDate(LocalDateTime.parse("2024-05-20T10:00"));
+        repository.save(updated);
+
+        assertTrue(repository.findByStatus("PENDING").isEmpty());
+        assertTrue(repository.findByCategory("Food").isEmpty());
+        assertEquals(List.of("a"), ids(repository.findByStatus("PROCESSED")));
+        assertEquals(List.of("a"), ids(repository.findByCategory("Travel")));
+        assertEquals(List.of("a"), ids(repository.findByUserId("user-1")));
+    }
+
+    @Test
+    void deleteById_RemovesFromEveryIndex() {
+        repository.save(expense("a", "user-1", "2024-05-01T10:00"));
+
+        repository.deleteById("a");
+
+        assertTrue(repository.findById("a").isEmpty());
+        assertTrue(repository.findByUserId("user-1").isEmpty());
+        assertTrue(repository.findByCategory("Food").isEmpty());
+        assertTrue(repository.findByStatus("PENDING").isEmpty());
+    }
+
+    @Test
+    void update_IncrementsVersionAndRejectsStaleWrites() {
+        Expense created = expense("a", "user-1", "2024-05-01T10:00");
+        created.setVersion(1L);
+        created.setCreatedAtMillis(1000L);
+        repository.save(created);
+
+        Expense first = repository.findById("a").orElseThrow();
+        first.setCategory("Travel");
+        first.setCreatedAtMillis(0L);
+        Expense stored = repository.update(first);
+
+        Expense stale = repository.findById("a").orElseThrow();
+        stale.setVersion(1L);
+        ExpenseVersionConflictException conflict =
+            assertThrows(ExpenseVersionConflictException.class, () -> repository.update(stale));
+
+        assertEquals(2L, stored.getVersion());
+        assertEquals(1000L, stored.getCreatedAtMillis());
+        assertEquals(2L, conflict.getCurrentVersion());
+        assertEquals("Travel", repository.findById("a").orElseThrow().getCategory());
+        assertEquals(List.of("a"), ids(repository.findByCategory("Travel")));
+    }
+
+    @Test
+    void update_KeepsTheStoredStatus() {
+        repository.save(expense("a", "user-1", "2024-05-01T10:00"));
+
+        Expense replacement = expense("a", "user-1", "2024-05-01T10:00");
+        replacement.setStatus("PROCESSED");
+        Expense stored = repository.update(replacement);
+
+        assertEquals("PENDING", stored.getStatus());
+        assertTrue(repository.findByStatus("PROCESSED").isEmpty());
+    }
+
+    @Test
+    void update_ThrowsWhenExpenseMissing() {
+        assertThrows(ExpenseNotFoundException.class,
+            () -> repository.update(expense("missing", "user-1", "2024-05-01T10:00")));
+        assertTrue(repository.findById("missing").isEmpty());
+    }
+
+    @Test
+    void patch_ChangesOnlyPatchedFields() {
+        Expense created = expense("a", "user-1", "2024-05-01T10:00");
+        created.setNotes("Old notes");
+        created.setVersion(1L);
+        repository.save(created);
+        Expense values = Expense.builder().category("Travel").build();
+
+        Expense patched = repository.patch("a", new ExpensePatch(Set.of("category", "notes"), values, 1L), 2000L);
+
+        assertEquals("Travel", patched.getCategory());
+        assertNull(patched.getNotes());
+        assertEquals(1000L, patched.getAmountMinor());
+        assertEquals(2000L, patched.getUpdatedAtMillis());
+        assertEquals(2L, patched.getVersion());
+        assertEquals(List.of("a"), ids(repository.findByCategory("Travel")));
+        assertThrows(ExpenseVersionConflictException.class,
+            () -> repository.patch("a", new ExpensePatch(Set.of("notes"), values, 1L), 3000L));
+    }
+
+    @Test
+    void patch_ConvertsAmountAloneInTheStoredCurrency() throws Exception {
+        Expense created = expense("a", "user-1", "2024-05-01T10:00");
+        created.setCurrency("JPY");
+        repository.save(created);
+        ObjectMapper mapper = new ObjectMapper();
+
+        Expense patched = repository.patch("a",
+            ExpensePatch.from((ObjectNode) mapper.readTree("{\"amount\":1500}"), mapper), 2000L);
+
+        assertEquals(1500L, patched.getAmountMinor());
+        assertEquals("JPY", patched.getCurrency());
+        assertThrows(IllegalArgumentException.class, () -> repository.patch("a",
+            ExpensePatch.from((ObjectNode) mapper.readTree("{\"amount\":12.5}"), mapper), 3000L));
+    }
+
+    @Test
+    void updateStatus_MovesExpenseToStatusIndex() {
+        repository.save(expense("a", "user-1", "2024-05-01T10:00"));
+
+        assertTrue(repository.updateStatus("a", "PROCESSED", 2000L));
+        assertFalse(repository.updateStatus("missing", "PROCESSED", 2000L));
+
+        Expense processed = repository.findById("a").orElseThrow();
+        assertEquals(1L, processed.getVersion());
+        assertEquals(2000L, processed.getUpdatedAtMillis());
+        assertTrue(repository.findByStatus("PENDING").isEmpty());
+        assertEquals(List.of("a"), ids(repository.findByStatus("PROCESSED")));
+    }
+
+    private static Expense expense(String id, String userId, String date) {
+        return Expense.builder()
+            .id(id)
+            .userId(userId)
+            .amountMinor(1000L)
+            .category("Food")
+            .date(LocalDateTime.parse(date))
+            .status("PENDING")
+            .build();
+    }
+
+    private static List<String> ids(List<Expense> expenses) {
+        return expenses.stream().map(Expense::getId).collect(Collectors.toList());
+    }
+}
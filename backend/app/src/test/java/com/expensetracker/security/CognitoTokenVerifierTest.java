@@ -0,0 +1,149 @@
+package com.expensetracker.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CognitoTokenVerifierTest {
+
+    private static final String ISSUER = "https://cognito-idp.us-east-1.amazonaws.com/test-pool";
+
+    private static RSAKey signingKey;
+
+    private AtomicInteger keyLookups;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CognitoTokenVerifier verifier;
+
+    @BeforeAll
+    static void generateKey() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        keyLookups = new AtomicInteger();
+        JWKSource<SecurityContext> keys = new ImmutableJWKSet<>(new JWKSet(signingKey.toPublicJWK()));
+        JWKSource<SecurityContext> countingKeys = (selector, context) -> {
+            keyLookups.incrementAndGet();
+            return keys.get(selector, context);
+        };
+        clock = new MutableClock(Instant.now());
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new CognitoTokenVerifier(countingKeys, ISSUER, 2, meterRegistry, clock);
+    }
+
+    @Test
+    void verify_CachesVerifiedClaimsUntilExpiry() throws Exception {
+        String token = token("user-1", ISSUER, clock.instant().plusSeconds(300));
+
+        assertEquals("user-1", verifier.verify(token).getSubject());
+        assertEquals("user-1", verifier.verify(token).getSubject());
+        assertEquals(1, keyLookups.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+
+        // Past exp the cached entry is no longer trusted and the token goes through full verification again
+        clock.now = clock.instant().plusSeconds(301);
+        verifier.verify(token);
+        assertEquals(2, keyLookups.get());
+    }
+
+    @Test
+    void verify_RejectsOtherIssuerAndTamperedTokens() throws Exception {
+        String otherIssuer = token("user-1", "https://example.com", clock.instant().plusSeconds(300));
+        String valid = token("user-1", ISSUER, clock.instant().plusSeconds(300));
+        String tampered = valid.substring(0, valid.length() - 4) + "AAAA";
+
+        assertThrows(BadCredentialsException.class, () -> verifier.verify(otherIssuer));
+        assertThrows(BadCredentialsException.class, () -> verifier.verify(tampered));
+        assertThrows(BadCredentialsException.class, () -> verifier.verify("not-a-jwt"));
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void verify_EvictsLeastRecentlyUsedBeyondMaxSize() throws Exception {
+        Instant exp = clock.instant().plusSeconds(300);
+        String first = token("user-1", ISSUER, exp);
+        String second = token("user-2", ISSUER, exp);
+        String third = token("user-3", ISSUER, exp);
+
+        verifier.verify(first);
+        verifier.verify(second);
+        verifier.verify(first);
+        verifier.verify(third);
+        assertEquals(2, verifier.size());
+
+        int lookups = keyLookups.get();
+        verifier.verify(first);
+        assertEquals(lookups, keyLookups.get());
+        verifier.verify(second);
+        assertEquals(lookups + 1, keyLookups.get());
+    }
+
+    @Test
+    void keySource_ReadsFileJwks() throws Exception {
+        Path jwks = Files.createTempFile("jwks", ".json");
+        Files.writeString(jwks, new JWKSet(signingKey.toPublicJWK()).toString());
+        CognitoTokenVerifier fileVerifier = new CognitoTokenVerifier(
+            CognitoTokenVerifier.keySource("file:" + jwks, null), ISSUER, 10, meterRegistry, clock);
+
+        assertEquals("user-1", fileVerifier.verify(token("user-1", ISSUER, clock.instant().plusSeconds(300))).getSubject());
+    }
+
+    private static String token(String subject, String issuer, Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject(subject)
+            .issuer(issuer)
+            .expirationTime(Date.from(expiresAt))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public java.time.ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
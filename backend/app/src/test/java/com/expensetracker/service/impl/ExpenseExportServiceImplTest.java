@@ -0,0 +1,127 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.InMemoryExpenseRepository;
+import com.expensetracker.service.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseExportServiceImplTest {
+
+    private InMemoryExpenseRepository repository;
+    private ExpenseExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryExpenseRepository();
+        // Pages of two and two months at a time, so months and pages are read ahead of the writer
+        exportService = new ExpenseExportServiceImpl(repository, new ObjectMapper().registerModule(new JavaTimeModule()),
+            2, 2, Executors.defaultThreadFactory());
+    }
+
+    @Test
+    void exportExpenses_WritesRangeInDateOrderAcrossMonths() throws IOException {
+        for (String date : List.of("2024-03-31T23:59", "2024-01-05T09:00", "2024-02-29T12:00", "2024-01-01T00:00",
+                "2024-01-20T10:00", "2024-04-01T00:00", "2024-01-31T23:59:59.999", "2023-12-31T23:59")) {
+            repository.save(expense("e-" + date, "user-1", date));
+        }
+        repository.save(expense("other", "user-2", "2024-01-10T10:00"));
+
+        String csv = export(LocalDateTime.parse("2024-01-01T00:00"), LocalDateTime.parse("2024-03-31T23:59"),
+            ExportFormat.CSV);
+
+        List<String> lines = Arrays.asList(csv.split("\r\n"));
+        assertEquals(String.join(",", ExportFormat.CSV_COLUMNS), lines.get(0));
+        assertEquals(List.of("2024-01-01T00:00", "2024-01-05T09:00", "2024-01-20T10:00", "2024-01-31T23:59:59.999",
+                "2024-02-29T12:00", "2024-03-31T23:59"),
+            lines.subList(1, lines.size()).stream().map(line -> line.split(",")[1]).collect(Collectors.toList()));
+    }
+
+    @Test
+    void exportExpenses_QuotesCsvFields() throws IOException {
+        Expense expense = expense("a", "user-1", "2024-05-01T10:00");
+        expense.setDescription("Lunch, \"team\"");
+        repository.save(expense);
+
+        String csv = export(LocalDateTime.parse("2024-05-01T00:00"), LocalDateTime.parse("2024-05-31T00:00"),
+            ExportFormat.CSV);
+
+        assertTrue(csv.contains("\r\na,2024-05-01T10:00,\"Lunch, \"\"team\"\"\",12.50,USD,Food,PENDING,,,"), csv);
+    }
+
+    @Test
+    void exportExpenses_NeutralisesSpreadsheetFormulasAndWritesSparseRows() throws IOException {
+        Expense formula = expense("a", "user-1", "2024-05-01T10:00");
+        formula.setDescription("=HYPERLINK(\"http://example.com\")");
+        formula.setCategory("+Food");
+        formula.setNotes("@SUM(A1)");
+        formula.setReceiptUrl("-1");
+        repository.save(formula);
+        repository.save(Expense.builder().id("b").userId("user-1").date(LocalDateTime.parse("2024-05-02T10:00")).build());
+
+        String csv = export(LocalDateTime.parse("2024-05-01T00:00"), LocalDateTime.parse("2024-05-31T00:00"),
+            ExportFormat.CSV);
+
+        List<String> lines = Arrays.asList(csv.split("\r\n"));
+        assertTrue(lines.get(1).startsWith(
+            "a,2024-05-01T10:00,\"'=HYPERLINK(\"\"http://example.com\"\")\",12.50,USD,'+Food,PENDING,'-1,'@SUM(A1),"),
+            lines.get(1));
+        assertTrue(lines.get(2).startsWith("b,2024-05-02T10:00,,0.00,,,,,,"), lines.get(2));
+        assertTrue(lines.get(2).endsWith(",0"), lines.get(2));
+    }
+
+    @Test
+    void exportExpenses_WritesOneJsonDocumentPerLine() throws IOException {
+        repository.save(expense("a", "user-1", "2024-05-01T10:00"));
+        repository.save(expense("b", "user-1", "2024-06-01T10:00"));
+
+        String ndjson = export(LocalDateTime.parse("2024-05-01T00:00"), LocalDateTime.parse("2024-06-30T00:00"),
+            ExportFormat.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"a\""), lines[0]);
+        assertTrue(lines[1].startsWith("{\"id\":\"b\""), lines[1]);
+    }
+
+    @Test
+    void exportExpenses_RejectsReversedRange() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportExpenses("user-1",
+            LocalDateTime.parse("2024-05-01T00:00"), LocalDateTime.parse("2024-04-01T00:00"), ExportFormat.CSV, output));
+        assertEquals(0, output.size());
+    }
+
+    private String export(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportExpenses("user-1", startDate, endDate, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Expense expense(String id, String userId, String date) {
+        return Expense.builder()
+            .id(id)
+            .userId(userId)
+            .description("Lunch")
+            .amountMinor(1250L)
+            .currency("USD")
+            .category("Food")
+            .status("PENDING")
+            .date(LocalDateTime.parse(date))
+            .build();
+    }
+}
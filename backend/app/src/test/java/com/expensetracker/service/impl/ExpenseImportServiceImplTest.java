@@ -0,0 +1,149 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ImportProgress;
+import com.expensetracker.model.ImportRowError;
+import com.expensetracker.repository.InMemoryExpenseRepository;
+import com.expensetracker.service.ExpenseImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseImportServiceImplTest {
+
+    private static final String HEADER = "date,description,amount,currency,category,notes\n";
+
+    private InMemoryExpenseRepository repository;
+    private ExpenseImportServiceImpl importService;
+    private final List<ImportRowError> rejected = new ArrayList<>();
+    private final List<Long> checkpoints = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryExpenseRepository();
+        // Outbox on, so nothing is sent to SQS; chunks of two so checkpoints advance within small files
+        importService = new ExpenseImportServiceImpl(repository, null, new ObjectMapper(), "queue", true, 2, 1000, 1000, 1000);
+    }
+
+    @Test
+    void importExpenses_WritesValidRowsAndReportsInvalidOnes() throws IOException {
+        ImportProgress progress = importCsv(HEADER
+            + "2024-01-05,Lunch,12.50,USD,Food,\n"
+            + "2024-01-06T18:30,\"Dinner, with \"\"team\"\"\",40,EUR,Food,\"two\nlines\"\n"
+            + "not-a-date,Taxi,9.00,USD,Travel,\n"
+            + "2024-01-07,Taxi,9.001,USD,Travel,\n"
+            + "2024-01-08,,3.00,USD,Food,\n"
+            + "2024-01-09,Coffee,3.00\n", 0);
+
+        assertTrue(progress.isComplete());
+        assertNull(progress.getError());
+        assertEquals(2, progress.getImported());
+        assertEquals(4, progress.getFailed());
+        assertEquals(6, progress.getCheckpoint());
+        assertEquals(List.of(3L, 4L, 5L, 6L), rejected.stream().map(ImportRowError::getRow).collect(Collectors.toList()));
+        assertEquals("description is required", rejected.get(2).getError());
+
+        List<Expense> expenses = repository.findByUserId("user-1");
+        assertEquals(2, expenses.size());
+        Expense dinner = expenses.get(1);
+        assertEquals("Dinner, with \"team\"", dinner.getDescription());
+        assertEquals(LocalDateTime.parse("2024-01-06T18:30"), dinner.getDate());
+        assertEquals(4000L, dinner.getAmountMinor());
+        assertEquals("two\nlines", dinner.getNotes());
+        assertEquals("PENDING", dinner.getStatus());
+    }
+
+    @Test
+    void importExpenses_ResumedFromCheckpointReplacesRatherThanDuplicates() throws IOException {
+        String csv = HEADER
+            + "2024-01-01,A,1.00,USD,Food,\n"
+            + "2024-01-02,B,1.00,USD,Food,\n"
+            + "2024-01-03,C,1.00,USD,Food,\n"
+            + "2024-01-04,D,1.00,USD,Food,\n"
+            + "2024-01-05,E,1.00,USD,Food,\n";
+
+        ImportProgress first = importCsv(csv, 0);
+        assertEquals(List.of(2L, 4L, 5L), checkpoints);
+        assertEquals(5, first.getImported());
+
+        checkpoints.clear();
+        // Resumed as if the first run had stopped after its first checkpoint
+        ImportProgress resumed = importCsv(csv, 2);
+
+        assertEquals(3, resumed.getImported());
+        assertEquals(List.of(4L, 5L), checkpoints);
+        assertEquals(List.of("A", "B", "C", "D", "E"), repository.findByUserId("user-1").stream()
+            .map(Expense::getDescription).collect(Collectors.toList()));
+    }
+
+    @Test
+    void importExpenses_ResumedImportLeavesRowsWrittenPastCheckpointAlone() throws IOException {
+        String written = HEADER
+            + "2024-01-01,A,1.00,USD,Food,\n"
+            + "2024-01-02,B,1.00,USD,Food,\n"
+            + "2024-01-03,C,1.00,USD,Food,\n"
+            + "2024-01-04,D,1.00,USD,Food,\n";
+        importCsv(written, 0);
+        Expense processed = repository.findByUserId("user-1").get(2);
+        repository.updateStatus(processed.getId(), "PROCESSED", System.currentTimeMillis());
+        Expense before = repository.findById(processed.getId()).orElseThrow();
+
+        // The first run wrote C and D, but stopped before recording the checkpoint after them
+        checkpoints.clear();
+        ImportProgress resumed = importCsv(written + "2024-01-05,E,1.00,USD,Food,\n", 2);
+
+        assertTrue(resumed.isComplete());
+        assertEquals(3, resumed.getImported());
+        assertEquals(List.of(4L, 5L), checkpoints);
+        Expense after = repository.findById(processed.getId()).orElseThrow();
+        assertEquals("PROCESSED", after.getStatus());
+        assertEquals(before.getVersion(), after.getVersion());
+        assertEquals(before.getCreatedAtMillis(), after.getCreatedAtMillis());
+        assertEquals(List.of("A", "B", "C", "D", "E"), repository.findByUserId("user-1").stream()
+            .map(Expense::getDescription).collect(Collectors.toList()));
+    }
+
+    @Test
+    void importExpenses_StopsAtLastCheckpointOnMalformedInput() throws IOException {
+        ImportProgress progress = importCsv(HEADER
+            + "2024-01-01,A,1.00,USD,Food,\n"
+            + "2024-01-02,B,1.00,USD,Food,\n"
+            + "2024-01-03,C,1.00,USD,Food,\"unterminated\n", 0);
+
+        assertFalse(progress.isComplete());
+        assertEquals(2, progress.getCheckpoint());
+        assertEquals("CSV input ends inside a quoted field", progress.getError());
+        assertEquals(2, repository.findByUserId("user-1").size());
+    }
+
+    @Test
+    void importExpenses_RejectsHeaderWithoutRequiredColumn() {
+        assertThrows(IllegalArgumentException.class, () -> importCsv("date,description,amount\n", 0));
+        assertThrows(IllegalArgumentException.class, () -> importCsv("", 0));
+        assertTrue(checkpoints.isEmpty());
+    }
+
+    private ImportProgress importCsv(String csv, long resumeFrom) throws IOException {
+        return importService.importExpenses("user-1", "import-1", resumeFrom, new StringReader(csv),
+            new ExpenseImportService.ImportListener() {
+                @Override
+                public void rowRejected(ImportRowError error) {
+                    rejected.add(error);
+                }
+
+                @Override
+                public void progress(ImportProgress progress) {
+                    checkpoints.add(progress.getCheckpoint());
+                }
+            });
+    }
+}
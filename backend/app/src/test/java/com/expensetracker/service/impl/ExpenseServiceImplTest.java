@@ -0,0 +1,57 @@
+package com.expensetracker.service.impl;
+
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.repository.InMemoryExpenseAggregateRepository;
+import com.expensetracker.repository.InMemoryExpenseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private InMemoryExpenseRepository repository;
+    private ExpenseServiceImpl expenseService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryExpenseRepository();
+        // With the outbox enabled, creates only write the items and SQS is never called
+        expenseService = new ExpenseServiceImpl(repository, new InMemoryExpenseAggregateRepository(repository), null,
+            objectMapper, "test-queue", true);
+    }
+
+    @Test
+    void createExpenses_ReportsInvalidEntriesAtTheirIndex() {
+        List<BatchItemResult> results = expenseService.createExpenses(List.of(
+            entry("12.50", "USD"), entry("9.99", "XYZ"), entry("12.345", "EUR"), entry("1500", "JPY")));
+
+        assertEquals(4, results.size());
+        assertEquals(BatchItemResult.CREATED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.FAILED, results.get(1).getStatus());
+        assertEquals("Unknown currency: XYZ", results.get(1).getError());
+        assertNull(results.get(1).getId());
+        assertEquals(BatchItemResult.FAILED, results.get(2).getStatus());
+        assertEquals(2, results.get(2).getIndex());
+        assertEquals(BatchItemResult.CREATED, results.get(3).getStatus());
+        assertTrue(repository.findById(results.get(0).getId()).isPresent());
+        assertTrue(repository.findById(results.get(3).getId()).isPresent());
+    }
+
+    private ObjectNode entry(String amount, String currency) {
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put("userId", "user-1");
+        entry.put("description", "Synced expense");
+        entry.put("amount", amount);
+        entry.put("currency", currency);
+        entry.put("category", "Food");
+        return entry;
+    }
+}
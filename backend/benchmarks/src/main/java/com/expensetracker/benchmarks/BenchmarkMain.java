@@ -0,0 +1,26 @@
+package com.expensetracker.benchmarks;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Takes the usual JMH options and adds the GC profiler unless a
+ * profiler is given, so every run reports allocation rates next to the timings:
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                      # everything
+ * java -jar benchmarks/target/benchmarks.jar ExpenseItemCodec -rf json
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!Arrays.asList(args).contains("-prof")) {
+            args = Stream.concat(Stream.of("-prof", "gc"), Arrays.stream(args)).toArray(String[]::new);
+        }
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,87 @@
+package com.expensetracker.benchmarks;
+
+import com.amazonaws.services.dynamodbv2.AbstractAmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.sqs.AbstractAmazonSQS;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import com.expensetracker.lambda.CreateExpenseHandler;
+import com.expensetracker.lambda.ObjectMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CreateExpenseHandler#handleRequest} from API Gateway event to response, with DynamoDB and SQS
+ * replaced by in-memory stubs so only our own code is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateExpenseHandlerBenchmark {
+
+    // With the outbox the handler skips serializing the item for SQS
+    @Param({"false", "true"})
+    public boolean outboxEnabled;
+
+    private StubDynamoDB dynamoDB;
+    private CreateExpenseHandler handler;
+    private APIGatewayProxyRequestEvent event;
+    private Context context;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = ObjectMappers.create();
+        dynamoDB = new StubDynamoDB();
+        handler = new CreateExpenseHandler(dynamoDB, new StubSqs(), objectMapper, "expenses",
+            "https://sqs.us-east-1.amazonaws.com/000000000000/expense-queue.fifo", outboxEnabled);
+        context = new StubContext();
+
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", Fixtures.USER_ID);
+        event = new APIGatewayProxyRequestEvent();
+        event.setBody(objectMapper.writeValueAsString(Fixtures.request()));
+        event.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        event.getRequestContext().setAuthorizer(Map.of("claims", claims));
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        dynamoDB.items.clear();
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent handleRequest() {
+        return handler.handleRequest(event, context);
+    }
+
+    static final class StubDynamoDB extends AbstractAmazonDynamoDB {
+        final Map<String, Map<String, AttributeValue>> items = new HashMap<>();
+
+        @Override
+        public PutItemResult putItem(PutItemRequest request) {
+            items.put(request.getItem().get("id").getS(), request.getItem());
+            return new PutItemResult();
+        }
+    }
+
+    static final class StubSqs extends AbstractAmazonSQS {
+        private static final SendMessageResult RESULT = new SendMessageResult().withMessageId("benchmark");
+
+        @Override
+        public SendMessageResult sendMessage(SendMessageRequest request) {
+            return RESULT;
+        }
+    }
+}
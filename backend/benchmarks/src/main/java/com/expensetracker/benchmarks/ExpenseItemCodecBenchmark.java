@@ -0,0 +1,59 @@
+package com.expensetracker.benchmarks;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.ExpenseItemCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item mapping as done by {@code DynamoDBExpenseRepository} and the Lambda handlers, per expense.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseItemCodecBenchmark {
+    private Expense expense;
+    private Map<String, AttributeValue> item;
+    private Map<String, AttributeValue> legacyItem;
+
+    @Setup
+    public void setUp() {
+        expense = Fixtures.expense(1);
+        item = ExpenseItemCodec.encode(expense);
+
+        // Written before amounts and timestamps were numeric
+        legacyItem = new HashMap<>(item);
+        legacyItem.remove(ExpenseItemCodec.AMOUNT_MINOR_ATTRIBUTE);
+        legacyItem.put(ExpenseItemCodec.LEGACY_AMOUNT_ATTRIBUTE, new AttributeValue("42.51"));
+        legacyItem.put("createdAt", new AttributeValue("2024-05-14T09:30:00"));
+        legacyItem.put("updatedAt", new AttributeValue("2024-05-14T09:30:00.500"));
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> encode() {
+        return ExpenseItemCodec.encode(expense);
+    }
+
+    @Benchmark
+    public Expense decode() {
+        return ExpenseItemCodec.decode(item);
+    }
+
+    @Benchmark
+    public ExpenseResponse decodeResponse() {
+        return ExpenseItemCodec.decodeResponse(item);
+    }
+
+    @Benchmark
+    public Expense decodeLegacy() {
+        return ExpenseItemCodec.decode(legacyItem);
+    }
+}
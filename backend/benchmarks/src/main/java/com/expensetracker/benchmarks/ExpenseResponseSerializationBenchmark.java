@@ -0,0 +1,54 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.lambda.ObjectMappers;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a page of expenses the way the list endpoints do, from a handful up to a full export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<ExpenseResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = ObjectMappers.create();
+        responses = Fixtures.responses(size);
+    }
+
+    // What GetExpensesHandler does: the whole body as one string
+    @Benchmark
+    public String writeValueAsString() throws IOException {
+        return objectMapper.writeValueAsString(responses);
+    }
+
+    // What StreamingGetExpensesHandler does: one element at a time into the response stream
+    @Benchmark
+    public void writeElementsToStream() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (ExpenseResponse response : responses) {
+                generator.writeObject(response);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
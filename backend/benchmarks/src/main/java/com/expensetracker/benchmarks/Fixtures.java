@@ -0,0 +1,71 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.lambda.model.ExpenseRequest;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representative expenses for the benchmarks: every attribute set, sizes close to what users enter.
+ */
+final class Fixtures {
+    static final String USER_ID = "0b6a3f2e-6f1c-4a9e-9d35-2c1e8f4b7a10";
+    private static final LocalDateTime DATE = LocalDateTime.parse("2024-05-14T09:30:00");
+    private static final long CREATED_AT = 1715679000000L;
+
+    private Fixtures() {
+    }
+
+    static Expense expense(int i) {
+        return Expense.builder()
+            .id("3f1d9c52-7b8e-4d0a-a6c1-" + String.format("%012d", i))
+            .userId(USER_ID)
+            .description("Team lunch at the conference venue")
+            .amountMinor(4250L + i)
+            .currency("USD")
+            .category("Food")
+            .date(DATE.plusHours(i))
+            .status("PROCESSED")
+            .createdAtMillis(CREATED_AT + i)
+            .updatedAtMillis(CREATED_AT + i + 500L)
+            .receiptUrl("https://receipts.example.com/" + USER_ID + "/" + i + ".jpg")
+            .notes("Split with two colleagues")
+            .build();
+    }
+
+    static List<ExpenseResponse> responses(int size) {
+        List<ExpenseResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Expense expense = expense(i);
+            responses.add(ExpenseResponse.builder()
+                .id(expense.getId())
+                .userId(expense.getUserId())
+                .description(expense.getDescription())
+                .amountMinor(expense.getAmountMinor())
+                .currency(expense.getCurrency())
+                .category(expense.getCategory())
+                .date(expense.getDate())
+                .status(expense.getStatus())
+                .createdAtMillis(expense.getCreatedAtMillis())
+                .updatedAtMillis(expense.getUpdatedAtMillis())
+                .receiptUrl(expense.getReceiptUrl())
+                .notes(expense.getNotes())
+                .build());
+        }
+        return responses;
+    }
+
+    static ExpenseRequest request() {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Team lunch at the conference venue");
+        request.setAmount(new BigDecimal("42.50"));
+        request.setCategory("Food");
+        request.setDate(DATE);
+        request.setNotes("Split with two colleagues");
+        return request;
+    }
+}
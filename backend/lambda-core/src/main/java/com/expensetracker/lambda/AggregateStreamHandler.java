@@ -0,0 +1,155 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.expensetracker.model.MinorUnits;
+import com.expensetracker.repository.ExpenseAggregates;
+import com.expensetracker.repository.ExpenseItemCodec;
+import org.crac.Resource;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Maintains the monthly totals from the expenses table's stream; nothing else writes them. An expense is counted
+ * while it is PROCESSED and has a date and category, so for every insert, update or delete this handler takes
+ * the old image out of its month, currency and category if it was counted, and adds the new image to its own if
+ * it is. The totals follow whatever was written to the expense, in the order it was written, so concurrent edits
+ * and redelivered {@link ProcessExpenseHandler} messages cannot skew them. A write that changes none of those
+ * nor the amount or status adjusts nothing.
+ *
+ * <p>Each record's adjustments are written in one transaction whose client request token is the record's event
+ * id, so a retried invocation does not apply a record twice. On a failure the sequence number of the failed
+ * record is reported, and Lambda resumes the shard from that record.
+ */
+public class AggregateStreamHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse>, Resource {
+    private final AmazonDynamoDB dynamoDB;
+    private final String aggregatesTableName;
+
+    public AggregateStreamHandler() {
+        this(AmazonDynamoDBClientBuilder.standard().build(), System.getenv("AGGREGATES_TABLE"));
+        Priming.register(this);
+    }
+
+    public AggregateStreamHandler(AmazonDynamoDB dynamoDB, String aggregatesTableName) {
+        this.dynamoDB = dynamoDB;
+        this.aggregatesTableName = aggregatesTableName;
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeCodec();
+        Priming.touchTable(dynamoDB, aggregatesTableName);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchTable(dynamoDB, aggregatesTableName);
+    }
+
+    @Override
+    public StreamsEventResponse handleRequest(DynamodbEvent event, Context context) {
+        List<DynamodbEvent.DynamodbStreamRecord> records = Optional.ofNullable(event.getRecords())
+            .orElse(Collections.emptyList());
+        for (DynamodbEvent.DynamodbStreamRecord record : records) {
+            try {
+                adjust(record);
+            } catch (RuntimeException e) {
+                context.getLogger().log("Failed to adjust totals for " + record.getEventID() + ", resuming from "
+                    + record.getDynamodb().getSequenceNumber() + ": " + e.getMessage());
+                return new StreamsEventResponse(List.of(
+                    new StreamsEventResponse.BatchItemFailure(record.getDynamodb().getSequenceNumber())));
+            }
+        }
+        return new StreamsEventResponse(Collections.emptyList());
+    }
+
+    private void adjust(DynamodbEvent.DynamodbStreamRecord record) {
+        Map<String, AttributeValue> oldImage = item(record.getDynamodb().getOldImage());
+        Map<String, AttributeValue> newImage = item(record.getDynamodb().getNewImage());
+
+        Map<Key, Adjustment> adjustments = new LinkedHashMap<>();
+        if (counted(oldImage)) {
+            add(adjustments, oldImage, -1);
+        }
+        if (counted(newImage)) {
+            add(adjustments, newImage, 1);
+        }
+        adjustments.values().removeIf(Adjustment::isZero);
+        if (adjustments.isEmpty()) {
+            return;
+        }
+
+        List<TransactWriteItem> updates = new ArrayList<>(adjustments.size());
+        adjustments.forEach((key, adjustment) -> updates.add(new TransactWriteItem().withUpdate(new Update()
+            .withTableName(aggregatesTableName)
+            .withKey(Map.of(
+                "userId", new AttributeValue(key.userId()),
+                ExpenseAggregates.PERIOD_ATTRIBUTE, new AttributeValue(key.period())))
+            .withUpdateExpression("ADD #total :amount, #count :count SET #currency = :currency")
+            .withExpressionAttributeNames(Map.of(
+                "#total", ExpenseAggregates.TOTAL_ATTRIBUTE,
+                "#count", ExpenseAggregates.COUNT_ATTRIBUTE,
+                "#currency", ExpenseAggregates.CURRENCY_ATTRIBUTE))
+            .withExpressionAttributeValues(Map.of(
+                ":amount", new AttributeValue().withN(adjustment.amount.toPlainString()),
+                ":count", ExpenseItemCodec.number(adjustment.count),
+                ":currency", new AttributeValue(key.currency()))))));
+        dynamoDB.transactWriteItems(new TransactWriteItemsRequest()
+            .withTransactItems(updates)
+            .withClientRequestToken(record.getEventID()));
+    }
+
+    private static boolean counted(Map<String, AttributeValue> image) {
+        return image != null
+            && "PROCESSED".equals(ExpenseItemCodec.string(image, "status"))
+            && ExpenseAggregates.period(image) != null;
+    }
+
+    private static void add(Map<Key, Adjustment> adjustments, Map<String, AttributeValue> image, int sign) {
+        Key key = new Key(ExpenseItemCodec.string(image, "userId"),
+            ExpenseAggregates.currency(ExpenseItemCodec.currency(image)), ExpenseAggregates.period(image));
+        BigDecimal amount = MinorUnits.toDecimal(ExpenseItemCodec.amountMinor(image), ExpenseItemCodec.currency(image));
+        Adjustment adjustment = adjustments.computeIfAbsent(key, k -> new Adjustment());
+        adjustment.amount = adjustment.amount.add(sign < 0 ? amount.negate() : amount);
+        adjustment.count += sign;
+    }
+
+    /**
+     * Copies the string and number attributes of a stream image, which are all the totals need.
+     */
+    private static Map<String, AttributeValue> item(
+            Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> image) {
+        if (image == null) {
+            return null;
+        }
+        Map<String, AttributeValue> item = new HashMap<>();
+        image.forEach((name, value) -> {
+            if (value.getS() != null) {
+                item.put(name, new AttributeValue(value.getS()));
+            } else if (value.getN() != null) {
+                item.put(name, new AttributeValue().withN(value.getN()));
+            }
+        });
+        return item;
+    }
+
+    private record Key(String userId, String currency, String period) {
+    }
+
+    private static final class Adjustment {
+        BigDecimal amount = BigDecimal.ZERO;
+        long count;
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import com.expensetracker.lambda.model.ExpenseRequest;
+import com.expensetracker.messaging.SqsBatchSender;
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.repository.BatchWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Resource;
+import java.util.*;
+
+/**
+ * Bulk variant of {@link CreateExpenseHandler} for clients syncing many offline expenses at once.
+ * Items are written with {@code BatchWriteItem} and enqueued with {@code SendMessageBatch}, and the
+ * response reports the outcome of every entry at its request index.
+ */
+public class BatchCreateExpenseHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent>, Resource {
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final TypeReference<List<ExpenseRequest>> REQUEST_LIST = new TypeReference<>() {};
+
+    private final AmazonDynamoDB dynamoDB;
+    private final AmazonSQS sqs;
+    private final ObjectMapper objectMapper;
+    private final String tableName;
+    private final String queueUrl;
+    private final boolean outboxEnabled;
+
+    public BatchCreateExpenseHandler() {
+        this(AmazonDynamoDBClientBuilder.standard().build(), AmazonSQSClientBuilder.standard().build(),
+            ObjectMappers.create(), System.getenv("DYNAMODB_TABLE"), System.getenv("SQS_QUEUE_URL"),
+            Boolean.parseBoolean(System.getenv("OUTBOX_ENABLED")));
+        Priming.register(this);
+    }
+
+    public BatchCreateExpenseHandler(AmazonDynamoDB dynamoDB, AmazonSQS sqs, ObjectMapper objectMapper,
+                                     String tableName, String queueUrl) {
+        this(dynamoDB, sqs, objectMapper, tableName, queueUrl, false);
+    }
+
+    public BatchCreateExpenseHandler(AmazonDynamoDB dynamoDB, AmazonSQS sqs, ObjectMapper objectMapper,
+                                     String tableName, String queueUrl, boolean outboxEnabled) {
+        this.dynamoDB = dynamoDB;
+        this.sqs = sqs;
+        this.objectMapper = objectMapper;
+        this.tableName = tableName;
+        this.queueUrl = queueUrl;
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeJson(objectMapper);
+        Priming.primeCodec();
+        Priming.touchTable(dynamoDB, tableName);
+        Priming.touchQueue(sqs, queueUrl);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchTable(dynamoDB, tableName);
+        Priming.touchQueue(sqs, queueUrl);
+    }
+
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            List<ExpenseRequest> requests = objectMapper.readValue(input.getBody(), REQUEST_LIST);
+            if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+                return new APIGatewayProxyResponseEvent()
+                    .withStatusCode(400)
+                    .withBody("{\"error\": \"Batch must contain between 1 and " + MAX_BATCH_SIZE + " expenses\"}")
+                    .withHeaders(Map.of("Content-Type", "application/json"));
+            }
+            String userId = RequestClaims.userId(input);
+            long now = System.currentTimeMillis();
+
+            // An invalid entry, such as one in an unknown currency, fails on its own instead of failing the batch
+            List<String> ids = new ArrayList<>(requests.size());
+            List<Map<String, AttributeValue>> items = new ArrayList<>(requests.size());
+            Map<Integer, String> rejected = new HashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                String id = UUID.randomUUID().toString();
+                try {
+                    items.add(CreateExpenseHandler.toItem(id, userId, requests.get(i), now));
+                    ids.add(id);
+                } catch (IllegalArgumentException e) {
+                    ids.add(null);
+                    rejected.put(i, e.getMessage());
+                }
+            }
+
+            // Save to DynamoDB, leaving out whatever stayed unprocessed after retries
+            Set<String> unsavedIds = new HashSet<>();
+            BatchWriter.putAll(dynamoDB, tableName, items)
+                .forEach(item -> unsavedIds.add(item.get("id").getS()));
+
+            // Send the saved expenses to SQS for processing, unless the outbox relay picks them up from the stream
+            Set<String> unsentIds = Collections.emptySet();
+            if (!outboxEnabled) {
+                Map<String, String> messages = new LinkedHashMap<>();
+                for (Map<String, AttributeValue> item : items) {
+                    String id = item.get("id").getS();
+                    if (!unsavedIds.contains(id)) {
+                        messages.put(id, objectMapper.writeValueAsString(item));
+                    }
+                }
+                try {
+                    unsentIds = SqsBatchSender.sendAll(sqs, queueUrl, messages);
+                } catch (AmazonServiceException e) {
+                    // The expenses are saved, so report them as unsent rather than failing the batch
+                    context.getLogger().log("Failed to send expenses to processing queue: " + e.getMessage());
+                    unsentIds = messages.keySet();
+                }
+            }
+
+            Set<String> savedIds = new HashSet<>();
+            items.forEach(item -> savedIds.add(item.get("id").getS()));
+            savedIds.removeAll(unsavedIds);
+            List<BatchItemResult> results = BatchItemResult.of(ids, savedIds, unsentIds, rejected);
+
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(200)
+                .withBody(objectMapper.writeValueAsString(results))
+                .withHeaders(Map.of("Content-Type", "application/json"));
+
+        } catch (Exception e) {
+            context.getLogger().log("Error: " + e.getMessage());
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(500)
+                .withBody("{\"error\": \"" + e.getMessage() + "\"}")
+                .withHeaders(Map.of("Content-Type", "application/json"));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.expensetracker.lambda.model.ExpenseRequest;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.MinorUnits;
+import com.expensetracker.repository.ExpenseItemCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Resource;
+import java.util.*;
+
+public class CreateExpenseHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent>, Resource {
+    private final AmazonDynamoDB dynamoDB;
+    private final AmazonSQS sqs;
+    private final ObjectMapper objectMapper;
+    private final String tableName;
+    private final String queueUrl;
+    private final boolean outboxEnabled;
+
+    public CreateExpenseHandler() {
+        this(AmazonDynamoDBClientBuilder.standard().build(), AmazonSQSClientBuilder.standard().build(),
+            ObjectMappers.create(), System.getenv("DYNAMODB_TABLE"), System.getenv("SQS_QUEUE_URL"),
+            Boolean.parseBoolean(System.getenv("OUTBOX_ENABLED")));
+        Priming.register(this);
+    }
+
+    public CreateExpenseHandler(AmazonDynamoDB dynamoDB, AmazonSQS sqs, ObjectMapper objectMapper,
+                                String tableName, String queueUrl) {
+        this(dynamoDB, sqs, objectMapper, tableName, queueUrl, false);
+    }
+
+    /**
+     * @param outboxEnabled when true only the item is written; {@link OutboxRelayHandler} enqueues it from
+     *                      the table stream
+     */
+    public CreateExpenseHandler(AmazonDynamoDB dynamoDB, AmazonSQS sqs, ObjectMapper objectMapper,
+                                String tableName, String queueUrl, boolean outboxEnabled) {
+        this.dynamoDB = dynamoDB;
+        this.sqs = sqs;
+        this.objectMapper = objectMapper;
+        this.tableName = tableName;
+        this.queueUrl = queueUrl;
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeJson(objectMapper);
+        Priming.primeCodec();
+        Priming.touchTable(dynamoDB, tableName);
+        Priming.touchQueue(sqs, queueUrl);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchTable(dynamoDB, tableName);
+        Priming.touchQueue(sqs, queueUrl);
+    }
+
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            // Parse request body
+            ExpenseRequest request = objectMapper.readValue(input.getBody(), ExpenseRequest.class);
+            String userId = RequestClaims.userId(input);
+
+            // Create expense
+            String id = UUID.randomUUID().toString();
+            long now = System.currentTimeMillis();
+
+            Map<String, AttributeValue> item = toItem(id, userId, request, now);
+
+            // Save to DynamoDB
+            PutItemRequest putItemRequest = new PutItemRequest()
+                .withTableName(tableName)
+                .withItem(item);
+            dynamoDB.putItem(putItemRequest);
+
+            // Send to SQS for processing, unless the outbox relay picks it up from the stream
+            if (!outboxEnabled) {
+                SendMessageRequest sendMessageRequest = new SendMessageRequest()
+                    .withQueueUrl(queueUrl)
+                    .withMessageBody(objectMapper.writeValueAsString(item))
+                    .withMessageGroupId(id);
+                sqs.sendMessage(sendMessageRequest);
+            }
+
+            // Create response
+            ExpenseResponse response = ExpenseResponse.builder()
+                .id(id)
+                .userId(userId)
+                .description(request.getDescription())
+                .amountMinor(ExpenseItemCodec.amountMinor(item))
+                .currency(request.getCurrency())
+                .category(request.getCategory())
+                .date(request.getDate())
+                .status("PENDING")
+                .createdAtMillis(now)
+                .updatedAtMillis(now)
+                .receiptUrl(request.getReceiptUrl())
+                .notes(request.getNotes())
+                .version(1L)
+                .build();
+
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(200)
+                .withBody(objectMapper.writeValueAsString(response))
+                .withHeaders(Map.of("Content-Type", "application/json"));
+
+        } catch (Exception e) {
+            context.getLogger().log("Error: " + e.getMessage());
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(500)
+                .withBody("{\"error\": \"" + e.getMessage() + "\"}")
+                .withHeaders(Map.of("Content-Type", "application/json"));
+        }
+    }
+
+    static Map<String, AttributeValue> toItem(String id, String userId, ExpenseRequest request, long now) {
+        return ExpenseItemCodec.encode(Expense.builder()
+            .id(id)
+            .userId(userId)
+            .description(request.getDescription())
+            .amountMinor(request.getAmount() != null ? MinorUnits.toMinor(request.getAmount(), request.getCurrency()) : 0L)
+            .currency(request.getCurrency())
+            .category(request.getCategory())
+            .date(request.getDate())
+            .status("PENDING")
+            .createdAtMillis(now)
+            .updatedAtMillis(now)
+            .receiptUrl(request.getReceiptUrl())
+            .notes(request.getNotes())
+            .version(1L)
+            .build());
+    }
+}
@@ -0,0 +1,166 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import com.expensetracker.repository.BatchReader;
+import com.expensetracker.repository.ExpenseIndexes;
+import com.expensetracker.repository.ExpenseItemCodec;
+import com.expensetracker.repository.ExpenseProjection;
+import com.expensetracker.repository.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Resource;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class GetExpensesHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent>, Resource {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final AmazonDynamoDB dynamoDB;
+    private final ObjectMapper objectMapper;
+    private final String tableName;
+    private final boolean indexesHoldFullItems;
+
+    public GetExpensesHandler() {
+        this(AmazonDynamoDBClientBuilder.standard().build(), ObjectMappers.create(), System.getenv("DYNAMODB_TABLE"),
+            ExpenseProjection.indexesHoldFullItems(System.getenv(ExpenseProjection.INDEX_PROJECTION_ENV)));
+        Priming.register(this);
+    }
+
+    public GetExpensesHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName) {
+        this(dynamoDB, objectMapper, tableName, true);
+    }
+
+    public GetExpensesHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName,
+                              boolean indexesHoldFullItems) {
+        this.dynamoDB = dynamoDB;
+        this.objectMapper = objectMapper;
+        this.tableName = tableName;
+        this.indexesHoldFullItems = indexesHoldFullItems;
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeJson(objectMapper);
+        Priming.primeCodec();
+        Priming.touchTable(dynamoDB, tableName);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchTable(dynamoDB, tableName);
+    }
+
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            String userId = RequestClaims.userId(input);
+            Map<String, String> queryParams = Optional.ofNullable(input.getQueryStringParameters())
+                .orElse(Collections.emptyMap());
+            int limit = Page.clampLimit(parseLimit(queryParams.get("limit")));
+            String cursor = queryParams.get("cursor");
+            ExpenseView view = ExpenseView.fromFields(queryParams.get("fields"));
+
+            Page<?> expenses = queryPage(buildQuery(tableName, userId, queryParams, indexesHoldFullItems), view,
+                limit, cursor);
+
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Content-Type", "application/json");
+            if (expenses.hasMore()) {
+                headers.put(NEXT_CURSOR_HEADER, expenses.getNextCursor());
+            }
+
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(200)
+                .withBody(objectMapper.writeValueAsString(expenses.getItems()))
+                .withHeaders(headers);
+
+        } catch (IllegalArgumentException e) {
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(400)
+                .withBody("{\"error\": \"" + e.getMessage() + "\"}")
+                .withHeaders(Map.of("Content-Type", "application/json"));
+        } catch (Exception e) {
+            context.getLogger().log("Error: " + e.getMessage());
+            return new APIGatewayProxyResponseEvent()
+                .withStatusCode(500)
+                .withBody("{\"error\": \"" + e.getMessage() + "\"}")
+                .withHeaders(Map.of("Content-Type", "application/json"));
+        }
+    }
+
+    static QueryRequest buildQuery(String tableName, String userId, Map<String, String> queryParams,
+                                   boolean indexesHoldFullItems) {
+        return ExpenseProjection.apply(userQuery(tableName, userId, queryParams),
+            ExpenseView.fromFields(queryParams.get("fields")), indexesHoldFullItems);
+    }
+
+    private static QueryRequest userQuery(String tableName, String userId, Map<String, String> queryParams) {
+        if (queryParams.containsKey("startDate") && queryParams.containsKey("endDate")) {
+            LocalDateTime startDate = LocalDateTime.parse(queryParams.get("startDate"));
+            LocalDateTime endDate = LocalDateTime.parse(queryParams.get("endDate"));
+            return new QueryRequest()
+                .withTableName(tableName)
+                .withIndexName(ExpenseIndexes.USER_DATE)
+                .withKeyConditionExpression("userId = :userId AND #date BETWEEN :startDate AND :endDate")
+                .withExpressionAttributeNames(Collections.singletonMap("#date", "date"))
+                .withExpressionAttributeValues(Map.of(
+                    ":userId", new AttributeValue(userId),
+                    ":startDate", new AttributeValue(startDate.toString()),
+                    ":endDate", new AttributeValue(endDate.toString())
+                ));
+        }
+        return new QueryRequest()
+            .withTableName(tableName)
+            .withIndexName(ExpenseIndexes.USER_DATE)
+            .withKeyConditionExpression("userId = :userId")
+            .withExpressionAttributeValues(Collections.singletonMap(":userId", new AttributeValue(userId)));
+    }
+
+    private Page<?> queryPage(QueryRequest queryRequest, ExpenseView view, int limit, String cursor) {
+        QueryResult result = dynamoDB.query(queryRequest
+            .withLimit(limit)
+            .withExclusiveStartKey(PageCursor.decode(cursor)));
+        List<Object> expenses = items(dynamoDB, tableName, result, view, indexesHoldFullItems).stream()
+            .map(item -> mapItem(item, view))
+            .collect(Collectors.toList());
+        return new Page<>(expenses, PageCursor.encode(result.getLastEvaluatedKey()));
+    }
+
+    /**
+     * @return the items of {@code page}, fetched from the table when the query read only their ids
+     */
+    static List<Map<String, AttributeValue>> items(AmazonDynamoDB dynamoDB, String tableName, QueryResult page,
+                                                   ExpenseView view, boolean indexesHoldFullItems) {
+        return ExpenseProjection.readsKeysOnly(view, indexesHoldFullItems)
+            ? BatchReader.getAll(dynamoDB, tableName, page.getItems())
+            : page.getItems();
+    }
+
+    private static Integer parseLimit(String limit) {
+        if (limit == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
+        }
+    }
+
+    static ExpenseResponse mapToExpenseResponse(Map<String, AttributeValue> item) {
+        return ExpenseItemCodec.decodeResponse(item);
+    }
+
+    static Object mapItem(Map<String, AttributeValue> item, ExpenseView view) {
+        return view == ExpenseView.SUMMARY ? ExpenseItemCodec.decodeSummary(item) : mapToExpenseResponse(item);
+    }
+}
@@ -0,0 +1,58 @@
+package com.expensetracker.lambda;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escapes everything written to it as the contents of a JSON string literal, so a nested JSON
+ * document can be streamed into the string-typed {@code body} of an API Gateway proxy response.
+ */
+class JsonStringEscapingWriter extends Writer {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    JsonStringEscapingWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int start = off;
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            char c = cbuf[i];
+            if (c == '"' || c == '\\' || c < 0x20) {
+                out.write(cbuf, start, i - start);
+                writeEscaped(c);
+                start = i + 1;
+            }
+        }
+        out.write(cbuf, start, end - start);
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        switch (c) {
+            case '"' -> out.write("\\\"");
+            case '\\' -> out.write("\\\\");
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            case '\t' -> out.write("\\t");
+            default -> {
+                out.write("\\u00");
+                out.write(HEX[c >> 4]);
+                out.write(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
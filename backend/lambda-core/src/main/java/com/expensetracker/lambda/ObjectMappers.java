@@ -0,0 +1,23 @@
+package com.expensetracker.lambda;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Shared {@link ObjectMapper} configuration for the Lambda handlers: ISO-8601 java.time values and
+ * tolerance for the extra fields API Gateway adds to its events.
+ */
+public final class ObjectMappers {
+
+    private ObjectMappers() {
+    }
+
+    public static ObjectMapper create() {
+        return new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
@@ -0,0 +1,96 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.expensetracker.messaging.SqsBatchSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Resource;
+import java.util.*;
+
+/**
+ * Relays newly inserted expenses from the table's DynamoDB stream to the processing queue.
+ *
+ * <p>With outbox mode enabled, the create paths only write to DynamoDB and this handler does the enqueueing,
+ * so an expense is queued if and only if its write committed. Each stream record carries a unique event id,
+ * which is used as the FIFO deduplication id, so a relay retry does not enqueue the same write twice.
+ * On a send failure the sequence number of the first unsent record is reported, and Lambda resumes the
+ * shard from that record.
+ */
+public class OutboxRelayHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse>, Resource {
+    private final AmazonSQS sqs;
+    private final ObjectMapper objectMapper;
+    private final String queueUrl;
+
+    public OutboxRelayHandler() {
+        this(AmazonSQSClientBuilder.standard().build(), ObjectMappers.create(), System.getenv("SQS_QUEUE_URL"));
+        Priming.register(this);
+    }
+
+    public OutboxRelayHandler(AmazonSQS sqs, ObjectMapper objectMapper, String queueUrl) {
+        this.sqs = sqs;
+        this.objectMapper = objectMapper;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeJson(objectMapper);
+        Priming.touchQueue(sqs, queueUrl);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchQueue(sqs, queueUrl);
+    }
+
+    @Override
+    public StreamsEventResponse handleRequest(DynamodbEvent event, Context context) {
+        List<DynamodbEvent.DynamodbStreamRecord> records = Optional.ofNullable(event.getRecords())
+            .orElse(Collections.emptyList());
+
+        List<DynamodbEvent.DynamodbStreamRecord> inserts = new ArrayList<>(records.size());
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(records.size());
+        try {
+            for (DynamodbEvent.DynamodbStreamRecord record : records) {
+                if (!"INSERT".equals(record.getEventName())) {
+                    continue;
+                }
+                Map<String, String> expense = flatten(record.getDynamodb().getNewImage());
+                inserts.add(record);
+                entries.add(new SendMessageBatchRequestEntry(record.getEventID(), objectMapper.writeValueAsString(expense))
+                    .withMessageGroupId(expense.get("id"))
+                    .withMessageDeduplicationId(record.getEventID()));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to build outbox messages", e);
+        }
+
+        Set<String> unsent = SqsBatchSender.sendAll(sqs, queueUrl, entries);
+        for (DynamodbEvent.DynamodbStreamRecord record : inserts) {
+            if (unsent.contains(record.getEventID())) {
+                context.getLogger().log("Failed to relay " + unsent.size() + " expense(s), resuming from "
+                    + record.getDynamodb().getSequenceNumber());
+                return new StreamsEventResponse(List.of(
+                    new StreamsEventResponse.BatchItemFailure(record.getDynamodb().getSequenceNumber())));
+            }
+        }
+        return new StreamsEventResponse(Collections.emptyList());
+    }
+
+    private static Map<String, String> flatten(Map<String, AttributeValue> image) {
+        Map<String, String> expense = new LinkedHashMap<>();
+        image.forEach((name, value) -> {
+            String scalar = value.getS() != null ? value.getS() : value.getN();
+            if (scalar != null) {
+                expense.put(name, scalar);
+            }
+        });
+        return expense;
+    }
+}
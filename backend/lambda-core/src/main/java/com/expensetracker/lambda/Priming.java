@@ -0,0 +1,94 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.GetQueueAttributesRequest;
+import com.expensetracker.lambda.model.ExpenseRequest;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.BatchItemResult;
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.ExpenseItemCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Core;
+import org.crac.Resource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warm-up work for SnapStart. Handlers register themselves as CRaC resources and call these from
+ * {@code beforeCheckpoint}, so the snapshot already has Jackson's serializers, the item codec and the SDK
+ * client classes loaded and initialized. Connections in the snapshot are dead once it is restored, so
+ * handlers touch their tables and queues again in {@code afterRestore} to open fresh ones before the first
+ * request arrives.
+ *
+ * <p>Every call here is best effort: priming must never stop a function from starting.
+ */
+final class Priming {
+    // Not a real expense id; reading it only warms the client and the connection
+    private static final String PRIMING_KEY = "priming";
+
+    private Priming() {
+    }
+
+    static void register(Resource handler) {
+        Core.getGlobalContext().register(handler);
+    }
+
+    static void primeJson(ObjectMapper objectMapper) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            ExpenseRequest request = new ExpenseRequest();
+            request.setDescription("priming");
+            request.setAmount(new BigDecimal("1.00"));
+            request.setCategory("priming");
+            request.setDate(now);
+            objectMapper.readValue(objectMapper.writeValueAsString(request), ExpenseRequest.class);
+
+            ExpenseResponse response = ExpenseResponse.builder().id(PRIMING_KEY).amountMinor(100L).date(now).build();
+            objectMapper.readValue(objectMapper.writeValueAsString(List.of(response)), ExpenseResponse[].class);
+            objectMapper.writeValueAsString(List.of(BatchItemResult.created(0, PRIMING_KEY)));
+
+            APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+            event.setQueryStringParameters(Map.of("limit", "1"));
+            objectMapper.readValue(objectMapper.writeValueAsString(event), APIGatewayProxyRequestEvent.class);
+        } catch (Exception e) {
+            // Best effort
+        }
+    }
+
+    static void primeCodec() {
+        Expense expense = Expense.builder()
+            .id(PRIMING_KEY)
+            .userId(PRIMING_KEY)
+            .amountMinor(100L)
+            .date(LocalDateTime.now())
+            .status("PENDING")
+            .createdAtMillis(System.currentTimeMillis())
+            .build();
+        ExpenseItemCodec.decodeResponse(ExpenseItemCodec.encode(expense));
+        ExpenseItemCodec.decode(ExpenseItemCodec.encode(expense));
+    }
+
+    static void touchTable(AmazonDynamoDB dynamoDB, String tableName) {
+        try {
+            dynamoDB.getItem(new GetItemRequest()
+                .withTableName(tableName)
+                .withKey(Map.of("id", new AttributeValue(PRIMING_KEY))));
+        } catch (Exception e) {
+            // Best effort
+        }
+    }
+
+    static void touchQueue(AmazonSQS sqs, String queueUrl) {
+        try {
+            sqs.getQueueAttributes(new GetQueueAttributesRequest(queueUrl).withAttributeNames("QueueArn"));
+        } catch (Exception e) {
+            // Best effort
+        }
+    }
+}
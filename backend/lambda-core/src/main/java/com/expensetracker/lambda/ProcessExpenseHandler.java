@@ -0,0 +1,187 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.expensetracker.repository.ExpenseIndexes;
+import com.expensetracker.repository.ExpenseItemCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Resource;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Marks queued expenses as processed. Records are handled concurrently on a bounded pool, one task per
+ * FIFO message group so ordering within a group is kept. Duplicate messages for the same expense in a
+ * batch share a single DynamoDB update. Only the messages that failed are reported back, so SQS redelivers
+ * those and deletes the rest; within a group, everything after the first failure is reported too.
+ *
+ * <p>Only the status is written here, and only while the expense is not yet processed, so a redelivered message
+ * writes nothing. The monthly totals follow from that write through the table's stream; see
+ * {@link AggregateStreamHandler}.
+ */
+public class ProcessExpenseHandler implements RequestHandler<SQSEvent, SQSBatchResponse>, Resource {
+    static final int DEFAULT_CONCURRENCY = 10;
+
+    private static final String PROCESSED_UPDATE =
+        "SET #status = :status, #statusShard = :statusShard, updatedAt = :updatedAt, "
+            + "#version = if_not_exists(#version, :zero) + :one";
+    // A comparison with a missing status is false, so items without one need their own clause
+    private static final String NOT_PROCESSED =
+        "attribute_exists(id) AND (attribute_not_exists(#status) OR #status <> :status)";
+
+    private final AmazonDynamoDB dynamoDB;
+    private final ObjectMapper objectMapper;
+    private final String tableName;
+    private final ExecutorService executor;
+
+    public ProcessExpenseHandler() {
+        this(AmazonDynamoDBClientBuilder.standard().build(), ObjectMappers.create(), System.getenv("DYNAMODB_TABLE"),
+            Optional.ofNullable(System.getenv("PROCESS_CONCURRENCY")).map(Integer::parseInt).orElse(DEFAULT_CONCURRENCY));
+        Priming.register(this);
+    }
+
+    public ProcessExpenseHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName) {
+        this(dynamoDB, objectMapper, tableName, DEFAULT_CONCURRENCY);
+    }
+
+    public ProcessExpenseHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName, int concurrency) {
+        this.dynamoDB = dynamoDB;
+        this.objectMapper = objectMapper;
+        this.tableName = tableName;
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "process-expense");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeJson(objectMapper);
+        Priming.primeCodec();
+        Priming.touchTable(dynamoDB, tableName);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchTable(dynamoDB, tableName);
+    }
+
+    @Override
+    public SQSBatchResponse handleRequest(SQSEvent event, Context context) {
+        List<SQSEvent.SQSMessage> records = Optional.ofNullable(event.getRecords()).orElse(Collections.emptyList());
+
+        // Standard queue messages have no group and are independent of each other
+        Map<String, List<SQSEvent.SQSMessage>> groups = new LinkedHashMap<>();
+        for (SQSEvent.SQSMessage message : records) {
+            String group = Optional.ofNullable(message.getAttributes())
+                .map(attributes -> attributes.get("MessageGroupId"))
+                .orElse(message.getMessageId());
+            groups.computeIfAbsent(group, key -> new ArrayList<>()).add(message);
+        }
+
+        Map<String, CompletableFuture<Void>> updates = new ConcurrentHashMap<>();
+        List<Future<List<String>>> results = new ArrayList<>(groups.size());
+        for (List<SQSEvent.SQSMessage> group : groups.values()) {
+            results.add(executor.submit(() -> processGroup(group, updates, context)));
+        }
+
+        List<SQSBatchResponse.BatchItemFailure> failures = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            try {
+                result.get().forEach(messageId -> failures.add(new SQSBatchResponse.BatchItemFailure(messageId)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while processing expenses", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Failed to process expenses", e.getCause());
+            }
+        }
+        return new SQSBatchResponse(failures);
+    }
+
+    private List<String> processGroup(List<SQSEvent.SQSMessage> group, Map<String, CompletableFuture<Void>> updates,
+                                      Context context) {
+        for (int i = 0; i < group.size(); i++) {
+            SQSEvent.SQSMessage message = group.get(i);
+            try {
+                String id = expenseId(message.getBody());
+                CompletableFuture<Void> update = new CompletableFuture<>();
+                CompletableFuture<Void> existing = updates.putIfAbsent(id, update);
+                if (existing != null) {
+                    existing.join();
+                    continue;
+                }
+                try {
+                    markProcessed(id);
+                    update.complete(null);
+                } catch (RuntimeException e) {
+                    update.completeExceptionally(e);
+                    throw e;
+                }
+                context.getLogger().log("Successfully processed expense: " + id);
+            } catch (Exception e) {
+                context.getLogger().log("Error processing message " + message.getMessageId() + ": " + e.getMessage());
+                List<String> failed = new ArrayList<>(group.size() - i);
+                group.subList(i, group.size()).forEach(remaining -> failed.add(remaining.getMessageId()));
+                return failed;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private void markProcessed(String id) {
+        UpdateItemRequest updateRequest = new UpdateItemRequest()
+            .withTableName(tableName)
+            .withKey(Map.of("id", new AttributeValue(id)))
+            .withUpdateExpression(PROCESSED_UPDATE)
+            .withConditionExpression(NOT_PROCESSED)
+            .withExpressionAttributeNames(processedNames())
+            .withExpressionAttributeValues(processedValues(id));
+
+        try {
+            dynamoDB.updateItem(updateRequest);
+        } catch (ConditionalCheckFailedException e) {
+            // Deleted before it was processed, or processed by an earlier delivery; nothing to retry
+        }
+    }
+
+    private static Map<String, String> processedNames() {
+        Map<String, String> names = new HashMap<>();
+        names.put("#status", "status");
+        names.put("#statusShard", ExpenseIndexes.STATUS_SHARD_ATTRIBUTE);
+        names.put("#version", ExpenseItemCodec.VERSION_ATTRIBUTE);
+        return names;
+    }
+
+    private static Map<String, AttributeValue> processedValues(String id) {
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":status", new AttributeValue("PROCESSED"));
+        values.put(":statusShard", new AttributeValue(ExpenseIndexes.statusShard("PROCESSED", id)));
+        values.put(":updatedAt", ExpenseItemCodec.number(System.currentTimeMillis()));
+        values.put(":zero", ExpenseItemCodec.number(0L));
+        values.put(":one", ExpenseItemCodec.number(1L));
+        return values;
+    }
+
+    /**
+     * Messages come either from the API (a serialized {@code Expense}, {@code "id": "..."}) or from the
+     * Lambda create handlers (a serialized item map, {@code "id": {"s": "..."}}).
+     */
+    private String expenseId(String body) throws Exception {
+        JsonNode id = objectMapper.readTree(body).path("id");
+        if (id.isObject()) {
+            id = id.has("s") ? id.get("s") : id.path("S");
+        }
+        if (!id.isTextual()) {
+            throw new IllegalArgumentException("Message has no expense id");
+        }
+        return id.asText();
+    }
+}
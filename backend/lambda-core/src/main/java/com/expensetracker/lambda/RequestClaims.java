@@ -0,0 +1,20 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import java.util.Map;
+
+/**
+ * Reads the Cognito claims that the API Gateway authorizer passes in the request context. The events library
+ * exposes the authorizer as a plain map, with the claims as a nested map under {@code claims}.
+ */
+final class RequestClaims {
+
+    private RequestClaims() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static String userId(APIGatewayProxyRequestEvent event) {
+        Map<String, Object> claims = (Map<String, Object>) event.getRequestContext().getAuthorizer().get("claims");
+        return (String) claims.get("sub");
+    }
+}
@@ -0,0 +1,167 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.repository.ExpenseProjection;
+import com.expensetracker.repository.PageCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Resource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Variant of {@link GetExpensesHandler} that returns a user's expenses without buffering them.
+ * Query pages are fetched lazily and each item is written to the output stream as soon as it is mapped,
+ * so at most one page is held in memory regardless of how many expenses the user has.
+ *
+ * <p>API Gateway still buffers the whole response, and Lambda fails any response over 6 MB. Once the body
+ * reaches {@link #BODY_LIMIT_BYTES} no further expense is started: the response ends there and carries an
+ * {@code X-Next-Cursor} header, which the client passes back as {@code cursor} for the rest.
+ */
+public class StreamingGetExpensesHandler implements RequestStreamHandler, Resource {
+    static final int PAGE_SIZE = 100;
+    // An item is at most 400 KB and escaping at most sextuples it, so the last one started still fits in 6 MB
+    static final long BODY_LIMIT_BYTES = 3L * 1024 * 1024;
+
+    private final AmazonDynamoDB dynamoDB;
+    private final ObjectMapper objectMapper;
+    private final String tableName;
+    private final boolean indexesHoldFullItems;
+    private final long bodyLimitBytes;
+
+    public StreamingGetExpensesHandler() {
+        this(AmazonDynamoDBClientBuilder.standard().build(), ObjectMappers.create(), System.getenv("DYNAMODB_TABLE"),
+            ExpenseProjection.indexesHoldFullItems(System.getenv(ExpenseProjection.INDEX_PROJECTION_ENV)));
+        Priming.register(this);
+    }
+
+    public StreamingGetExpensesHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName) {
+        this(dynamoDB, objectMapper, tableName, true);
+    }
+
+    public StreamingGetExpensesHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName,
+                                       boolean indexesHoldFullItems) {
+        this(dynamoDB, objectMapper, tableName, indexesHoldFullItems, BODY_LIMIT_BYTES);
+    }
+
+    StreamingGetExpensesHandler(AmazonDynamoDB dynamoDB, ObjectMapper objectMapper, String tableName,
+                                boolean indexesHoldFullItems, long bodyLimitBytes) {
+        this.dynamoDB = dynamoDB;
+        this.objectMapper = objectMapper;
+        this.tableName = tableName;
+        this.indexesHoldFullItems = indexesHoldFullItems;
+        this.bodyLimitBytes = bodyLimitBytes;
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        Priming.primeJson(objectMapper);
+        Priming.primeCodec();
+        Priming.touchTable(dynamoDB, tableName);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        Priming.touchTable(dynamoDB, tableName);
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        String userId;
+        QueryRequest queryRequest;
+        QueryResult firstPage;
+        ExpenseView view;
+        try {
+            APIGatewayProxyRequestEvent event = objectMapper.readValue(input, APIGatewayProxyRequestEvent.class);
+            userId = RequestClaims.userId(event);
+            Map<String, String> queryParams = Optional.ofNullable(event.getQueryStringParameters())
+                .orElse(Collections.emptyMap());
+
+            view = ExpenseView.fromFields(queryParams.get("fields"));
+
+            // Fetch the first page before writing anything so failures still produce a clean error response
+            queryRequest = GetExpensesHandler.buildQuery(tableName, userId, queryParams, indexesHoldFullItems)
+                .withLimit(PAGE_SIZE);
+            firstPage = dynamoDB.query(queryRequest.withExclusiveStartKey(PageCursor.decode(queryParams.get("cursor"))));
+        } catch (Exception e) {
+            context.getLogger().log("Error: " + e.getMessage());
+            writeError(output, e instanceof IllegalArgumentException ? 400 : 500, e.getMessage());
+            return;
+        }
+
+        // Headers go after the body, since the cursor is only known once the body is written
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("{\"statusCode\":200,\"body\":\"");
+
+        Utf8CountingWriter body = new Utf8CountingWriter(writer);
+        String nextCursor = null;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(new JsonStringEscapingWriter(body))) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Flushed after every item to count it, but only handed on to the output once per page
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.writeStartArray();
+
+            QueryResult page = firstPage;
+            Map<String, AttributeValue> lastWritten = null;
+            pages:
+            while (true) {
+                for (Map<String, AttributeValue> item
+                        : GetExpensesHandler.items(dynamoDB, tableName, page, view, indexesHoldFullItems)) {
+                    if (lastWritten != null && body.getBytes() >= bodyLimitBytes) {
+                        nextCursor = PageCursor.encode(startKey(userId, lastWritten));
+                        break pages;
+                    }
+                    generator.writeObject(GetExpensesHandler.mapItem(item, view));
+                    generator.flush();
+                    lastWritten = item;
+                }
+                writer.flush();
+
+                Map<String, AttributeValue> lastEvaluatedKey = page.getLastEvaluatedKey();
+                if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+                    break;
+                }
+                page = dynamoDB.query(queryRequest.withExclusiveStartKey(lastEvaluatedKey));
+            }
+
+            generator.writeEndArray();
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        if (nextCursor != null) {
+            headers.put(GetExpensesHandler.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        writer.write("\",\"headers\":");
+        writer.write(objectMapper.writeValueAsString(headers));
+        writer.write("}");
+        writer.flush();
+    }
+
+    /**
+     * @return the user/date index key of {@code item}, from which the listing resumes after it; summary items
+     * do not carry the user id, so it is taken from the request
+     */
+    private static Map<String, AttributeValue> startKey(String userId, Map<String, AttributeValue> item) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("id", item.get("id"));
+        key.put("userId", new AttributeValue(userId));
+        key.put("date", item.get("date"));
+        return key;
+    }
+
+    private void writeError(OutputStream output, int statusCode, String message) throws IOException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("statusCode", statusCode);
+        response.put("headers", Map.of("Content-Type", "application/json"));
+        response.put("body", objectMapper.writeValueAsString(Collections.singletonMap("error", message)));
+        objectMapper.writeValue(output, response);
+    }
+}
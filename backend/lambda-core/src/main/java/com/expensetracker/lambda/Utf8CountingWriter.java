@@ -0,0 +1,48 @@
+package com.expensetracker.lambda;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Passes everything written to it through, counting how many bytes it takes in UTF-8 without encoding it.
+ */
+class Utf8CountingWriter extends Writer {
+    private final Writer out;
+    private long bytes;
+
+    Utf8CountingWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            char c = cbuf[i];
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                // With its low surrogate, which adds nothing, a supplementary character takes four
+                bytes += 4;
+            } else if (!Character.isLowSurrogate(c)) {
+                bytes += 3;
+            }
+        }
+        out.write(cbuf, off, len);
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
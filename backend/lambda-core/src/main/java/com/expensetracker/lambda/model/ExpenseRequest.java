@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 public class ExpenseRequest {
     private String description;
     private BigDecimal amount;
+    private String currency;
     private String category;
     private LocalDateTime date;
     private String receiptUrl;
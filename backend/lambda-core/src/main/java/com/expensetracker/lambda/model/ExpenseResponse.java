@@ -0,0 +1,74 @@
+package com.expensetracker.lambda.model;
+
+import com.expensetracker.model.EpochMillis;
+import com.expensetracker.model.MinorUnits;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Holds the amount in minor units and the audit timestamps in epoch milliseconds, as stored, and only
+ * converts them to the decimal and date-time JSON fields when serialized.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseResponse {
+    private String id;
+    private String userId;
+    private String description;
+    @JsonIgnore
+    private long amountMinor;
+    private String currency;
+    private String category;
+    private LocalDateTime date;
+    private String status;
+    @JsonIgnore
+    private long createdAtMillis;
+    @JsonIgnore
+    private long updatedAtMillis;
+    private String receiptUrl;
+    private String notes;
+    private long version;
+
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return MinorUnits.toDecimal(amountMinor, currency);
+    }
+
+    @JsonProperty("amount")
+    public void setAmount(BigDecimal amount) {
+        this.amountMinor = amount != null ? MinorUnits.toMinor(amount, currency) : 0L;
+    }
+
+    public void setCurrency(String currency) {
+        this.amountMinor = MinorUnits.rescale(amountMinor, this.currency, currency);
+        this.currency = currency;
+    }
+
+    @JsonProperty("createdAt")
+    public LocalDateTime getCreatedAt() {
+        return EpochMillis.toLocalDateTime(createdAtMillis);
+    }
+
+    @JsonProperty("createdAt")
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAtMillis = EpochMillis.of(createdAt);
+    }
+
+    @JsonProperty("updatedAt")
+    public LocalDateTime getUpdatedAt() {
+        return EpochMillis.toLocalDateTime(updatedAtMillis);
+    }
+
+    @JsonProperty("updatedAt")
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAtMillis = EpochMillis.of(updatedAt);
+    }
+}
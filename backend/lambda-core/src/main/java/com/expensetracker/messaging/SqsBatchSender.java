@@ -0,0 +1,111 @@
+package com.expensetracker.messaging;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends messages with {@code SendMessageBatch} in chunks of 10. Entries that fail on the service side, and
+ * whole requests that are throttled or fail with a 5xx, are retried after an exponential backoff with full
+ * jitter; entries rejected as a sender fault are not, since resending the same message cannot succeed. Any
+ * other error, such as a missing queue or denied access, would fail every retry and is thrown to the caller.
+ */
+public final class SqsBatchSender {
+    public static final int MAX_BATCH_SIZE = 10;
+    public static final long BASE_BACKOFF_MILLIS = 50;
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private SqsBatchSender() {
+    }
+
+    /**
+     * Sends each message in a FIFO message group named by its entry id, so messages about different expenses
+     * are not held up behind one another; deduplication is left to the queue's content-based setting.
+     *
+     * @param messages message bodies keyed by batch entry id; ids must be unique and at most 80 characters
+     *                 of alphanumerics, hyphens and underscores, which expense UUIDs satisfy
+     * @return ids of the entries that could not be sent
+     * @throws AmazonServiceException if SQS rejected a request with an error that retrying cannot fix
+     */
+    public static Set<String> sendAll(AmazonSQS sqs, String queueUrl, Map<String, String> messages) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(messages.size());
+        messages.forEach((id, body) -> entries.add(new SendMessageBatchRequestEntry(id, body).withMessageGroupId(id)));
+        return sendAll(sqs, queueUrl, entries);
+    }
+
+    /**
+     * Variant for callers that need per-entry attributes such as FIFO group and deduplication ids.
+     *
+     * @return ids of the entries that could not be sent
+     * @throws AmazonServiceException if SQS rejected a request with an error that retrying cannot fix
+     */
+    public static Set<String> sendAll(AmazonSQS sqs, String queueUrl, List<SendMessageBatchRequestEntry> entries) {
+        Set<String> failed = new HashSet<>();
+        for (int from = 0; from < entries.size(); from += MAX_BATCH_SIZE) {
+            List<SendMessageBatchRequestEntry> pending = entries.subList(from, Math.min(from + MAX_BATCH_SIZE, entries.size()));
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+                if (attempt > 0 && !backoff(attempt)) {
+                    break;
+                }
+                pending = sendChunk(sqs, queueUrl, pending, failed);
+            }
+            pending.forEach(entry -> failed.add(entry.getId()));
+        }
+        return failed;
+    }
+
+    /**
+     * @return whether a request that failed with {@code e} may succeed if sent again
+     */
+    static boolean isRetryable(AmazonServiceException e) {
+        return RetryUtils.isThrottlingException(e) || e.getStatusCode() >= 500;
+    }
+
+    private static List<SendMessageBatchRequestEntry> sendChunk(AmazonSQS sqs, String queueUrl,
+                                                                List<SendMessageBatchRequestEntry> entries,
+                                                                Set<String> failed) {
+        SendMessageBatchResult result;
+        try {
+            result = sqs.sendMessageBatch(new SendMessageBatchRequest(queueUrl, entries));
+        } catch (AmazonServiceException e) {
+            if (isRetryable(e)) {
+                return entries;
+            }
+            throw e;
+        }
+
+        Set<String> retryable = new HashSet<>();
+        for (BatchResultErrorEntry error : result.getFailed()) {
+            if (Boolean.TRUE.equals(error.getSenderFault())) {
+                failed.add(error.getId());
+            } else {
+                retryable.add(error.getId());
+            }
+        }
+        List<SendMessageBatchRequestEntry> retry = new ArrayList<>(retryable.size());
+        entries.stream().filter(entry -> retryable.contains(entry.getId())).forEach(retry::add);
+        return retry;
+    }
+
+    // Full jitter, so senders throttled at the same moment do not all come back at the same moment
+    private static boolean backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong((BASE_BACKOFF_MILLIS << (attempt - 1)) + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
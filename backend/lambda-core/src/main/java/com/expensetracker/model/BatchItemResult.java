@@ -0,0 +1,69 @@
+package com.expensetracker.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of one entry of a batch request, reported at the same position ({@code index}) as the entry.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+    private String id;
+    private String status;
+    private String error;
+
+    public static BatchItemResult created(int index, String id) {
+        return new BatchItemResult(index, id, CREATED, null);
+    }
+
+    public static BatchItemResult failed(int index, String id, String error) {
+        return new BatchItemResult(index, id, FAILED, error);
+    }
+
+    /**
+     * Reports a batch create: each id is created if it was both saved and sent for processing.
+     *
+     * @param ids the ids of the batch entries, in request order
+     */
+    public static List<BatchItemResult> of(List<String> ids, Set<String> savedIds, Set<String> unsentIds) {
+        return of(ids, savedIds, unsentIds, Collections.emptyMap());
+    }
+
+    /**
+     * Reports a batch create in which some entries were rejected before anything was written.
+     *
+     * @param ids the ids of the batch entries, in request order, with null for rejected entries
+     * @param rejected why each rejected entry is invalid, by its index
+     */
+    public static List<BatchItemResult> of(List<String> ids, Set<String> savedIds, Set<String> unsentIds,
+                                           Map<Integer, String> rejected) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (rejected.containsKey(i)) {
+                results.add(failed(i, null, rejected.get(i)));
+            } else if (!savedIds.contains(id)) {
+                results.add(failed(i, id, "Failed to save expense"));
+            } else if (unsentIds.contains(id)) {
+                results.add(failed(i, id, "Expense saved but failed to send to processing queue"));
+            } else {
+                results.add(created(i, id));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,21 @@
+package com.expensetracker.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Processed spending in one category and currency; {@code total} is in {@code currency}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySummary {
+    private String category;
+    private String currency;
+    private BigDecimal total;
+    private long count;
+}
@@ -0,0 +1,26 @@
+package com.expensetracker.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between the API's {@code LocalDateTime} timestamps, read as UTC, and epoch milliseconds.
+ * Zero stands for an unset timestamp.
+ */
+public final class EpochMillis {
+
+    private EpochMillis() {
+    }
+
+    public static long of(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    public static LocalDateTime toLocalDateTime(long millis) {
+        if (millis == 0L) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+            (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
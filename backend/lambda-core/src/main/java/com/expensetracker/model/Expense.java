@@ -0,0 +1,97 @@
+package com.expensetracker.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+import java.math.BigDecimal;
+
+/**
+ * The amount is held as whole minor units of {@code currency} and the audit timestamps as epoch
+ * milliseconds, matching how they are stored. The JSON form is unchanged: {@code amount} is a decimal
+ * and {@code createdAt}/{@code updatedAt} are date-times, converted only when they are read or written.
+ *
+ * <p>{@code version} counts the writes to the stored expense, starting at 1 when it is created. Updates
+ * that carry the version they read are rejected if the expense has been written since; 0 means unknown
+ * and skips the check.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+// Jackson would otherwise write the creator's properties first
+@JsonPropertyOrder({"id", "userId", "description", "currency", "category", "date", "status", "receiptUrl", "notes",
+    "version", "amount", "createdAt", "updatedAt"})
+public class Expense {
+    private String id;
+    private String userId;
+    private String description;
+    @JsonIgnore
+    private long amountMinor;
+    private String currency;
+    private String category;
+    private LocalDateTime date;
+    private String status;
+    @JsonIgnore
+    private long createdAtMillis;
+    @JsonIgnore
+    private long updatedAtMillis;
+    private String receiptUrl;
+    private String notes;
+    private long version;
+
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return MinorUnits.toDecimal(amountMinor, currency);
+    }
+
+    @JsonProperty("amount")
+    public void setAmount(BigDecimal amount) {
+        this.amountMinor = amount != null ? MinorUnits.toMinor(amount, currency) : 0L;
+    }
+
+    /**
+     * Reads {@code amount} and {@code currency} together, wherever they appear in the JSON, so the amount is
+     * converted once, in its own currency's scale. The other properties are set afterwards.
+     */
+    @JsonCreator
+    static Expense fromJson(@JsonProperty("amount") BigDecimal amount, @JsonProperty("currency") String currency) {
+        Expense expense = new Expense();
+        expense.currency = currency;
+        expense.setAmount(amount);
+        return expense;
+    }
+
+    /**
+     * Keeps the amount's value when the currency changes.
+     */
+    public void setCurrency(String currency) {
+        this.amountMinor = MinorUnits.rescale(amountMinor, this.currency, currency);
+        this.currency = currency;
+    }
+
+    @JsonProperty("createdAt")
+    public LocalDateTime getCreatedAt() {
+        return EpochMillis.toLocalDateTime(createdAtMillis);
+    }
+
+    @JsonProperty("createdAt")
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAtMillis = EpochMillis.of(createdAt);
+    }
+
+    @JsonProperty("updatedAt")
+    public LocalDateTime getUpdatedAt() {
+        return EpochMillis.toLocalDateTime(updatedAtMillis);
+    }
+
+    @JsonProperty("updatedAt")
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAtMillis = EpochMillis.of(updatedAt);
+    }
+}
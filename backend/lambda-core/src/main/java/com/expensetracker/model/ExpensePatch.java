@@ -0,0 +1,117 @@
+package com.expensetracker.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A partial update of an expense: the fields a client sent and their new values, held in {@code values}.
+ * A field sent as null is cleared; fields not sent are left alone. The amount is stored as minor units of the
+ * currency, so {@code currency} can only be changed together with {@code amount}. An amount sent alone is in
+ * the stored currency and is held as a decimal until that currency is known.
+ *
+ * <p>{@code version}, when sent, is the version the change was based on and is checked like a full update's.
+ * {@code status} is not a field clients can patch; only processing moves an expense to PROCESSED.
+ */
+@Getter
+public final class ExpensePatch {
+    public static final Set<String> FIELDS = Set.of(
+        "description", "amount", "currency", "category", "date", "receiptUrl", "notes");
+    private static final String VERSION_FIELD = "version";
+
+    private final Set<String> fields;
+    private final Expense values;
+    private final long expectedVersion;
+    // The amount when it is patched without its currency; null otherwise, or when it is cleared
+    private final BigDecimal amount;
+
+    public ExpensePatch(Set<String> fields, Expense values, long expectedVersion) {
+        this(fields, values, expectedVersion, values.getAmount());
+    }
+
+    private ExpensePatch(Set<String> fields, Expense values, long expectedVersion, BigDecimal amount) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("Patch must change at least one field");
+        }
+        for (String field : fields) {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field cannot be patched: " + field);
+            }
+        }
+        if (fields.contains("currency") && !fields.contains("amount")) {
+            throw new IllegalArgumentException("currency can only be patched together with amount");
+        }
+        this.fields = Collections.unmodifiableSet(new LinkedHashSet<>(fields));
+        this.values = values;
+        this.expectedVersion = expectedVersion;
+        this.amount = isAmountInStoredCurrency() ? amount : null;
+    }
+
+    /**
+     * Reads a patch from the JSON document a client sent, using {@code mapper} for the field values.
+     */
+    public static ExpensePatch from(ObjectNode document, ObjectMapper mapper) {
+        Set<String> fields = new LinkedHashSet<>();
+        document.fieldNames().forEachRemaining(fields::add);
+        fields.remove(VERSION_FIELD);
+        Expense values;
+        BigDecimal amount = null;
+        try {
+            if (fields.contains("amount") && !fields.contains("currency")) {
+                // Read apart from the other values, which would convert it in the default currency
+                amount = mapper.treeToValue(document.get("amount"), BigDecimal.class);
+                document = document.deepCopy();
+                document.remove("amount");
+            }
+            values = mapper.treeToValue(document, Expense.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid expense patch", e);
+        }
+        return new ExpensePatch(fields, values, values.getVersion(), amount);
+    }
+
+    /**
+     * @return whether {@code amount} is patched without {@code currency}, and so must be converted with
+     *         {@link #amountMinor(String)} in the currency the expense is stored in
+     */
+    public boolean isAmountInStoredCurrency() {
+        return fields.contains("amount") && !fields.contains("currency");
+    }
+
+    /**
+     * @param storedCurrency the currency the expense is stored in, or null for the default
+     * @return the patched amount in minor units of {@code storedCurrency}
+     * @throws IllegalArgumentException if the amount has more decimal places than that currency allows
+     */
+    public long amountMinor(String storedCurrency) {
+        if (!isAmountInStoredCurrency()) {
+            return values.getAmountMinor();
+        }
+        return amount != null ? MinorUnits.toMinor(amount, storedCurrency) : 0L;
+    }
+
+    /**
+     * @return a copy of {@code expense} with the patched fields replaced
+     */
+    public Expense applyTo(Expense expense) {
+        Expense.ExpenseBuilder patched = expense.toBuilder();
+        for (String field : fields) {
+            switch (field) {
+                case "description" -> patched.description(values.getDescription());
+                case "amount" -> patched.amountMinor(amountMinor(expense.getCurrency()));
+                case "currency" -> patched.currency(values.getCurrency());
+                case "category" -> patched.category(values.getCategory());
+                case "date" -> patched.date(values.getDate());
+                case "receiptUrl" -> patched.receiptUrl(values.getReceiptUrl());
+                case "notes" -> patched.notes(values.getNotes());
+                default -> throw new IllegalStateException("Unhandled field: " + field);
+            }
+        }
+        return patched.build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An expense as {@link ExpenseView#SUMMARY} listings return it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSummary {
+    private String id;
+    private LocalDateTime date;
+    private String description;
+    @JsonIgnore
+    private long amountMinor;
+    private String currency;
+    private String category;
+    private String status;
+
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return MinorUnits.toDecimal(amountMinor, currency);
+    }
+
+    public static ExpenseSummary of(Expense expense) {
+        return new ExpenseSummary(expense.getId(), expense.getDate(), expense.getDescription(),
+            expense.getAmountMinor(), expense.getCurrency(), expense.getCategory(), expense.getStatus());
+    }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.model;
+
+/**
+ * How much of each expense a listing returns. {@link #SUMMARY} is what list views show (date,
+ * description, amount, category and status) and is read with a projection, so long fields such as
+ * {@code notes} are neither read nor sent.
+ */
+public enum ExpenseView {
+    FULL,
+    SUMMARY;
+
+    /**
+     * @param fields the {@code fields} request parameter: absent or {@code all} for every field, or {@code summary}
+     */
+    public static ExpenseView fromFields(String fields) {
+        if (fields == null || fields.isBlank() || "all".equalsIgnoreCase(fields)) {
+            return FULL;
+        }
+        if ("summary".equalsIgnoreCase(fields)) {
+            return SUMMARY;
+        }
+        throw new IllegalArgumentException("Unsupported fields: " + fields);
+    }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * How far a bulk import has got. Every row up to {@code checkpoint} has been imported or reported as an
+ * {@link ImportRowError}, so an import that stops early is resumed by sending the same file again with
+ * the same {@code importId} and this checkpoint. {@code error} says why an import stopped before the end.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgress {
+    private String importId;
+    private long checkpoint;
+    private long imported;
+    private long failed;
+    private boolean complete;
+    private String error;
+}
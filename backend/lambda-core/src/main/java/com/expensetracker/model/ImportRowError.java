@@ -0,0 +1,16 @@
+package com.expensetracker.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * A row of a bulk import that was not imported. {@code row} counts data rows from 1, not counting the header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long row;
+    private String error;
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Conversions between decimal amounts and whole minor units (cents for USD) of an ISO 4217 currency.
+ * A null currency means {@link #DEFAULT_CURRENCY}.
+ */
+public final class MinorUnits {
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private static final int DEFAULT_FRACTION_DIGITS = 2;
+
+    private MinorUnits() {
+    }
+
+    public static int fractionDigits(String currency) {
+        if (currency == null || DEFAULT_CURRENCY.equals(currency)) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+        try {
+            // -1 for pseudo-currencies such as XAU, which have no minor unit
+            return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + currency);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the amount has more decimal places than the currency allows
+     */
+    public static long toMinor(BigDecimal amount, String currency) {
+        try {
+            return amount.setScale(fractionDigits(currency), RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " cannot be expressed in minor units of "
+                + (currency != null ? currency : DEFAULT_CURRENCY));
+        }
+    }
+
+    public static BigDecimal toDecimal(long minor, String currency) {
+        return BigDecimal.valueOf(minor, fractionDigits(currency));
+    }
+
+    /**
+     * Re-expresses an amount held in minor units of {@code from} in minor units of {@code to}, keeping its value.
+     */
+    public static long rescale(long minor, String from, String to) {
+        int fromDigits = fractionDigits(from);
+        int toDigits = fractionDigits(to);
+        return fromDigits == toDigits ? minor : toMinor(BigDecimal.valueOf(minor, fromDigits), to);
+    }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A user's processed spending for one month ({@code yyyy-MM}), overall and per category. Amounts in different
+ * currencies are never added together: {@code totals} holds one total per currency code.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummary {
+    private String month;
+    private Map<String, BigDecimal> totals;
+    private long count;
+    private List<CategorySummary> categories;
+}
@@ -0,0 +1,32 @@
+package com.expensetracker.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+/**
+ * One page of a paginated query. {@code nextCursor} is an opaque token to pass back
+ * for the following page and is {@code null} once the last page has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Page<T> {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private String nextCursor;
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.expensetracker.repository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the writes of a bulk load, in items per second, by additive increase and multiplicative decrease:
+ * a throttled write halves the rate, and each batch accepted in full raises it by the minimum rate, up to the
+ * maximum. A load so settles just under the write capacity the table has to spare and follows it as other
+ * traffic comes and goes, while the maximum keeps it from ever taking all of it.
+ *
+ * <p>Not thread-safe; each load uses its own.
+ */
+public final class AdaptiveWriteThrottle {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double minRate;
+    private final double maxRate;
+    private final LongSupplier nanoClock;
+    private double rate;
+    private long nextFreeNanos;
+
+    public AdaptiveWriteThrottle(double initialRate, double minRate, double maxRate) {
+        this(initialRate, minRate, maxRate, System::nanoTime);
+    }
+
+    AdaptiveWriteThrottle(double initialRate, double minRate, double maxRate, LongSupplier nanoClock) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException("Write rates must satisfy 0 < minRate <= maxRate");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.nanoClock = nanoClock;
+        this.rate = Math.max(minRate, Math.min(maxRate, initialRate));
+        this.nextFreeNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Waits until {@code items} more writes fit within the current rate.
+     */
+    public void acquire(int items) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(reserve(items));
+    }
+
+    public void onAccepted() {
+        rate = Math.min(maxRate, rate + minRate);
+    }
+
+    public void onThrottled() {
+        rate = Math.max(minRate, rate / 2);
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return how long to wait, in nanoseconds, before writing {@code items}
+     */
+    long reserve(int items) {
+        long now = nanoClock.getAsLong();
+        long start = Math.max(now, nextFreeNanos);
+        nextFreeNanos = start + (long) (items * NANOS_PER_SECOND / rate);
+        return start - now;
+    }
+}
@@ -0,0 +1,78 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads expenses by id with {@code BatchGetItem} in chunks of 100, resubmitting {@code UnprocessedKeys} with
+ * the same exponential backoff as {@link BatchWriter}. Serves full listings from indexes that do not project
+ * every attribute: the query reads only the ids and the items are fetched from the table.
+ */
+public final class BatchReader {
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private BatchReader() {
+    }
+
+    /**
+     * @param keys items holding at least the {@code id} of each expense, such as a keys-only query page
+     * @return the expenses with those ids, in the order of {@code keys}; ids deleted since they were read are left out
+     * @throws IllegalStateException if some keys were still unprocessed after the final attempt
+     */
+    public static List<Map<String, AttributeValue>> getAll(AmazonDynamoDB dynamoDB, String tableName,
+                                                            List<Map<String, AttributeValue>> keys) {
+        Map<String, Map<String, AttributeValue>> itemsById = new HashMap<>((int) (keys.size() / 0.75f) + 1);
+        for (int from = 0; from < keys.size(); from += MAX_BATCH_SIZE) {
+            List<Map<String, AttributeValue>> chunk = new ArrayList<>();
+            keys.subList(from, Math.min(from + MAX_BATCH_SIZE, keys.size()))
+                .forEach(key -> chunk.add(Collections.singletonMap("id", key.get("id"))));
+            readChunk(dynamoDB, tableName, chunk, itemsById);
+        }
+
+        List<Map<String, AttributeValue>> items = new ArrayList<>(keys.size());
+        keys.forEach(key -> {
+            Map<String, AttributeValue> item = itemsById.get(key.get("id").getS());
+            if (item != null) {
+                items.add(item);
+            }
+        });
+        return items;
+    }
+
+    private static void readChunk(AmazonDynamoDB dynamoDB, String tableName, List<Map<String, AttributeValue>> keys,
+                                  Map<String, Map<String, AttributeValue>> itemsById) {
+        List<Map<String, AttributeValue>> pending = keys;
+        for (int attempt = 0; attempt < BatchWriter.MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            if (attempt > 0 && !BatchWriter.backoff(attempt)) {
+                break;
+            }
+            BatchGetItemResult result = dynamoDB.batchGetItem(new BatchGetItemRequest()
+                .withRequestItems(Collections.singletonMap(tableName, new KeysAndAttributes().withKeys(pending))));
+            if (result.getResponses() != null) {
+                result.getResponses().getOrDefault(tableName, Collections.emptyList())
+                    .forEach(item -> itemsById.put(item.get("id").getS(), item));
+            }
+            pending = unprocessed(result, tableName);
+        }
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Could not read " + pending.size() + " expenses after "
+                + BatchWriter.MAX_ATTEMPTS + " attempts");
+        }
+    }
+
+    private static List<Map<String, AttributeValue>> unprocessed(BatchGetItemResult result, String tableName) {
+        if (result.getUnprocessedKeys() == null) {
+            return Collections.emptyList();
+        }
+        KeysAndAttributes unprocessed = result.getUnprocessedKeys().get(tableName);
+        return unprocessed == null ? Collections.emptyList() : unprocessed.getKeys();
+    }
+}
@@ -0,0 +1,107 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes items with {@code BatchWriteItem} in chunks of 25, resubmitting {@code UnprocessedItems}
+ * with exponential backoff until they are accepted or the attempts run out, or for bulk loads at the pace
+ * of an {@link AdaptiveWriteThrottle} until they are accepted.
+ */
+public final class BatchWriter {
+    public static final int MAX_BATCH_SIZE = 25;
+
+    static final int MAX_ATTEMPTS = 6;
+    static final long BASE_BACKOFF_MILLIS = 50;
+
+    private BatchWriter() {
+    }
+
+    /**
+     * @return the items that were still unprocessed after the final attempt; empty when everything was written
+     */
+    public static List<Map<String, AttributeValue>> putAll(AmazonDynamoDB dynamoDB, String tableName,
+                                                            List<Map<String, AttributeValue>> items) {
+        List<Map<String, AttributeValue>> unprocessed = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += MAX_BATCH_SIZE) {
+            writeChunk(dynamoDB, tableName, putRequests(items, from))
+                .forEach(write -> unprocessed.add(write.getPutRequest().getItem()));
+        }
+        return unprocessed;
+    }
+
+    /**
+     * Writes every item, taking each chunk from {@code throttle} first. Throttled writes, whether left in
+     * {@code UnprocessedItems} or rejected with {@code ProvisionedThroughputExceededException}, slow the
+     * throttle down and are resubmitted at the lower rate until they are accepted; other failures are thrown.
+     */
+    public static void putAll(AmazonDynamoDB dynamoDB, String tableName, List<Map<String, AttributeValue>> items,
+                              AdaptiveWriteThrottle throttle) {
+        for (int from = 0; from < items.size(); from += MAX_BATCH_SIZE) {
+            List<WriteRequest> pending = putRequests(items, from);
+            while (!pending.isEmpty()) {
+                try {
+                    throttle.acquire(pending.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Batch write interrupted", e);
+                }
+                try {
+                    pending = unprocessed(dynamoDB.batchWriteItem(new BatchWriteItemRequest()
+                        .withRequestItems(Collections.singletonMap(tableName, pending))), tableName);
+                } catch (ProvisionedThroughputExceededException e) {
+                    // None of the chunk was written; it is all still pending
+                }
+                if (pending.isEmpty()) {
+                    throttle.onAccepted();
+                } else {
+                    throttle.onThrottled();
+                }
+            }
+        }
+    }
+
+    private static List<WriteRequest> putRequests(List<Map<String, AttributeValue>> items, int from) {
+        List<Map<String, AttributeValue>> chunk = items.subList(from, Math.min(from + MAX_BATCH_SIZE, items.size()));
+        List<WriteRequest> writes = new ArrayList<>(chunk.size());
+        chunk.forEach(item -> writes.add(new WriteRequest().withPutRequest(new PutRequest().withItem(item))));
+        return writes;
+    }
+
+    private static List<WriteRequest> unprocessed(BatchWriteItemResult result, String tableName) {
+        return result.getUnprocessedItems() == null
+            ? Collections.emptyList()
+            : result.getUnprocessedItems().getOrDefault(tableName, Collections.emptyList());
+    }
+
+    private static List<WriteRequest> writeChunk(AmazonDynamoDB dynamoDB, String tableName, List<WriteRequest> writes) {
+        List<WriteRequest> pending = writes;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            if (attempt > 0 && !backoff(attempt)) {
+                break;
+            }
+            pending = unprocessed(dynamoDB.batchWriteItem(new BatchWriteItemRequest()
+                .withRequestItems(Collections.singletonMap(tableName, pending))), tableName);
+        }
+        return pending;
+    }
+
+    static boolean backoff(int attempt) {
+        try {
+            Thread.sleep(BASE_BACKOFF_MILLIS << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
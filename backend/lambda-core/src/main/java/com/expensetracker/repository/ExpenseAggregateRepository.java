@@ -0,0 +1,13 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.CategorySummary;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ExpenseAggregateRepository {
+    /**
+     * @return the user's totals for the month, one per currency and category, in currency then category order;
+     *         empty when nothing was processed
+     */
+    List<CategorySummary> findMonth(String userId, YearMonth month);
+}
@@ -0,0 +1,80 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.expensetracker.model.MinorUnits;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Key layout of the aggregates table, which holds one item per user, month, currency and category with the
+ * running {@code total} and {@code expenseCount} of processed expenses in that currency. The hash key is
+ * {@code userId} and the range key is {@code period}, {@code <yyyy-MM>#<currency>#<category>}, so a month's
+ * summary is a single query over at most one item per currency and category. Each item also carries its
+ * {@code currency}; items written before amounts had currencies are keyed {@code <yyyy-MM>#<category>},
+ * lack it and hold {@link MinorUnits#DEFAULT_CURRENCY}. Totals are only ever changed with {@code ADD}.
+ */
+public final class ExpenseAggregates {
+    public static final String PERIOD_ATTRIBUTE = "period";
+    public static final String TOTAL_ATTRIBUTE = "total";
+    public static final String COUNT_ATTRIBUTE = "expenseCount";
+    public static final String CURRENCY_ATTRIBUTE = "currency";
+
+    private static final char SEPARATOR = '#';
+
+    private ExpenseAggregates() {
+    }
+
+    /**
+     * @param currency ISO 4217 code, or null for {@link MinorUnits#DEFAULT_CURRENCY}
+     */
+    public static String period(YearMonth month, String currency, String category) {
+        return monthPrefix(month) + currency(currency) + SEPARATOR + category;
+    }
+
+    /**
+     * @param date ISO-8601 date or date-time, as stored in the expenses table
+     */
+    public static String period(String date, String currency, String category) {
+        return period(YearMonth.parse(date.substring(0, 7)), currency, category);
+    }
+
+    /**
+     * @return the period an expense item is counted under, or null if it lacks the user, date or category
+     *         needed to count it
+     */
+    public static String period(Map<String, AttributeValue> item) {
+        String date = ExpenseItemCodec.string(item, "date");
+        String category = ExpenseItemCodec.string(item, "category");
+        if (ExpenseItemCodec.string(item, "userId") == null || date == null || category == null) {
+            return null;
+        }
+        return period(date, ExpenseItemCodec.currency(item), category);
+    }
+
+    public static String monthPrefix(YearMonth month) {
+        return month.toString() + SEPARATOR;
+    }
+
+    public static String currency(String currency) {
+        return currency != null ? currency : MinorUnits.DEFAULT_CURRENCY;
+    }
+
+    /**
+     * @param aggregate an item of the aggregates table
+     */
+    public static String currency(Map<String, AttributeValue> aggregate) {
+        return currency(ExpenseItemCodec.string(aggregate, CURRENCY_ATTRIBUTE));
+    }
+
+    /**
+     * @param aggregate an item of the aggregates table
+     */
+    public static String category(Map<String, AttributeValue> aggregate) {
+        String period = aggregate.get(PERIOD_ATTRIBUTE).getS();
+        int start = period.indexOf(SEPARATOR) + 1;
+        if (aggregate.containsKey(CURRENCY_ATTRIBUTE)) {
+            start = period.indexOf(SEPARATOR, start) + 1;
+        }
+        return period.substring(start);
+    }
+}
@@ -0,0 +1,48 @@
+package com.expensetracker.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Names and key helpers for the expenses table's global secondary indexes.
+ *
+ * <p>Status lookups go through {@link #STATUS_DATE}, keyed on the derived {@code statusShard} attribute.
+ * Every new expense starts as {@code PENDING}, so that status is spread over {@link #PENDING_SHARDS}
+ * partition keys ({@code PENDING#0} .. {@code PENDING#7}) chosen from the expense id; other statuses use
+ * the plain status value. Every write that sets {@code status} must also set {@code statusShard}.
+ */
+public final class ExpenseIndexes {
+    public static final String USER_DATE = "UserIdDateIndex";
+    public static final String CATEGORY_DATE = "CategoryDateIndex";
+    public static final String STATUS_DATE = "StatusShardDateIndex";
+
+    public static final String STATUS_SHARD_ATTRIBUTE = "statusShard";
+    public static final int PENDING_SHARDS = 8;
+
+    private ExpenseIndexes() {
+    }
+
+    public static String statusShard(String status, String id) {
+        int shards = shardCount(status);
+        if (shards == 1) {
+            return status;
+        }
+        return status + "#" + Math.floorMod(id.hashCode(), shards);
+    }
+
+    public static List<String> statusShards(String status) {
+        int shards = shardCount(status);
+        if (shards == 1) {
+            return List.of(status);
+        }
+        List<String> keys = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            keys.add(status + "#" + shard);
+        }
+        return keys;
+    }
+
+    private static int shardCount(String status) {
+        return "PENDING".equals(status) ? PENDING_SHARDS : 1;
+    }
+}
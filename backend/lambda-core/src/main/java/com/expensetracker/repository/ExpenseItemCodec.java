@@ -0,0 +1,180 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.EpochMillis;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseSummary;
+import com.expensetracker.model.MinorUnits;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The one mapping between expenses and expenses-table items, used by the repository and every Lambda handler.
+ *
+ * <p>Items are sparse: null or empty strings and unset timestamps are left out rather than written, and the
+ * currency is only written when it is not {@link MinorUnits#DEFAULT_CURRENCY}. Decoding treats any absent
+ * attribute as unset. The amount is stored as a numeric {@code amountMinor} (whole minor units of the
+ * currency) and {@code createdAt}/{@code updatedAt} as numeric epoch milliseconds. Items written before that
+ * have a decimal string {@code amount} and ISO-8601 string timestamps; decoding accepts both, so old items
+ * need no backfill and are converted when rewritten. An old amount is rounded half-even to the currency's minor
+ * unit, while new amounts must fit it exactly.
+ *
+ * <p>{@code date} stays an ISO-8601 string because it is the range key of the secondary indexes.
+ * {@code version} is numeric and left out while unset; items written before it existed decode as version 0.
+ */
+public final class ExpenseItemCodec {
+    public static final String AMOUNT_MINOR_ATTRIBUTE = "amountMinor";
+    public static final String CURRENCY_ATTRIBUTE = "currency";
+    public static final String LEGACY_AMOUNT_ATTRIBUTE = "amount";
+    public static final String VERSION_ATTRIBUTE = "version";
+
+    // id, userId, description, amountMinor, currency, category, date, status, statusShard, createdAt,
+    // updatedAt, receiptUrl, notes, version
+    private static final int MAX_ATTRIBUTES = 14;
+    private static final int ITEM_CAPACITY = (int) (MAX_ATTRIBUTES / 0.75f) + 1;
+
+    private ExpenseItemCodec() {
+    }
+
+    public static Map<String, AttributeValue> encode(Expense expense) {
+        Map<String, AttributeValue> item = new HashMap<>(ITEM_CAPACITY);
+        putString(item, "id", expense.getId());
+        putString(item, "userId", expense.getUserId());
+        putString(item, "description", expense.getDescription());
+        item.put(AMOUNT_MINOR_ATTRIBUTE, number(expense.getAmountMinor()));
+        if (expense.getCurrency() != null && !MinorUnits.DEFAULT_CURRENCY.equals(expense.getCurrency())) {
+            item.put(CURRENCY_ATTRIBUTE, new AttributeValue(expense.getCurrency()));
+        }
+        putString(item, "category", expense.getCategory());
+        if (expense.getDate() != null) {
+            item.put("date", new AttributeValue(expense.getDate().toString()));
+        }
+        if (expense.getStatus() != null) {
+            item.put("status", new AttributeValue(expense.getStatus()));
+            item.put(ExpenseIndexes.STATUS_SHARD_ATTRIBUTE,
+                new AttributeValue(ExpenseIndexes.statusShard(expense.getStatus(), expense.getId())));
+        }
+        putLong(item, "createdAt", expense.getCreatedAtMillis());
+        putLong(item, "updatedAt", expense.getUpdatedAtMillis());
+        putString(item, "receiptUrl", expense.getReceiptUrl());
+        putString(item, "notes", expense.getNotes());
+        putLong(item, VERSION_ATTRIBUTE, expense.getVersion());
+        return item;
+    }
+
+    public static Expense decode(Map<String, AttributeValue> item) {
+        return Expense.builder()
+            .id(string(item, "id"))
+            .userId(string(item, "userId"))
+            .description(string(item, "description"))
+            .amountMinor(amountMinor(item))
+            .currency(currency(item))
+            .category(string(item, "category"))
+            .date(dateTime(item, "date"))
+            .status(string(item, "status"))
+            .createdAtMillis(epochMillis(item.get("createdAt")))
+            .updatedAtMillis(epochMillis(item.get("updatedAt")))
+            .receiptUrl(string(item, "receiptUrl"))
+            .notes(string(item, "notes"))
+            .version(version(item))
+            .build();
+    }
+
+    public static ExpenseResponse decodeResponse(Map<String, AttributeValue> item) {
+        return ExpenseResponse.builder()
+            .id(string(item, "id"))
+            .userId(string(item, "userId"))
+            .description(string(item, "description"))
+            .amountMinor(amountMinor(item))
+            .currency(currency(item))
+            .category(string(item, "category"))
+            .date(dateTime(item, "date"))
+            .status(string(item, "status"))
+            .createdAtMillis(epochMillis(item.get("createdAt")))
+            .updatedAtMillis(epochMillis(item.get("updatedAt")))
+            .receiptUrl(string(item, "receiptUrl"))
+            .notes(string(item, "notes"))
+            .version(version(item))
+            .build();
+    }
+
+    public static ExpenseSummary decodeSummary(Map<String, AttributeValue> item) {
+        return ExpenseSummary.builder()
+            .id(string(item, "id"))
+            .date(dateTime(item, "date"))
+            .description(string(item, "description"))
+            .amountMinor(amountMinor(item))
+            .currency(currency(item))
+            .category(string(item, "category"))
+            .status(string(item, "status"))
+            .build();
+    }
+
+    public static String currency(Map<String, AttributeValue> item) {
+        return string(item, CURRENCY_ATTRIBUTE);
+    }
+
+    public static long amountMinor(Map<String, AttributeValue> item) {
+        AttributeValue amountMinor = item.get(AMOUNT_MINOR_ATTRIBUTE);
+        if (amountMinor != null) {
+            return Long.parseLong(amountMinor.getN());
+        }
+        AttributeValue amount = item.get(LEGACY_AMOUNT_ATTRIBUTE);
+        if (amount == null) {
+            return 0L;
+        }
+        // Old amounts could carry more decimal places than the currency has, so they are rounded rather than rejected
+        return new BigDecimal(amount.getN() != null ? amount.getN() : amount.getS())
+            .setScale(MinorUnits.fractionDigits(currency(item)), RoundingMode.HALF_EVEN)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    public static long version(Map<String, AttributeValue> item) {
+        AttributeValue version = item.get(VERSION_ATTRIBUTE);
+        return version != null ? Long.parseLong(version.getN()) : 0L;
+    }
+
+    public static long epochMillis(AttributeValue value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value.getN() != null) {
+            return Long.parseLong(value.getN());
+        }
+        return EpochMillis.of(LocalDateTime.parse(value.getS()));
+    }
+
+    public static AttributeValue number(long value) {
+        return new AttributeValue().withN(Long.toString(value));
+    }
+
+    /**
+     * @return the string attribute {@code name}, or null if the item lacks it
+     */
+    public static String string(Map<String, AttributeValue> item, String name) {
+        AttributeValue value = item.get(name);
+        return value != null ? value.getS() : null;
+    }
+
+    private static LocalDateTime dateTime(Map<String, AttributeValue> item, String name) {
+        String value = string(item, name);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    private static void putString(Map<String, AttributeValue> item, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            item.put(name, new AttributeValue(value));
+        }
+    }
+
+    private static void putLong(Map<String, AttributeValue> item, String name, long value) {
+        if (value != 0L) {
+            item.put(name, number(value));
+        }
+    }
+}
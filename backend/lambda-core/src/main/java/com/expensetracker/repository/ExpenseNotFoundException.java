@@ -0,0 +1,7 @@
+package com.expensetracker.repository;
+
+public class ExpenseNotFoundException extends RuntimeException {
+    public ExpenseNotFoundException(String id) {
+        super("Expense not found with id: " + id);
+    }
+}
@@ -0,0 +1,85 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.ExpenseView;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code ProjectionExpression} behind {@link ExpenseView#SUMMARY}. An index with an {@code INCLUDE}
+ * projection must cover {@link #SUMMARY_ATTRIBUTES} to serve summary listings; full listings from such an
+ * index read only the ids and fetch the items from the table with {@link BatchReader}.
+ */
+public final class ExpenseProjection {
+    /**
+     * Environment variable holding the projection type of the expense indexes, {@code ALL} when unset
+     */
+    public static final String INDEX_PROJECTION_ENV = "EXPENSE_INDEX_PROJECTION";
+
+    public static final String KEYS_EXPRESSION = "id";
+
+    public static final List<String> SUMMARY_ATTRIBUTES = List.of(
+        "id", "date", "description", ExpenseItemCodec.AMOUNT_MINOR_ATTRIBUTE, ExpenseItemCodec.CURRENCY_ATTRIBUTE,
+        ExpenseItemCodec.LEGACY_AMOUNT_ATTRIBUTE, "category", "status");
+
+    // Every attribute goes through a placeholder; date, status and others are reserved words
+    public static final String SUMMARY_EXPRESSION = SUMMARY_ATTRIBUTES.stream()
+        .map(name -> "#" + name)
+        .collect(Collectors.joining(", "));
+    public static final Map<String, String> SUMMARY_NAMES = Collections.unmodifiableMap(SUMMARY_ATTRIBUTES.stream()
+        .collect(Collectors.toMap(name -> "#" + name, name -> name)));
+
+    private ExpenseProjection() {
+    }
+
+    /**
+     * @param projectionType the projection type of the indexes, {@code ALL} when null or blank
+     */
+    public static boolean indexesHoldFullItems(String projectionType) {
+        return projectionType == null || projectionType.isBlank() || "ALL".equalsIgnoreCase(projectionType);
+    }
+
+    /**
+     * @return whether a listing in {@code view} reads only the ids from the index and fetches the items
+     */
+    public static boolean readsKeysOnly(ExpenseView view, boolean indexesHoldFullItems) {
+        return view == ExpenseView.FULL && !indexesHoldFullItems;
+    }
+
+    /**
+     * @return {@code request}, restricted to the attributes {@code view} needs
+     */
+    public static QueryRequest apply(QueryRequest request, ExpenseView view) {
+        return apply(request, view, true);
+    }
+
+    /**
+     * @return {@code request}, restricted to the attributes {@code view} needs, or to the ids when
+     * {@link #readsKeysOnly}
+     */
+    public static QueryRequest apply(QueryRequest request, ExpenseView view, boolean indexesHoldFullItems) {
+        if (readsKeysOnly(view, indexesHoldFullItems)) {
+            return request.withProjectionExpression(KEYS_EXPRESSION);
+        }
+        if (view == ExpenseView.FULL) {
+            return request;
+        }
+        return request
+            .withProjectionExpression(SUMMARY_EXPRESSION)
+            .withExpressionAttributeNames(withSummaryNames(request.getExpressionAttributeNames()));
+    }
+
+    /**
+     * @return {@code names} plus the placeholders of {@link #SUMMARY_EXPRESSION}
+     */
+    public static Map<String, String> withSummaryNames(Map<String, String> names) {
+        Map<String, String> merged = new HashMap<>(SUMMARY_NAMES);
+        if (names != null) {
+            merged.putAll(names);
+        }
+        return merged;
+    }
+}
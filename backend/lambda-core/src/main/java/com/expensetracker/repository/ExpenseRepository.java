@@ -0,0 +1,97 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.model.Page;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.time.LocalDateTime;
+
+public interface ExpenseRepository {
+    Expense save(Expense expense);
+
+    /**
+     * Writes the expenses in as few round trips as possible.
+     *
+     * @return the expenses that were written; any missing from the input could not be written after retries
+     */
+    List<Expense> saveAll(List<Expense> expenses);
+
+    /**
+     * Writes all of the expenses for a bulk load, at the pace of {@code throttle}, retrying throttled writes
+     * until they are accepted.
+     */
+    void saveAll(List<Expense> expenses, AdaptiveWriteThrottle throttle);
+
+    Optional<Expense> findById(String id);
+
+    /**
+     * @return the expenses with those ids, in the order of {@code ids}; ids with no expense are left out
+     */
+    List<Expense> findAllById(List<String> ids);
+
+    /**
+     * Replaces the stored expense with the same id in one conditional write, without reading it first. A
+     * non-zero {@link Expense#getVersion() version} must match the stored one.
+     *
+     * @return the expense as stored, with its incremented version
+     * @throws ExpenseNotFoundException if there is no expense with that id
+     * @throws ExpenseVersionConflictException if the expense was written since that version
+     */
+    Expense update(Expense expense);
+
+    /**
+     * Changes only the patched fields of the stored expense, in one conditional write like {@link #update}.
+     *
+     * @return the expense as stored, with its incremented version
+     * @throws ExpenseNotFoundException if there is no expense with that id
+     * @throws ExpenseVersionConflictException if the patch names a version and the expense was written since
+     */
+    Expense patch(String id, ExpensePatch patch, long updatedAtMillis);
+
+    /**
+     * Sets the status of the stored expense in one conditional write, whatever its version.
+     *
+     * @return false if there is no expense with that id
+     */
+    boolean updateStatus(String id, String status, long updatedAtMillis);
+
+    List<Expense> findByUserId(String userId);
+    List<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate);
+    void deleteById(String id);
+
+    /*
+     * Listings take the view to read. A SUMMARY listing may leave every field that ExpenseSummary does not
+     * show unset, so its expenses must not be written back.
+     */
+    Page<Expense> findByUserId(String userId, int limit, String cursor, ExpenseView view);
+    Page<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate, int limit,
+                                           String cursor, ExpenseView view);
+    List<Expense> findByCategory(String category, ExpenseView view);
+    List<Expense> findByStatus(String status, ExpenseView view);
+
+    default Page<Expense> findByUserId(String userId, int limit, String cursor) {
+        return findByUserId(userId, limit, cursor, ExpenseView.FULL);
+    }
+
+    default Page<Expense> findByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                   int limit, String cursor) {
+        return findByUserIdAndDateRange(userId, startDate, endDate, limit, cursor, ExpenseView.FULL);
+    }
+
+    default List<Expense> findByCategory(String category) {
+        return findByCategory(category, ExpenseView.FULL);
+    }
+
+    default List<Expense> findByStatus(String status) {
+        return findByStatus(status, ExpenseView.FULL);
+    }
+
+    /**
+     * Streams every expense in the table, optionally restricted to a category and/or status, to
+     * {@code consumer} on the calling thread. Intended for cross-user reports that cannot be served by an index.
+     */
+    void scanAll(String category, String status, Consumer<Expense> consumer);
+} 
\ No newline at end of file
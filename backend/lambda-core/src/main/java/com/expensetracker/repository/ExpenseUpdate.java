@@ -0,0 +1,218 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.expensetracker.model.MinorUnits;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The expressions for changing a stored expense with one conditional {@code UpdateItem}, instead of reading
+ * it and putting the whole item back. Every update requires the item to exist and increments its
+ * {@code version}; items written before versioning start from 0.
+ *
+ * <p>When the write is rejected, request {@code ALL_OLD} on condition-check failure and pass the returned
+ * item to {@link #conditionFailed} to tell a missing expense from a version conflict without another read.
+ * A patch of the amount alone is written in the currency read from the stored expense and conditioned on it;
+ * if the currency has changed since, {@link #storedCurrency} gives the one to write it again in.
+ */
+public final class ExpenseUpdate {
+    // Attributes ExpenseItemCodec may leave out; a replacement removes any the new expense does not have.
+    // createdAt and status are not replaced, and amountMinor is always written so a legacy amount can go.
+    private static final List<String> OPTIONAL_ATTRIBUTES = List.of(
+        "userId", "description", ExpenseItemCodec.CURRENCY_ATTRIBUTE, "category", "date", "updatedAt",
+        "receiptUrl", "notes", ExpenseItemCodec.LEGACY_AMOUNT_ATTRIBUTE);
+    // Writes of an amount patched alone, each after the stored currency was found to have changed
+    public static final int MAX_PATCH_ATTEMPTS = 3;
+    private static final String INCREMENT_VERSION = "#version = if_not_exists(#version, :zero) + :one";
+
+    private final String updateExpression;
+    private final String conditionExpression;
+    private final Map<String, String> names;
+    private final Map<String, AttributeValue> values;
+
+    private ExpenseUpdate(String updateExpression, String conditionExpression, Map<String, String> names,
+                          Map<String, AttributeValue> values) {
+        this.updateExpression = updateExpression;
+        this.conditionExpression = conditionExpression;
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * Replaces every attribute of the stored expense except its key, {@code createdAt} and its status, as a
+     * {@code PutItem} of the same expense would otherwise. The status is left to {@link #status}, so a client
+     * cannot mark an expense processed. When the expense carries a non-zero version the write only succeeds if
+     * the stored expense is still at that version.
+     */
+    public static ExpenseUpdate replace(Expense expense) {
+        Map<String, AttributeValue> item = ExpenseItemCodec.encode(expense);
+        item.remove("id");
+        item.remove("createdAt");
+        item.remove("status");
+        item.remove(ExpenseIndexes.STATUS_SHARD_ATTRIBUTE);
+        item.remove(ExpenseItemCodec.VERSION_ATTRIBUTE);
+
+        Set<String> attributes = new LinkedHashSet<>(item.keySet());
+        attributes.addAll(OPTIONAL_ATTRIBUTES);
+        return assign(item, attributes, expense.getVersion());
+    }
+
+    /**
+     * Writes only the attributes behind the patched fields, plus {@code updatedAt}, so the size of the write
+     * follows the size of the change rather than of the item. An amount patched alone is taken to be in
+     * {@link MinorUnits#DEFAULT_CURRENCY}; pass the stored currency to the other form instead.
+     */
+    public static ExpenseUpdate patch(String id, ExpensePatch patch, long updatedAtMillis) {
+        return patch(id, patch, updatedAtMillis, MinorUnits.DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Like {@link #patch(String, ExpensePatch, long)}, converting an amount patched alone in
+     * {@code storedCurrency}. The write then only succeeds if the expense is still stored in that currency.
+     *
+     * @param storedCurrency the currency read from the stored expense, or null for the default
+     * @throws IllegalArgumentException if the amount has more decimal places than {@code storedCurrency} allows
+     */
+    public static ExpenseUpdate patch(String id, ExpensePatch patch, long updatedAtMillis, String storedCurrency) {
+        Map<String, AttributeValue> item = ExpenseItemCodec.encode(patch.getValues().toBuilder()
+            .id(id)
+            .amountMinor(patch.amountMinor(storedCurrency))
+            .updatedAtMillis(updatedAtMillis)
+            .build());
+
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("updatedAt");
+        for (String field : patch.getFields()) {
+            switch (field) {
+                case "amount" -> {
+                    attributes.add(ExpenseItemCodec.AMOUNT_MINOR_ATTRIBUTE);
+                    attributes.add(ExpenseItemCodec.LEGACY_AMOUNT_ATTRIBUTE);
+                }
+                default -> attributes.add(field);
+            }
+        }
+        ExpenseUpdate update = assign(item, attributes, patch.getExpectedVersion());
+        if (!patch.isAmountInStoredCurrency()) {
+            return update;
+        }
+
+        // Items in the default currency leave it out
+        String currency = ExpenseAggregates.currency(storedCurrency);
+        update.names.put("#storedCurrency", ExpenseItemCodec.CURRENCY_ATTRIBUTE);
+        update.values.put(":storedCurrency", new AttributeValue(currency));
+        String inStoredCurrency = MinorUnits.DEFAULT_CURRENCY.equals(currency)
+            ? "(attribute_not_exists(#storedCurrency) OR #storedCurrency = :storedCurrency)"
+            : "#storedCurrency = :storedCurrency";
+        return new ExpenseUpdate(update.updateExpression, update.conditionExpression + " AND " + inStoredCurrency,
+            update.names, update.values);
+    }
+
+    /**
+     * @param storedCurrency the currency the rejected patch was written in, or null for the default
+     * @param current        the item returned with the failed condition check; null or empty if there is none
+     * @return the currency to write an amount patched alone in again, when the patch was rejected only because
+     *         the expense is stored in another currency; null when the rejection stands
+     */
+    public static String storedCurrency(ExpensePatch patch, String storedCurrency,
+                                        Map<String, AttributeValue> current) {
+        if (!patch.isAmountInStoredCurrency() || current == null || current.isEmpty()) {
+            return null;
+        }
+        if (patch.getExpectedVersion() != 0L && patch.getExpectedVersion() != ExpenseItemCodec.version(current)) {
+            return null;
+        }
+        String currency = ExpenseAggregates.currency(ExpenseItemCodec.currency(current));
+        return currency.equals(ExpenseAggregates.currency(storedCurrency)) ? null : currency;
+    }
+
+    /**
+     * Moves the stored expense to {@code status}, whatever its version, keeping {@code statusShard} in step.
+     */
+    public static ExpenseUpdate status(String id, String status, long updatedAtMillis) {
+        Map<String, String> names = versionNames();
+        names.put("#status", "status");
+        names.put("#statusShard", ExpenseIndexes.STATUS_SHARD_ATTRIBUTE);
+        names.put("#updatedAt", "updatedAt");
+        Map<String, AttributeValue> values = versionValues();
+        values.put(":status", new AttributeValue(status));
+        values.put(":statusShard", new AttributeValue(ExpenseIndexes.statusShard(status, id)));
+        values.put(":updatedAt", ExpenseItemCodec.number(updatedAtMillis));
+        return new ExpenseUpdate(
+            "SET #status = :status, #statusShard = :statusShard, #updatedAt = :updatedAt, " + INCREMENT_VERSION,
+            "attribute_exists(id)", names, values);
+    }
+
+    /**
+     * @param current the item returned with the failed condition check; null or empty if there is none
+     */
+    public static RuntimeException conditionFailed(String id, long expectedVersion, Map<String, AttributeValue> current) {
+        if (current == null || current.isEmpty()) {
+            return new ExpenseNotFoundException(id);
+        }
+        return new ExpenseVersionConflictException(id, expectedVersion, ExpenseItemCodec.version(current));
+    }
+
+    public String getUpdateExpression() {
+        return updateExpression;
+    }
+
+    public String getConditionExpression() {
+        return conditionExpression;
+    }
+
+    public Map<String, String> getNames() {
+        return names;
+    }
+
+    public Map<String, AttributeValue> getValues() {
+        return values;
+    }
+
+    // SETs each of the attributes that item has and REMOVEs the rest
+    private static ExpenseUpdate assign(Map<String, AttributeValue> item, Set<String> attributes,
+                                        long expectedVersion) {
+        Map<String, String> names = versionNames();
+        Map<String, AttributeValue> values = versionValues();
+        List<String> sets = new ArrayList<>(attributes.size() + 1);
+        List<String> removes = new ArrayList<>();
+        for (String name : attributes) {
+            names.put("#" + name, name);
+            AttributeValue value = item.get(name);
+            if (value != null) {
+                values.put(":" + name, value);
+                sets.add("#" + name + " = :" + name);
+            } else {
+                removes.add("#" + name);
+            }
+        }
+        sets.add(INCREMENT_VERSION);
+
+        String condition = "attribute_exists(id)";
+        if (expectedVersion != 0L) {
+            condition += " AND #version = :expectedVersion";
+            values.put(":expectedVersion", ExpenseItemCodec.number(expectedVersion));
+        }
+        String update = "SET " + String.join(", ", sets)
+            + (removes.isEmpty() ? "" : " REMOVE " + String.join(", ", removes));
+        return new ExpenseUpdate(update, condition, names, values);
+    }
+
+    private static Map<String, String> versionNames() {
+        Map<String, String> names = new HashMap<>();
+        names.put("#version", ExpenseItemCodec.VERSION_ATTRIBUTE);
+        return names;
+    }
+
+    private static Map<String, AttributeValue> versionValues() {
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":zero", ExpenseItemCodec.number(0L));
+        values.put(":one", ExpenseItemCodec.number(1L));
+        return values;
+    }
+}
@@ -0,0 +1,23 @@
+package com.expensetracker.repository;
+
+/**
+ * Thrown when an update names the version it read and the stored expense has been written since.
+ */
+public class ExpenseVersionConflictException extends RuntimeException {
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public ExpenseVersionConflictException(String id, long expectedVersion, long currentVersion) {
+        super("Expense " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
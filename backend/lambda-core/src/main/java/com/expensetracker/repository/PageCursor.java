@@ -0,0 +1,51 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes a DynamoDB {@code LastEvaluatedKey} as an opaque, URL-safe cursor and back.
+ * Only string and number key attributes are supported, which covers every table and index key we define.
+ */
+public final class PageCursor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Map<String, String>>> KEY_TYPE = new TypeReference<>() {};
+
+    private PageCursor() {
+    }
+
+    public static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        Map<String, Map<String, String>> key = new LinkedHashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name,
+            value.getN() != null ? Map.of("N", value.getN()) : Map.of("S", value.getS())));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(key));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode page cursor", e);
+        }
+    }
+
+    public static Map<String, AttributeValue> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            Map<String, Map<String, String>> key = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEY_TYPE);
+            Map<String, AttributeValue> exclusiveStartKey = new HashMap<>();
+            key.forEach((name, value) -> exclusiveStartKey.put(name,
+                value.containsKey("N") ? new AttributeValue().withN(value.get("N")) : new AttributeValue(value.get("S"))));
+            return exclusiveStartKey;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs a DynamoDB parallel scan: one worker per segment follows {@code LastEvaluatedKey} through its
+ * segment and hands items to the caller through a bounded queue. The consumer runs on the calling
+ * thread, and the queue bound applies back-pressure to the workers, so heap use stays flat however
+ * large the table is.
+ *
+ * <p>Workers come from the given {@link ThreadFactory}; the API passes a virtual-thread factory when it
+ * runs on virtual threads, since the workers spend nearly all their time blocked on DynamoDB.
+ */
+public class ParallelScanner {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final Object SEGMENT_DONE = new Object();
+
+    private final AmazonDynamoDB dynamoDB;
+    private final int totalSegments;
+    private final int queueCapacity;
+    private final ThreadFactory threadFactory;
+
+    public ParallelScanner(AmazonDynamoDB dynamoDB, int totalSegments) {
+        this(dynamoDB, totalSegments, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ParallelScanner(AmazonDynamoDB dynamoDB, int totalSegments, int queueCapacity) {
+        this(dynamoDB, totalSegments, queueCapacity, Executors.defaultThreadFactory());
+    }
+
+    public ParallelScanner(AmazonDynamoDB dynamoDB, int totalSegments, int queueCapacity, ThreadFactory threadFactory) {
+        if (totalSegments < 1) {
+            throw new IllegalArgumentException("totalSegments must be at least 1");
+        }
+        this.dynamoDB = dynamoDB;
+        this.totalSegments = totalSegments;
+        this.queueCapacity = queueCapacity;
+        this.threadFactory = threadFactory;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void scan(ScanRequest template, Consumer<Map<String, AttributeValue>> consumer) {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(totalSegments, threadFactory);
+        try {
+            for (int i = 0; i < totalSegments; i++) {
+                int segment = i;
+                executor.execute(() -> {
+                    try {
+                        scanSegment(template, segment, queue);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } catch (InterruptedException e) {
+                        // Cancelled by the caller; nothing left to report
+                        return;
+                    }
+                    signalDone(queue);
+                });
+            }
+
+            int finished = 0;
+            while (finished < totalSegments) {
+                Object next = queue.take();
+                if (failure.get() != null) {
+                    throw failure.get();
+                }
+                if (next == SEGMENT_DONE) {
+                    finished++;
+                } else {
+                    consumer.accept((Map<String, AttributeValue>) next);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel scan interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void signalDone(BlockingQueue<Object> queue) {
+        try {
+            queue.put(SEGMENT_DONE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scanSegment(ScanRequest template, int segment, BlockingQueue<Object> queue) throws InterruptedException {
+        Map<String, AttributeValue> lastEvaluatedKey = null;
+        do {
+            ScanRequest scanRequest = template.clone()
+                .withSegment(segment)
+                .withTotalSegments(totalSegments)
+                .withExclusiveStartKey(lastEvaluatedKey);
+            ScanResult result = dynamoDB.scan(scanRequest);
+            for (Map<String, AttributeValue> item : result.getItems()) {
+                queue.put(item);
+            }
+            lastEvaluatedKey = result.getLastEvaluatedKey();
+        } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty() && !Thread.currentThread().isInterrupted());
+    }
+}
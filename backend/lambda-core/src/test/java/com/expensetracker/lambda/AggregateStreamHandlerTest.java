@@ -0,0 +1,181 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.InternalServerErrorException;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AggregateStreamHandlerTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Mock
+    private Context context;
+
+    private AggregateStreamHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new AggregateStreamHandler(dynamoDB, "test-aggregates");
+        lenient().when(context.getLogger()).thenReturn(mock(LambdaLogger.class));
+    }
+
+    @Test
+    void handleRequest_MovesProcessedExpenseToItsNewMonthAndCategory() {
+        when(dynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(new TransactWriteItemsResult());
+
+        StreamsEventResponse response = handler.handleRequest(event(record("e1", "100",
+            image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel"),
+            image("PROCESSED", "1000", "2024-06-01T00:00:00", "Food"))), context);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        TransactWriteItemsRequest request = transaction();
+        assertEquals("e1", request.getClientRequestToken());
+        Update removed = request.getTransactItems().get(0).getUpdate();
+        Update added = request.getTransactItems().get(1).getUpdate();
+        assertEquals("test-aggregates", removed.getTableName());
+        assertEquals("2024-05#USD#Travel", removed.getKey().get("period").getS());
+        assertEquals("-42.50", removed.getExpressionAttributeValues().get(":amount").getN());
+        assertEquals("-1", removed.getExpressionAttributeValues().get(":count").getN());
+        assertEquals("2024-06#USD#Food", added.getKey().get("period").getS());
+        assertEquals("10.00", added.getExpressionAttributeValues().get(":amount").getN());
+        assertEquals("1", added.getExpressionAttributeValues().get(":count").getN());
+    }
+
+    @Test
+    void handleRequest_AppliesAmountChangeAsOneDifference() {
+        when(dynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(new TransactWriteItemsResult());
+
+        handler.handleRequest(event(record("e1", "100",
+            image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel"),
+            image("PROCESSED", "5000", "2024-05-20T00:00:00", "Travel"))), context);
+
+        Update update = transaction().getTransactItems().get(0).getUpdate();
+        assertEquals(1, transaction().getTransactItems().size());
+        assertEquals("7.50", update.getExpressionAttributeValues().get(":amount").getN());
+        assertEquals("0", update.getExpressionAttributeValues().get(":count").getN());
+    }
+
+    @Test
+    void handleRequest_TakesDeletedAndReopenedExpensesOutOfTotals() {
+        when(dynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(new TransactWriteItemsResult());
+
+        handler.handleRequest(event(
+            record("e1", "100", image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel"), null),
+            record("e2", "101", image("PROCESSED", "1000", "2024-05-14T09:30:00", "Travel"),
+                image("PENDING", "1000", "2024-05-14T09:30:00", "Travel"))), context);
+
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDB, times(2)).transactWriteItems(captor.capture());
+        assertEquals("-42.50", captor.getAllValues().get(0).getTransactItems().get(0).getUpdate()
+            .getExpressionAttributeValues().get(":amount").getN());
+        assertEquals("-10.00", captor.getAllValues().get(1).getTransactItems().get(0).getUpdate()
+            .getExpressionAttributeValues().get(":amount").getN());
+    }
+
+    @Test
+    void handleRequest_CountsExpensesThatBecomeProcessed() {
+        when(dynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(new TransactWriteItemsResult());
+
+        handler.handleRequest(event(
+            record("e1", "100", image("PENDING", "4250", "2024-05-14T09:30:00", "Travel"),
+                image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel")),
+            record("e2", "101", null, image("PROCESSED", "1000", "2024-05-14T09:30:00", "Travel"))), context);
+
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDB, times(2)).transactWriteItems(captor.capture());
+        Update processed = captor.getAllValues().get(0).getTransactItems().get(0).getUpdate();
+        assertEquals("2024-05#USD#Travel", processed.getKey().get("period").getS());
+        assertEquals("42.50", processed.getExpressionAttributeValues().get(":amount").getN());
+        assertEquals("1", processed.getExpressionAttributeValues().get(":count").getN());
+        assertEquals("10.00", captor.getAllValues().get(1).getTransactItems().get(0).getUpdate()
+            .getExpressionAttributeValues().get(":amount").getN());
+    }
+
+    @Test
+    void handleRequest_IgnoresChangesThatDoNotAffectTotals() {
+        StreamsEventResponse response = handler.handleRequest(event(
+            record("e1", "100", null, image("PENDING", "4250", "2024-05-14T09:30:00", "Travel")),
+            record("e2", "101", image("PENDING", "4250", "2024-05-14T09:30:00", "Travel"),
+                image("PENDING", "5000", "2024-05-14T09:30:00", "Travel")),
+            record("e3", "102", image("PROCESSED", "4250", null, "Travel"), null),
+            record("e4", "103", image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel"),
+                image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel"))), context);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        verifyNoInteractions(dynamoDB);
+    }
+
+    @Test
+    void handleRequest_ResumesFromFailedRecord() {
+        when(dynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+            .thenReturn(new TransactWriteItemsResult())
+            .thenThrow(new InternalServerErrorException("Internal error"));
+
+        StreamsEventResponse response = handler.handleRequest(event(
+            record("e1", "100", image("PROCESSED", "4250", "2024-05-14T09:30:00", "Travel"), null),
+            record("e2", "101", image("PROCESSED", "1000", "2024-05-14T09:30:00", "Travel"), null),
+            record("e3", "102", image("PROCESSED", "1000", "2024-05-14T09:30:00", "Travel"), null)), context);
+
+        assertEquals(1, response.getBatchItemFailures().size());
+        assertEquals("101", response.getBatchItemFailures().get(0).getItemIdentifier());
+        verify(dynamoDB, times(2)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    private TransactWriteItemsRequest transaction() {
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDB).transactWriteItems(captor.capture());
+        return captor.getValue();
+    }
+
+    private DynamodbEvent event(DynamodbEvent.DynamodbStreamRecord... records) {
+        DynamodbEvent event = new DynamodbEvent();
+        event.setRecords(Arrays.asList(records));
+        return event;
+    }
+
+    private DynamodbEvent.DynamodbStreamRecord record(String eventId, String sequenceNumber,
+                                                      Map<String, AttributeValue> oldImage,
+                                                      Map<String, AttributeValue> newImage) {
+        DynamodbEvent.DynamodbStreamRecord record = new DynamodbEvent.DynamodbStreamRecord();
+        record.setEventID(eventId);
+        record.setEventName(oldImage == null ? "INSERT" : newImage == null ? "REMOVE" : "MODIFY");
+        record.setDynamodb(new StreamRecord().withSequenceNumber(sequenceNumber)
+            .withOldImage(oldImage).withNewImage(newImage));
+        return record;
+    }
+
+    private Map<String, AttributeValue> image(String status, String amountMinor, String date, String category) {
+        Map<String, AttributeValue> image = new HashMap<>();
+        image.put("id", new AttributeValue().withS("expense-1"));
+        image.put("userId", new AttributeValue().withS("test-user-id"));
+        image.put("amountMinor", new AttributeValue().withN(amountMinor));
+        image.put("status", new AttributeValue().withS(status));
+        if (date != null) {
+            image.put("date", new AttributeValue().withS(date));
+        }
+        image.put("category", new AttributeValue().withS(category));
+        return image;
+    }
+}
@@ -0,0 +1,173 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.expensetracker.lambda.model.ExpenseRequest;
+import com.expensetracker.model.BatchItemResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchCreateExpenseHandlerTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Mock
+    private AmazonSQS sqs;
+
+    @Mock
+    private Context context;
+
+    private BatchCreateExpenseHandler handler;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = ObjectMappers.create();
+        handler = new BatchCreateExpenseHandler(dynamoDB, sqs, objectMapper, "test-table", "test-queue");
+    }
+
+    @Test
+    void handleRequest_ReportsPerItemResults() throws Exception {
+        // First write leaves the third item unprocessed; the retry leaves it unprocessed again until attempts run out
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            List<WriteRequest> writes = request.getRequestItems().get("test-table");
+            WriteRequest last = writes.get(writes.size() - 1);
+            return new BatchWriteItemResult().withUnprocessedItems(Map.of("test-table", List.of(last)));
+        });
+        // SQS rejects the second entry as a sender fault
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            String secondId = request.getEntries().get(1).getId();
+            return new SendMessageBatchResult().withFailed(
+                new BatchResultErrorEntry().withId(secondId).withSenderFault(true).withCode("InvalidMessageContents"));
+        });
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(request(3), context);
+
+        assertEquals(200, response.getStatusCode());
+        List<BatchItemResult> results = objectMapper.readValue(
+            response.getBody(),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, BatchItemResult.class)
+        );
+        assertEquals(3, results.size());
+        assertEquals(BatchItemResult.CREATED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.FAILED, results.get(1).getStatus());
+        assertTrue(results.get(1).getError().contains("processing queue"));
+        assertEquals(BatchItemResult.FAILED, results.get(2).getStatus());
+        assertEquals("Failed to save expense", results.get(2).getError());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertNotNull(results.get(i).getId());
+        }
+
+        // One SendMessageBatch for the two saved expenses, no resend of the sender fault
+        verify(sqs, times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void handleRequest_SendsEachExpenseInItsOwnMessageGroup() throws Exception {
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult());
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(new SendMessageBatchResult());
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(request(2), context);
+
+        assertEquals(200, response.getStatusCode());
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqs).sendMessageBatch(captor.capture());
+        List<SendMessageBatchRequestEntry> entries = captor.getValue().getEntries();
+        assertEquals(2, entries.size());
+        for (SendMessageBatchRequestEntry entry : entries) {
+            // FIFO queues reject entries without a group id
+            assertEquals(entry.getId(), entry.getMessageGroupId());
+        }
+    }
+
+    @Test
+    void handleRequest_ReportsInvalidEntriesAtTheirIndex() throws Exception {
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult());
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(new SendMessageBatchResult());
+        List<ExpenseRequest> expenses = expenses(3);
+        expenses.get(1).setCurrency("XYZ");
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(request(expenses), context);
+
+        assertEquals(200, response.getStatusCode());
+        List<BatchItemResult> results = objectMapper.readValue(
+            response.getBody(),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, BatchItemResult.class)
+        );
+        assertEquals(BatchItemResult.CREATED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.FAILED, results.get(1).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("Unknown currency: XYZ", results.get(1).getError());
+        assertEquals(BatchItemResult.CREATED, results.get(2).getStatus());
+
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDB).batchWriteItem(captor.capture());
+        assertEquals(2, captor.getValue().getRequestItems().get("test-table").size());
+    }
+
+    @Test
+    void handleRequest_RejectsOversizedBatch() throws Exception {
+        APIGatewayProxyResponseEvent response = handler.handleRequest(
+            request(BatchCreateExpenseHandler.MAX_BATCH_SIZE + 1), context);
+
+        assertEquals(400, response.getStatusCode());
+        verifyNoInteractions(dynamoDB, sqs);
+    }
+
+    private APIGatewayProxyRequestEvent request(int count) throws Exception {
+        return request(expenses(count));
+    }
+
+    private static List<ExpenseRequest> expenses(int count) {
+        List<ExpenseRequest> expenses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ExpenseRequest expense = new ExpenseRequest();
+            expense.setDescription("Offline expense " + i);
+            expense.setAmount(new BigDecimal("12.50"));
+            expense.setCategory("Food");
+            expense.setDate(LocalDateTime.now());
+            expense.setReceiptUrl("https://example.com/receipt.jpg");
+            expense.setNotes("Synced");
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    private APIGatewayProxyRequestEvent request(List<ExpenseRequest> expenses) throws Exception {
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        input.setBody(objectMapper.writeValueAsString(expenses));
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+        return input;
+    }
+}
@@ -0,0 +1,343 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.model.ExpenseView;
+import com.expensetracker.repository.ExpenseProjection;
+import com.expensetracker.repository.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetExpensesHandlerTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Mock
+    private Context context;
+
+    private GetExpensesHandler handler;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GetExpensesHandler(dynamoDB, ObjectMappers.create(), "test-table");
+        objectMapper = ObjectMappers.create();
+        lenient().when(context.getLogger()).thenReturn(mock(LambdaLogger.class));
+    }
+
+    @Test
+    void handleRequest_GetAllExpenses() throws Exception {
+        // Prepare test data
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+
+        // Mock DynamoDB response
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue("test-id"));
+        item.put("userId", new AttributeValue("test-user-id"));
+        item.put("description", new AttributeValue("Test Expense"));
+        item.put("amount", new AttributeValue("100.00"));
+        item.put("category", new AttributeValue("Food"));
+        item.put("date", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("status", new AttributeValue("PROCESSED"));
+        item.put("createdAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("updatedAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("receiptUrl", new AttributeValue("https://example.com/receipt.jpg"));
+        item.put("notes", new AttributeValue("Test notes"));
+        items.add(item);
+
+        QueryResult queryResult = new QueryResult().withItems(items);
+        when(dynamoDB.query(any(QueryRequest.class))).thenReturn(queryResult);
+
+        // Execute test
+        APIGatewayProxyResponseEvent response = handler.handleRequest(input, context);
+
+        // Verify results
+        assertEquals(200, response.getStatusCode());
+        assertNotNull(response.getBody());
+        
+        // Parse response body
+        List<ExpenseResponse> expenses = objectMapper.readValue(
+            response.getBody(),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, ExpenseResponse.class)
+        );
+        assertEquals(1, expenses.size());
+        assertEquals("test-id", expenses.get(0).getId());
+        assertEquals("Test Expense", expenses.get(0).getDescription());
+        assertEquals(new BigDecimal("100.00"), expenses.get(0).getAmount());
+        
+        // Verify DynamoDB was called
+        verify(dynamoDB).query(any(QueryRequest.class));
+    }
+
+    @Test
+    void handleRequest_GetExpensesByDateRange() throws Exception {
+        // Prepare test data
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+
+        // Set query parameters
+        Map<String, String> queryParams = new HashMap<>();
+        queryParams.put("startDate", LocalDateTime.now().minusDays(7).toString());
+        queryParams.put("endDate", LocalDateTime.now().toString());
+        input.setQueryStringParameters(queryParams);
+
+        // Mock DynamoDB response
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue("test-id"));
+        item.put("userId", new AttributeValue("test-user-id"));
+        item.put("description", new AttributeValue("Test Expense"));
+        item.put("amount", new AttributeValue("100.00"));
+        item.put("category", new AttributeValue("Food"));
+        item.put("date", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("status", new AttributeValue("PROCESSED"));
+        item.put("createdAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("updatedAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("receiptUrl", new AttributeValue("https://example.com/receipt.jpg"));
+        item.put("notes", new AttributeValue("Test notes"));
+        items.add(item);
+
+        QueryResult queryResult = new QueryResult().withItems(items);
+        when(dynamoDB.query(any(QueryRequest.class))).thenReturn(queryResult);
+
+        // Execute test
+        APIGatewayProxyResponseEvent response = handler.handleRequest(input, context);
+
+        // Verify results
+        assertEquals(200, response.getStatusCode());
+        assertNotNull(response.getBody());
+        
+        // Parse response body
+        List<ExpenseResponse> expenses = objectMapper.readValue(
+            response.getBody(),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, ExpenseResponse.class)
+        );
+        assertEquals(1, expenses.size());
+        assertEquals("test-id", expenses.get(0).getId());
+        assertEquals("Test Expense", expenses.get(0).getDescription());
+        assertEquals(new BigDecimal("100.00"), expenses.get(0).getAmount());
+        
+        // Verify DynamoDB was called with date range parameters
+        verify(dynamoDB).query(any(QueryRequest.class));
+    }
+
+    @Test
+    void handleRequest_DynamoDBError() throws Exception {
+        // Prepare test data
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+
+        // Mock DynamoDB error
+        when(dynamoDB.query(any(QueryRequest.class))).thenThrow(new RuntimeException("DynamoDB error"));
+
+        // Execute test
+        APIGatewayProxyResponseEvent response = handler.handleRequest(input, context);
+
+        // Verify results
+        assertEquals(500, response.getStatusCode());
+        assertTrue(response.getBody().contains("error"));
+        
+        // Verify DynamoDB was called
+        verify(dynamoDB).query(any(QueryRequest.class));
+    }
+
+    @Test
+    void handleRequest_ReturnsNextCursorAndResumesFromIt() throws Exception {
+        handler = new GetExpensesHandler(dynamoDB, new ObjectMapper().findAndRegisterModules(), "test-table");
+
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+        input.setQueryStringParameters(new HashMap<>(Map.of("limit", "1")));
+
+        Map<String, AttributeValue> lastKey = Map.of(
+            "id", new AttributeValue("test-id"),
+            "userId", new AttributeValue("test-user-id"),
+            "date", new AttributeValue("2024-01-01T00:00"));
+        when(dynamoDB.query(any(QueryRequest.class)))
+            .thenReturn(new QueryResult().withItems(Collections.emptyList()).withLastEvaluatedKey(lastKey))
+            .thenReturn(new QueryResult().withItems(Collections.emptyList()));
+
+        // First page carries a cursor
+        APIGatewayProxyResponseEvent first = handler.handleRequest(input, context);
+        assertEquals(200, first.getStatusCode());
+        String cursor = first.getHeaders().get(GetExpensesHandler.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        // Second page resumes from the encoded key and is the last one
+        input.getQueryStringParameters().put("cursor", cursor);
+        APIGatewayProxyResponseEvent second = handler.handleRequest(input, context);
+        assertEquals(200, second.getStatusCode());
+        assertFalse(second.getHeaders().containsKey(GetExpensesHandler.NEXT_CURSOR_HEADER));
+
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDB, times(2)).query(captor.capture());
+        assertEquals(1, captor.getAllValues().get(0).getLimit());
+        assertNull(captor.getAllValues().get(0).getExclusiveStartKey());
+        assertEquals(lastKey, captor.getAllValues().get(1).getExclusiveStartKey());
+        assertEquals(lastKey, PageCursor.decode(cursor));
+    }
+
+    @Test
+    void handleRequest_FullListingFromIncludeIndexFetchesItemsInIndexOrder() throws Exception {
+        handler = new GetExpensesHandler(dynamoDB, new ObjectMapper().findAndRegisterModules(), "test-table", false);
+
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", Map.of("sub", "test-user-id")));
+
+        when(dynamoDB.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(List.of(
+            Map.of("id", new AttributeValue("first")),
+            Map.of("id", new AttributeValue("deleted")),
+            Map.of("id", new AttributeValue("second")))));
+        Map<String, AttributeValue> second = fullItem("second");
+        when(dynamoDB.batchGetItem(any(BatchGetItemRequest.class)))
+            .thenReturn(new BatchGetItemResult()
+                .withResponses(Map.of("test-table", List.of(second)))
+                .withUnprocessedKeys(Map.of("test-table", new KeysAndAttributes()
+                    .withKeys(List.of(Map.of("id", new AttributeValue("first")))))))
+            .thenReturn(new BatchGetItemResult().withResponses(Map.of("test-table", List.of(fullItem("first")))));
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(input, context);
+
+        assertEquals(200, response.getStatusCode());
+        List<Map<String, Object>> expenses = objectMapper.readValue(response.getBody(), List.class);
+        assertEquals(List.of("first", "second"), expenses.stream().map(expense -> expense.get("id")).toList());
+        assertEquals("Test notes", expenses.get(0).get("notes"));
+
+        ArgumentCaptor<QueryRequest> query = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDB).query(query.capture());
+        assertEquals(ExpenseProjection.KEYS_EXPRESSION, query.getValue().getProjectionExpression());
+        verify(dynamoDB, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void handleRequest_InvalidCursor() {
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+        input.setQueryStringParameters(Map.of("cursor", "not-a-cursor"));
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(input, context);
+
+        assertEquals(400, response.getStatusCode());
+        verifyNoInteractions(dynamoDB);
+    }
+
+    @Test
+    void buildQuery_SummaryFieldsProjectListAttributes() throws Exception {
+        QueryRequest query = GetExpensesHandler.buildQuery("test-table", "test-user-id", Map.of(
+            "fields", "summary", "startDate", "2024-01-01T00:00:00", "endDate", "2024-01-31T23:59:59"), true);
+
+        assertEquals(ExpenseProjection.SUMMARY_EXPRESSION, query.getProjectionExpression());
+        assertEquals("date", query.getExpressionAttributeNames().get("#date"));
+        assertEquals("description", query.getExpressionAttributeNames().get("#description"));
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue("test-id"));
+        item.put("amountMinor", new AttributeValue().withN("1050"));
+        item.put("date", new AttributeValue("2024-01-15T10:00:00"));
+        String json = ObjectMappers.create().writeValueAsString(GetExpensesHandler.mapItem(item, ExpenseView.SUMMARY));
+        assertTrue(json.contains("\"amount\":10.50"));
+        assertFalse(json.contains("notes"));
+    }
+
+    @Test
+    void mapToExpenseResponse_ReadsLegacyAndMinorUnitItems() {
+        Map<String, AttributeValue> legacy = new HashMap<>();
+        legacy.put("id", new AttributeValue("legacy-id"));
+        legacy.put("amount", new AttributeValue("100.50"));
+        legacy.put("date", new AttributeValue("2024-05-14T09:30:00"));
+        legacy.put("createdAt", new AttributeValue("2024-05-14T09:30:00"));
+
+        Map<String, AttributeValue> current = new HashMap<>();
+        current.put("id", new AttributeValue("current-id"));
+        current.put("amountMinor", new AttributeValue().withN("10050"));
+        current.put("currency", new AttributeValue("USD"));
+        current.put("date", new AttributeValue("2024-05-14T09:30:00"));
+        current.put("createdAt", new AttributeValue().withN("1715679000000"));
+        for (Map<String, AttributeValue> item : List.of(legacy, current)) {
+            item.put("userId", new AttributeValue("test-user-id"));
+            item.put("description", new AttributeValue("Test Expense"));
+            item.put("category", new AttributeValue("Food"));
+            item.put("status", new AttributeValue("PENDING"));
+            item.put("updatedAt", item.get("createdAt"));
+            item.put("receiptUrl", new AttributeValue("https://example.com/receipt.jpg"));
+            item.put("notes", new AttributeValue("Test notes"));
+        }
+
+        ExpenseResponse fromLegacy = GetExpensesHandler.mapToExpenseResponse(legacy);
+        ExpenseResponse fromCurrent = GetExpensesHandler.mapToExpenseResponse(current);
+
+        assertEquals(10050L, fromLegacy.getAmountMinor());
+        assertEquals(10050L, fromCurrent.getAmountMinor());
+        assertEquals(new BigDecimal("100.50"), fromCurrent.getAmount());
+        assertEquals(LocalDateTime.parse("2024-05-14T09:30:00"), fromLegacy.getCreatedAt());
+        assertEquals(fromLegacy.getCreatedAtMillis(), fromCurrent.getCreatedAtMillis());
+    }
+
+    @Test
+    void checkpointHooks_TouchTableAndIgnoreFailures() throws Exception {
+        when(dynamoDB.getItem(any(GetItemRequest.class))).thenThrow(new RuntimeException("No network"));
+
+        handler.beforeCheckpoint(null);
+        handler.afterRestore(null);
+
+        verify(dynamoDB, times(2)).getItem(any(GetItemRequest.class));
+    }
+
+    private static Map<String, AttributeValue> fullItem(String id) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue(id));
+        item.put("userId", new AttributeValue("test-user-id"));
+        item.put("description", new AttributeValue("Test Expense"));
+        item.put("amountMinor", new AttributeValue().withN("1050"));
+        item.put("currency", new AttributeValue("USD"));
+        item.put("category", new AttributeValue("Food"));
+        item.put("date", new AttributeValue("2024-05-14T09:30:00"));
+        item.put("status", new AttributeValue("PENDING"));
+        item.put("notes", new AttributeValue("Test notes"));
+        return item;
+    }
+}
@@ -0,0 +1,113 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayHandlerTest {
+
+    @Mock
+    private AmazonSQS sqs;
+
+    @Mock
+    private Context context;
+
+    private OutboxRelayHandler handler;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = ObjectMappers.create();
+        handler = new OutboxRelayHandler(sqs, objectMapper, "test-queue.fifo");
+        lenient().when(context.getLogger()).thenReturn(mock(LambdaLogger.class));
+    }
+
+    @Test
+    void handleRequest_RelaysInsertsWithDeduplicationIds() throws Exception {
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(new SendMessageBatchResult());
+
+        StreamsEventResponse response = handler.handleRequest(
+            event(record("e1", "INSERT", "100", "expense-1"), record("e2", "MODIFY", "101", "expense-1"),
+                record("e3", "INSERT", "102", "expense-2")),
+            context);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqs).sendMessageBatch(captor.capture());
+        List<SendMessageBatchRequestEntry> entries = captor.getValue().getEntries();
+        assertEquals(2, entries.size());
+
+        SendMessageBatchRequestEntry first = entries.get(0);
+        assertEquals("e1", first.getMessageDeduplicationId());
+        assertEquals("expense-1", first.getMessageGroupId());
+        assertEquals("expense-1", objectMapper.readTree(first.getMessageBody()).get("id").asText());
+        assertEquals("12.50", objectMapper.readTree(first.getMessageBody()).get("amount").asText());
+        assertEquals("e3", entries.get(1).getMessageDeduplicationId());
+    }
+
+    @Test
+    void handleRequest_ResumesFromFirstUnsentRecord() {
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(new SendMessageBatchResult()
+            .withFailed(new BatchResultErrorEntry().withId("e3").withSenderFault(true).withCode("InvalidMessageContents")));
+
+        StreamsEventResponse response = handler.handleRequest(
+            event(record("e1", "INSERT", "100", "expense-1"), record("e2", "INSERT", "101", "expense-2"),
+                record("e3", "INSERT", "102", "expense-3"), record("e4", "INSERT", "103", "expense-4")),
+            context);
+
+        assertEquals(1, response.getBatchItemFailures().size());
+        assertEquals("102", response.getBatchItemFailures().get(0).getItemIdentifier());
+    }
+
+    @Test
+    void handleRequest_IgnoresBatchWithoutInserts() {
+        StreamsEventResponse response = handler.handleRequest(
+            event(record("e1", "REMOVE", "100", "expense-1")), context);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        verifyNoInteractions(sqs);
+    }
+
+    private DynamodbEvent event(DynamodbEvent.DynamodbStreamRecord... records) {
+        DynamodbEvent event = new DynamodbEvent();
+        event.setRecords(Arrays.asList(records));
+        return event;
+    }
+
+    private DynamodbEvent.DynamodbStreamRecord record(String eventId, String eventName, String sequenceNumber,
+                                                      String expenseId) {
+        Map<String, AttributeValue> image = new HashMap<>();
+        image.put("id", new AttributeValue().withS(expenseId));
+        image.put("userId", new AttributeValue().withS("test-user-id"));
+        image.put("amount", new AttributeValue().withN("12.50"));
+        image.put("status", new AttributeValue().withS("PENDING"));
+
+        DynamodbEvent.DynamodbStreamRecord record = new DynamodbEvent.DynamodbStreamRecord();
+        record.setEventID(eventId);
+        record.setEventName(eventName);
+        record.setDynamodb(new StreamRecord().withSequenceNumber(sequenceNumber).withNewImage(image));
+        return record;
+    }
+}
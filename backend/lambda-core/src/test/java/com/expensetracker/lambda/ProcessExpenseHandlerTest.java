@@ -0,0 +1,260 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessExpenseHandlerTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private LambdaLogger logger;
+
+    private ProcessExpenseHandler handler;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ProcessExpenseHandler(dynamoDB, new ObjectMapper(), "test-table");
+        objectMapper = new ObjectMapper();
+        lenient().when(context.getLogger()).thenReturn(logger);
+    }
+
+    @Test
+    void handleRequest_Success() throws Exception {
+        // Prepare test data
+        SQSEvent event = new SQSEvent();
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+        
+        Map<String, AttributeValue> expense = new HashMap<>();
+        expense.put("id", new AttributeValue("test-id"));
+        expense.put("userId", new AttributeValue("test-user-id"));
+        expense.put("description", new AttributeValue("Test Expense"));
+        expense.put("amount", new AttributeValue("100.00"));
+        expense.put("category", new AttributeValue("Food"));
+        expense.put("date", new AttributeValue(LocalDateTime.now().toString()));
+        expense.put("status", new AttributeValue("PENDING"));
+        expense.put("createdAt", new AttributeValue(LocalDateTime.now().toString()));
+        expense.put("updatedAt", new AttributeValue(LocalDateTime.now().toString()));
+        expense.put("receiptUrl", new AttributeValue("https://example.com/receipt.jpg"));
+        expense.put("notes", new AttributeValue("Test notes"));
+
+        message.setBody(objectMapper.writeValueAsString(expense));
+        event.setRecords(Collections.singletonList(message));
+
+        // Mock DynamoDB response
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult());
+
+        // Execute test
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        // Verify results
+        assertTrue(result.getBatchItemFailures().isEmpty());
+        
+        // Verify DynamoDB was called with correct parameters
+        verify(dynamoDB).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void handleRequest_InvalidMessageBody() throws Exception {
+        // Prepare test data with invalid message body
+        SQSEvent event = new SQSEvent();
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+        message.setMessageId("message-1");
+        message.setBody("invalid json");
+        event.setRecords(Collections.singletonList(message));
+
+        // Execute test and verify only this message is reported as failed
+        SQSBatchResponse result = handler.handleRequest(event, context);
+        assertEquals(List.of("message-1"), failedIds(result));
+        
+        // Verify DynamoDB was not called
+        verifyNoInteractions(dynamoDB);
+    }
+
+    @Test
+    void handleRequest_DynamoDBError() throws Exception {
+        // Prepare test data
+        SQSEvent event = new SQSEvent();
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+        
+        Map<String, AttributeValue> expense = new HashMap<>();
+        expense.put("id", new AttributeValue("test-id"));
+        expense.put("userId", new AttributeValue("test-user-id"));
+        expense.put("description", new AttributeValue("Test Expense"));
+        expense.put("amount", new AttributeValue("100.00"));
+        expense.put("category", new AttributeValue("Food"));
+        expense.put("date", new AttributeValue(LocalDateTime.now().toString()));
+        expense.put("status", new AttributeValue("PENDING"));
+        expense.put("createdAt", new AttributeValue(LocalDateTime.now().toString()));
+        expense.put("updatedAt", new AttributeValue(LocalDateTime.now().toString()));
+        expense.put("receiptUrl", new AttributeValue("https://example.com/receipt.jpg"));
+        expense.put("notes", new AttributeValue("Test notes"));
+
+        message.setMessageId("message-1");
+        message.setBody(objectMapper.writeValueAsString(expense));
+        event.setRecords(Collections.singletonList(message));
+
+        // Mock DynamoDB error
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenThrow(new RuntimeException("DynamoDB error"));
+
+        // Execute test and verify the message is reported as failed
+        SQSBatchResponse result = handler.handleRequest(event, context);
+        assertEquals(List.of("message-1"), failedIds(result));
+        
+        // Verify DynamoDB was called
+        verify(dynamoDB).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void handleRequest_EmptyEvent() {
+        // Prepare test data with empty event
+        SQSEvent event = new SQSEvent();
+        event.setRecords(Collections.emptyList());
+
+        // Execute test
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        // Verify results
+        assertTrue(result.getBatchItemFailures().isEmpty());
+        
+        // Verify DynamoDB was not called
+        verifyNoInteractions(dynamoDB);
+    }
+
+    @Test
+    void handleRequest_ReportsOnlyFailedMessages() throws Exception {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(
+            message("message-1", "expense-1", null),
+            message("message-2", "expense-fail", null),
+            message("message-3", "expense-3", null)));
+
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenAnswer(invocation -> {
+            UpdateItemRequest request = invocation.getArgument(0);
+            if ("expense-fail".equals(request.getKey().get("id").getS())) {
+                throw new RuntimeException("DynamoDB error");
+            }
+            return new UpdateItemResult();
+        });
+
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        assertEquals(List.of("message-2"), failedIds(result));
+        verify(dynamoDB, times(3)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void handleRequest_FailsRestOfFifoGroupAfterFirstFailure() throws Exception {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(
+            message("message-1", "expense-fail", "group-a"),
+            message("message-2", "expense-2", "group-a"),
+            message("message-3", "expense-3", "group-b")));
+
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenAnswer(invocation -> {
+            UpdateItemRequest request = invocation.getArgument(0);
+            if ("expense-fail".equals(request.getKey().get("id").getS())) {
+                throw new RuntimeException("DynamoDB error");
+            }
+            return new UpdateItemResult();
+        });
+
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        // message-2 is not attempted so group-a stays in order on redelivery
+        assertEquals(List.of("message-1", "message-2"), failedIds(result));
+        verify(dynamoDB, times(2)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void handleRequest_CoalescesDuplicateExpenseUpdates() throws Exception {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(
+            message("message-1", "expense-1", null),
+            message("message-2", "expense-1", null)));
+
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult());
+
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        assertTrue(result.getBatchItemFailures().isEmpty());
+        verify(dynamoDB, times(1)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void handleRequest_DeletedExpenseIsNotRetried() throws Exception {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(message("message-1", "expense-1", null)));
+
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class)))
+            .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        assertTrue(result.getBatchItemFailures().isEmpty());
+    }
+
+    @Test
+    void handleRequest_OnlyMarksExpensesNotYetProcessed() throws Exception {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(message("message-1", "expense-1", null)));
+
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult());
+
+        SQSBatchResponse result = handler.handleRequest(event, context);
+
+        assertTrue(result.getBatchItemFailures().isEmpty());
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDB).updateItem(captor.capture());
+        assertEquals("attribute_exists(id) AND (attribute_not_exists(#status) OR #status <> :status)",
+            captor.getValue().getConditionExpression());
+        assertEquals("PROCESSED", captor.getValue().getExpressionAttributeValues().get(":status").getS());
+        // The totals are maintained from the table's stream
+        verify(dynamoDB, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    private SQSEvent.SQSMessage message(String messageId, String expenseId, String groupId) throws Exception {
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+        message.setMessageId(messageId);
+        message.setBody(objectMapper.writeValueAsString(Map.of("id", expenseId)));
+        if (groupId != null) {
+            message.setAttributes(Map.of("MessageGroupId", groupId));
+        }
+        return message;
+    }
+
+    private List<String> failedIds(SQSBatchResponse response) {
+        return response.getBatchItemFailures().stream()
+            .map(SQSBatchResponse.BatchItemFailure::getItemIdentifier)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,171 @@
+package com.expensetracker.lambda;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.expensetracker.lambda.model.ExpenseResponse;
+import com.expensetracker.repository.PageCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingGetExpensesHandlerTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Mock
+    private Context context;
+
+    private StreamingGetExpensesHandler handler;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = ObjectMappers.create();
+        handler = new StreamingGetExpensesHandler(dynamoDB, objectMapper, "test-table");
+    }
+
+    @Test
+    void handleRequest_StreamsEveryPage() throws Exception {
+        Map<String, AttributeValue> lastKey = Map.of(
+            "id", new AttributeValue("expense-1"),
+            "userId", new AttributeValue("test-user-id"),
+            "date", new AttributeValue("2024-01-01T00:00"));
+        when(dynamoDB.query(any(QueryRequest.class)))
+            .thenReturn(new QueryResult().withItems(List.of(item("expense-1", "Lunch \"with\" team\n"))).withLastEvaluatedKey(lastKey))
+            .thenReturn(new QueryResult().withItems(List.of(item("expense-2", "Taxi"))));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(request(), output, context);
+
+        // The envelope is valid JSON whose body is the escaped expense array
+        JsonNode response = objectMapper.readTree(output.toByteArray());
+        assertEquals(200, response.get("statusCode").asInt());
+        List<ExpenseResponse> expenses = objectMapper.readValue(
+            response.get("body").asText(),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, ExpenseResponse.class)
+        );
+        assertEquals(2, expenses.size());
+        assertEquals("Lunch \"with\" team\n", expenses.get(0).getDescription());
+        assertEquals("expense-2", expenses.get(1).getId());
+
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDB, times(2)).query(captor.capture());
+        assertEquals(StreamingGetExpensesHandler.PAGE_SIZE, captor.getAllValues().get(0).getLimit());
+        assertEquals(lastKey, captor.getAllValues().get(1).getExclusiveStartKey());
+    }
+
+    @Test
+    void handleRequest_StopsAtBodyLimitAndResumesFromCursor() throws Exception {
+        // Any body is over a one-byte limit, so each response holds the one expense it starts with
+        handler = new StreamingGetExpensesHandler(dynamoDB, objectMapper, "test-table", true, 1);
+        Map<String, AttributeValue> second = item("expense-2", "Taxi");
+        when(dynamoDB.query(any(QueryRequest.class)))
+            .thenReturn(new QueryResult().withItems(List.of(item("expense-1", "Lunch"), second)))
+            .thenReturn(new QueryResult().withItems(List.of(second)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(request(null), output, context);
+
+        JsonNode first = objectMapper.readTree(output.toByteArray());
+        assertEquals(200, first.get("statusCode").asInt());
+        assertEquals(List.of("expense-1"), ids(first));
+        String cursor = first.get("headers").get(GetExpensesHandler.NEXT_CURSOR_HEADER).asText();
+        Map<String, AttributeValue> startKey = PageCursor.decode(cursor);
+        assertEquals("expense-1", startKey.get("id").getS());
+        assertEquals("test-user-id", startKey.get("userId").getS());
+
+        output = new ByteArrayOutputStream();
+        handler.handleRequest(request(cursor), output, context);
+
+        JsonNode rest = objectMapper.readTree(output.toByteArray());
+        assertEquals(List.of("expense-2"), ids(rest));
+        assertFalse(rest.get("headers").has(GetExpensesHandler.NEXT_CURSOR_HEADER));
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDB, times(2)).query(captor.capture());
+        assertEquals(startKey, captor.getAllValues().get(1).getExclusiveStartKey());
+    }
+
+    @Test
+    void handleRequest_EmptyResult() throws Exception {
+        when(dynamoDB.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(Collections.emptyList()));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(request(), output, context);
+
+        JsonNode response = objectMapper.readTree(output.toByteArray());
+        assertEquals(200, response.get("statusCode").asInt());
+        assertEquals("[]", response.get("body").asText());
+    }
+
+    @Test
+    void handleRequest_DynamoDBError() throws Exception {
+        when(context.getLogger()).thenReturn(mock(LambdaLogger.class));
+        when(dynamoDB.query(any(QueryRequest.class))).thenThrow(new RuntimeException("DynamoDB error"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(request(), output, context);
+
+        JsonNode response = objectMapper.readTree(output.toByteArray());
+        assertEquals(500, response.get("statusCode").asInt());
+        assertTrue(response.get("body").asText().contains("DynamoDB error"));
+    }
+
+    private List<String> ids(JsonNode response) throws Exception {
+        List<String> ids = new ArrayList<>();
+        objectMapper.readTree(response.get("body").asText()).forEach(expense -> ids.add(expense.get("id").asText()));
+        return ids;
+    }
+
+    private ByteArrayInputStream request() throws Exception {
+        return request(null);
+    }
+
+    private ByteArrayInputStream request(String cursor) throws Exception {
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        if (cursor != null) {
+            input.setQueryStringParameters(Map.of("cursor", cursor));
+        }
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sub", "test-user-id");
+        input.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+        input.getRequestContext().setAuthorizer(Map.of("claims", claims));
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(input));
+    }
+
+    private Map<String, AttributeValue> item(String id, String description) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue(id));
+        item.put("userId", new AttributeValue("test-user-id"));
+        item.put("description", new AttributeValue(description));
+        item.put("amount", new AttributeValue("100.00"));
+        item.put("category", new AttributeValue("Food"));
+        item.put("date", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("status", new AttributeValue("PROCESSED"));
+        item.put("createdAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("updatedAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("receiptUrl", new AttributeValue("https://example.com/receipt.jpg"));
+        item.put("notes", new AttributeValue("Test notes"));
+        return item;
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.messaging;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqsBatchSenderTest {
+
+    @Mock
+    private AmazonSQS sqs;
+
+    @Test
+    void sendAll_RetriesThrottledRequestsAndServiceSideFailures() {
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class)))
+            .thenThrow(serviceException("ThrottlingException", 400))
+            .thenReturn(new SendMessageBatchResult().withFailed(
+                new BatchResultErrorEntry().withId("expense-2").withSenderFault(false).withCode("InternalError")))
+            .thenReturn(new SendMessageBatchResult());
+
+        Set<String> unsent = SqsBatchSender.sendAll(sqs, "queue", messages());
+
+        assertTrue(unsent.isEmpty());
+        verify(sqs, times(3)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void sendAll_ReportsEntriesStillFailingAfterTheLastAttempt() {
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class)))
+            .thenThrow(serviceException("ServiceUnavailable", 503));
+
+        Set<String> unsent = SqsBatchSender.sendAll(sqs, "queue", messages());
+
+        assertEquals(Set.of("expense-1", "expense-2"), unsent);
+        verify(sqs, times(SqsBatchSender.MAX_ATTEMPTS)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void sendAll_ThrowsErrorsThatRetryingCannotFix() {
+        AmazonServiceException denied = serviceException("AccessDenied", 403);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenThrow(denied);
+
+        assertSame(denied, assertThrows(AmazonServiceException.class,
+            () -> SqsBatchSender.sendAll(sqs, "queue", messages())));
+        verify(sqs, times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    private static Map<String, String> messages() {
+        Map<String, String> messages = new LinkedHashMap<>();
+        messages.put("expense-1", "{}");
+        messages.put("expense-2", "{}");
+        return messages;
+    }
+
+    private static AmazonServiceException serviceException(String errorCode, int statusCode) {
+        AmazonServiceException e = new AmazonServiceException(errorCode);
+        e.setErrorCode(errorCode);
+        e.setStatusCode(statusCode);
+        return e;
+    }
+}
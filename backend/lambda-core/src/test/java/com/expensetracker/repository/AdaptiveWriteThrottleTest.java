@@ -0,0 +1,50 @@
+package com.expensetracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveWriteThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void reserve_SpacesWritesAtTheCurrentRate() {
+        AdaptiveWriteThrottle throttle = new AdaptiveWriteThrottle(25, 5, 100, clock::get);
+
+        assertEquals(0, throttle.reserve(25));
+        // 25 items at 25 per second take a second before the next batch may start
+        assertEquals(TimeUnit.SECONDS.toNanos(1), throttle.reserve(25));
+
+        clock.set(TimeUnit.SECONDS.toNanos(3));
+        assertEquals(0, throttle.reserve(25));
+    }
+
+    @Test
+    void rate_HalvesWhenThrottledAndClimbsBackAdditively() {
+        AdaptiveWriteThrottle throttle = new AdaptiveWriteThrottle(40, 5, 50, clock::get);
+
+        throttle.onThrottled();
+        assertEquals(20, throttle.getRate());
+        throttle.onThrottled();
+        throttle.onThrottled();
+        throttle.onThrottled();
+        assertEquals(5, throttle.getRate());
+
+        throttle.onAccepted();
+        assertEquals(10, throttle.getRate());
+        for (int i = 0; i < 20; i++) {
+            throttle.onAccepted();
+        }
+        assertEquals(50, throttle.getRate());
+    }
+
+    @Test
+    void constructor_RejectsInvalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveWriteThrottle(10, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveWriteThrottle(10, 20, 10));
+    }
+}
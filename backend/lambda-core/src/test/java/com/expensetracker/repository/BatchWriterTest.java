@@ -0,0 +1,59 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchWriterTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Test
+    void putAll_WithThrottle_SlowsDownAndResubmitsThrottledWrites() {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(Map.of("id", new AttributeValue("item-" + i)));
+        }
+        List<WriteRequest> leftOver = new ArrayList<>();
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+            .thenThrow(new ProvisionedThroughputExceededException("throttled"))
+            .thenAnswer(invocation -> {
+                List<WriteRequest> writes = invocation.<BatchWriteItemRequest>getArgument(0)
+                    .getRequestItems().get("test-table");
+                leftOver.addAll(writes.subList(20, writes.size()));
+                return new BatchWriteItemResult().withUnprocessedItems(Map.of("test-table", leftOver));
+            })
+            .thenReturn(new BatchWriteItemResult());
+        AdaptiveWriteThrottle throttle = new AdaptiveWriteThrottle(1_000_000, 100_000, 1_000_000);
+
+        BatchWriter.putAll(dynamoDB, "test-table", items, throttle);
+
+        ArgumentCaptor<BatchWriteItemRequest> requests = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDB, times(4)).batchWriteItem(requests.capture());
+        List<Integer> sizes = requests.getAllValues().stream()
+            .map(request -> request.getRequestItems().get("test-table").size())
+            .collect(Collectors.toList());
+        assertEquals(List.of(25, 25, 5, 5), sizes);
+        // Halved twice, then raised once for each of the two chunks accepted in full
+        assertEquals(450_000, throttle.getRate());
+    }
+}
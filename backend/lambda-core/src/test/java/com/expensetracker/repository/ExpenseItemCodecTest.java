@@ -0,0 +1,93 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.expensetracker.model.Expense;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseItemCodecTest {
+
+    @Test
+    void encodeDecode_RoundTripsEveryField() {
+        Expense expense = Expense.builder()
+            .id("expense-1")
+            .userId("test-user-id")
+            .description("Hotel")
+            .amountMinor(1200000L)
+            .currency("JPY")
+            .category("Travel")
+            .date(LocalDateTime.parse("2024-05-14T09:30:00"))
+            .status("PENDING")
+            .createdAtMillis(1715679000000L)
+            .updatedAtMillis(1715679000500L)
+            .receiptUrl("https://example.com/receipt.jpg")
+            .notes("Two nights")
+            .build();
+
+        Map<String, AttributeValue> item = ExpenseItemCodec.encode(expense);
+
+        assertEquals("1200000", item.get("amountMinor").getN());
+        assertEquals(ExpenseIndexes.statusShard("PENDING", "expense-1"), item.get("statusShard").getS());
+        assertEquals(expense, ExpenseItemCodec.decode(item));
+    }
+
+    @Test
+    void encode_OmitsEmptyAttributes() {
+        Expense expense = Expense.builder()
+            .id("expense-1")
+            .userId("test-user-id")
+            .amountMinor(1050L)
+            .currency("USD")
+            .category("Food")
+            .date(LocalDateTime.parse("2024-05-14T09:30:00"))
+            .status("PENDING")
+            .notes("")
+            .build();
+
+        Map<String, AttributeValue> item = ExpenseItemCodec.encode(expense);
+
+        assertFalse(item.containsKey("description"));
+        assertFalse(item.containsKey("currency"));
+        assertFalse(item.containsKey("createdAt"));
+        assertFalse(item.containsKey("receiptUrl"));
+        assertFalse(item.containsKey("notes"));
+        assertEquals(new BigDecimal("10.50"), ExpenseItemCodec.decode(item).getAmount());
+    }
+
+    @Test
+    void decode_ToleratesMissingOptionalAttributes() {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue("expense-1"));
+        item.put("userId", new AttributeValue("test-user-id"));
+        item.put("amount", new AttributeValue("99.99"));
+
+        Expense expense = ExpenseItemCodec.decode(item);
+
+        assertEquals(9999L, expense.getAmountMinor());
+        assertNull(expense.getReceiptUrl());
+        assertNull(expense.getNotes());
+        assertNull(expense.getDate());
+        assertNull(expense.getCreatedAt());
+    }
+
+    @Test
+    void decode_RoundsLegacyAmountsToTheMinorUnit() {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", new AttributeValue("expense-1"));
+        item.put("amount", new AttributeValue("12.345"));
+        assertEquals(1234L, ExpenseItemCodec.decode(item).getAmountMinor());
+
+        item.put("amount", new AttributeValue().withN("12.355"));
+        assertEquals(1236L, ExpenseItemCodec.decode(item).getAmountMinor());
+
+        item.put("amount", new AttributeValue("1500.5"));
+        item.put("currency", new AttributeValue("JPY"));
+        assertEquals(1500L, ExpenseItemCodec.decode(item).getAmountMinor());
+    }
+}
@@ -0,0 +1,120 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.expensetracker.lambda.ObjectMappers;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpensePatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseUpdateTest {
+
+    private final ObjectMapper mapper = ObjectMappers.create();
+
+    @Test
+    void patch_WritesOnlyTouchedAttributes() throws Exception {
+        ExpensePatch patch = ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"notes\":\"Team lunch\",\"receiptUrl\":null,\"version\":4}"), mapper);
+
+        ExpenseUpdate update = ExpenseUpdate.patch("expense-1", patch, 1715679000500L);
+
+        assertEquals("SET #updatedAt = :updatedAt, #notes = :notes, "
+                + "#version = if_not_exists(#version, :zero) + :one REMOVE #receiptUrl",
+            update.getUpdateExpression());
+        assertEquals("attribute_exists(id) AND #version = :expectedVersion", update.getConditionExpression());
+        assertEquals("Team lunch", update.getValues().get(":notes").getS());
+        assertEquals("4", update.getValues().get(":expectedVersion").getN());
+        assertFalse(update.getNames().containsValue("description"));
+    }
+
+    @Test
+    void patch_StoresAmountInMinorUnitsOfPatchedCurrency() throws Exception {
+        ExpensePatch patch = ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"amount\":1200,\"currency\":\"JPY\"}"), mapper);
+
+        ExpenseUpdate update = ExpenseUpdate.patch("expense-1", patch, 1715679000500L);
+
+        Map<String, AttributeValue> values = update.getValues();
+        assertEquals("1200", values.get(":amountMinor").getN());
+        assertEquals("JPY", values.get(":currency").getS());
+        assertTrue(update.getUpdateExpression().endsWith(" REMOVE #amount"));
+        assertEquals("attribute_exists(id)", update.getConditionExpression());
+    }
+
+    @Test
+    void patch_ReadsAmountInItsOwnCurrencyWhateverThePropertyOrder() throws Exception {
+        ExpensePatch amountFirst = ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"amount\":12.345,\"currency\":\"BHD\"}"), mapper);
+        ExpensePatch currencyFirst = ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"currency\":\"BHD\",\"amount\":12.345}"), mapper);
+
+        assertEquals(12345L, amountFirst.getValues().getAmountMinor());
+        assertEquals(12345L, currencyFirst.getValues().getAmountMinor());
+        assertThrows(IllegalArgumentException.class, () -> ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"amount\":12.5,\"currency\":\"JPY\"}"), mapper));
+    }
+
+    @Test
+    void patch_WritesAmountAloneInTheStoredCurrency() throws Exception {
+        ExpensePatch patch = ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"amount\":12.345,\"version\":3}"), mapper);
+
+        ExpenseUpdate update = ExpenseUpdate.patch("expense-1", patch, 1715679000500L, "BHD");
+
+        assertEquals("12345", update.getValues().get(":amountMinor").getN());
+        assertFalse(update.getUpdateExpression().contains("#currency"));
+        assertEquals("attribute_exists(id) AND #version = :expectedVersion AND #storedCurrency = :storedCurrency",
+            update.getConditionExpression());
+        assertEquals("BHD", update.getValues().get(":storedCurrency").getS());
+        ExpensePatch inDollars = ExpensePatch.from((ObjectNode) mapper.readTree("{\"amount\":12.5}"), mapper);
+        assertTrue(ExpenseUpdate.patch("expense-1", inDollars, 1715679000500L, null).getConditionExpression()
+            .endsWith(" AND (attribute_not_exists(#storedCurrency) OR #storedCurrency = :storedCurrency)"));
+        assertThrows(IllegalArgumentException.class,
+            () -> ExpenseUpdate.patch("expense-1", patch, 1715679000500L, "JPY"));
+    }
+
+    @Test
+    void storedCurrency_RetriesOnlyWhenTheCurrencyChanged() throws Exception {
+        ExpensePatch patch = ExpensePatch.from((ObjectNode) mapper.readTree("{\"amount\":1500}"), mapper);
+        Map<String, AttributeValue> inYen = Map.of(
+            "id", new AttributeValue("expense-1"), "currency", new AttributeValue("JPY"));
+        Map<String, AttributeValue> inDollars = Map.of("id", new AttributeValue("expense-1"));
+
+        assertEquals("JPY", ExpenseUpdate.storedCurrency(patch, null, inYen));
+        assertEquals("USD", ExpenseUpdate.storedCurrency(patch, "JPY", inDollars));
+        assertNull(ExpenseUpdate.storedCurrency(patch, null, inDollars));
+        assertNull(ExpenseUpdate.storedCurrency(patch, null, null));
+    }
+
+    @Test
+    void patch_RejectsFieldsThatCannotBePatched() {
+        assertThrows(IllegalArgumentException.class, () -> ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"userId\":\"someone-else\"}"), mapper));
+        assertThrows(IllegalArgumentException.class, () -> ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"currency\":\"EUR\"}"), mapper));
+        assertThrows(IllegalArgumentException.class, () -> ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"version\":2}"), mapper));
+        assertThrows(IllegalArgumentException.class, () -> ExpensePatch.from(
+            (ObjectNode) mapper.readTree("{\"status\":\"PROCESSED\"}"), mapper));
+    }
+
+    @Test
+    void replace_LeavesTheStatusAlone() {
+        ExpenseUpdate update = ExpenseUpdate.replace(Expense.builder()
+            .id("expense-1")
+            .userId("user-1")
+            .amountMinor(4250L)
+            .status("PROCESSED")
+            .version(2L)
+            .build());
+
+        assertFalse(update.getNames().containsValue("status"));
+        assertFalse(update.getNames().containsValue(ExpenseIndexes.STATUS_SHARD_ATTRIBUTE));
+        assertEquals("attribute_exists(id) AND #version = :expectedVersion", update.getConditionExpression());
+    }
+}
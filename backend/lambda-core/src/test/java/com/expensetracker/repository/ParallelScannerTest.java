@@ -0,0 +1,86 @@
+package com.expensetracker.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelScannerTest {
+
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    @Test
+    void scan_VisitsEveryPageOfEverySegment() {
+        Set<Integer> segmentsSeen = ConcurrentHashMap.newKeySet();
+        when(dynamoDB.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            ScanRequest request = invocation.getArgument(0);
+            assertEquals(3, request.getTotalSegments());
+            segmentsSeen.add(request.getSegment());
+            String segment = String.valueOf(request.getSegment());
+            // Two pages per segment
+            if (request.getExclusiveStartKey() == null) {
+                return new ScanResult()
+                    .withItems(List.of(item(segment + "-a")))
+                    .withLastEvaluatedKey(Map.of("id", new AttributeValue(segment + "-a")));
+            }
+            return new ScanResult().withItems(List.of(item(segment + "-b")));
+        });
+
+        List<String> ids = new ArrayList<>();
+        new ParallelScanner(dynamoDB, 3, 2).scan(new ScanRequest().withTableName("test-table"),
+            item -> ids.add(item.get("id").getS()));
+
+        Collections.sort(ids);
+        assertEquals(List.of("0-a", "0-b", "1-a", "1-b", "2-a", "2-b"), ids);
+        assertEquals(Set.of(0, 1, 2), segmentsSeen);
+        verify(dynamoDB, times(6)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void scan_PropagatesSegmentFailure() {
+        when(dynamoDB.scan(any(ScanRequest.class))).thenThrow(new RuntimeException("DynamoDB error"));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
+            new ParallelScanner(dynamoDB, 2).scan(new ScanRequest().withTableName("test-table"), item -> { }));
+
+        assertEquals("DynamoDB error", thrown.getMessage());
+    }
+
+    @Test
+    void scan_RunsSegmentsOnGivenThreadFactory() {
+        when(dynamoDB.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            assertEquals("scan-worker", Thread.currentThread().getName());
+            ScanRequest request = invocation.getArgument(0);
+            return new ScanResult().withItems(List.of(item(String.valueOf(request.getSegment()))));
+        });
+
+        List<String> ids = new ArrayList<>();
+        new ParallelScanner(dynamoDB, 2, 10, runnable -> new Thread(runnable, "scan-worker"))
+            .scan(new ScanRequest().withTableName("test-table"), item -> ids.add(item.get("id").getS()));
+
+        Collections.sort(ids);
+        assertEquals(List.of("0", "1"), ids);
+    }
+
+    @Test
+    void scan_RejectsInvalidSegmentCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(dynamoDB, 0));
+    }
+
+    private Map<String, AttributeValue> item(String id) {
+        return Map.of("id", new AttributeValue(id));
+    }
+}
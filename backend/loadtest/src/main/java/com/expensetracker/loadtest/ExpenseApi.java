@@ -0,0 +1,179 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The calls the virtual users make against {@code /api/expenses}, with generated but realistic bodies.
+ */
+final class ExpenseApi {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 50;
+    private static final int BATCH_SIZE = 100;
+    // How far back preloaded history and list queries reach
+    private static final int HISTORY_DAYS = 730;
+    private static final String[] CATEGORIES = {"Food", "Travel", "Office", "Software", "Transport", "Lodging"};
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String expensesUrl;
+    private final boolean largeHistory;
+
+    ExpenseApi(HttpClient client, ObjectMapper objectMapper, LoadTestOptions options) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.expensesUrl = options.baseUrl + "/api/expenses";
+        this.largeHistory = options.largeHistory();
+    }
+
+    /**
+     * Starts {@code operation} for {@code user}. A get or update by a user that has not created anything yet
+     * becomes a create, which is what the completed call reports.
+     */
+    CompletableFuture<Call> call(Operation operation, VirtualUser user) {
+        String expenseId = operation == Operation.GET || operation == Operation.UPDATE ? user.randomExpenseId() : null;
+        if (expenseId == null && (operation == Operation.GET || operation == Operation.UPDATE)) {
+            operation = Operation.CREATE;
+        }
+        HttpRequest request = switch (operation) {
+            case CREATE -> request(user, URI.create(expensesUrl))
+                .POST(json(expense(user, recentDate())))
+                .build();
+            case LIST -> request(user, listUri())
+                .GET()
+                .build();
+            case GET -> request(user, URI.create(expensesUrl + "/" + expenseId))
+                .GET()
+                .build();
+            case UPDATE -> request(user, URI.create(expensesUrl + "/" + expenseId))
+                .PUT(json(expense(user, recentDate())))
+                .build();
+        };
+
+        Operation performed = operation;
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                if (performed == Operation.CREATE && response.statusCode() == 200) {
+                    rememberCreated(user, response.body());
+                }
+                return new Call(performed, response.statusCode());
+            });
+    }
+
+    /**
+     * Creates {@code count} expenses for {@code user} through the batch endpoint, dated over the last two years.
+     */
+    void preload(VirtualUser user, int count) throws IOException, InterruptedException {
+        for (int created = 0; created < count; created += BATCH_SIZE) {
+            List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = created; i < Math.min(count, created + BATCH_SIZE); i++) {
+                batch.add(expense(user, LocalDateTime.now().minusMinutes((long) i * HISTORY_DAYS * 24 * 60 / count)));
+            }
+            HttpResponse<byte[]> response = client.send(
+                request(user, URI.create(expensesUrl + "/batch")).POST(json(batch)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IOException("Preloading " + user.userId() + " failed with status " + response.statusCode());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if ("CREATED".equals(result.path("status").asText())) {
+                    user.remember(result.path("id").asText());
+                }
+            }
+        }
+    }
+
+    private URI listUri() {
+        if (!largeHistory) {
+            return URI.create(expensesUrl + "?limit=" + PAGE_SIZE);
+        }
+        // Users with long histories browse month by month
+        YearMonth month = YearMonth.from(LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(HISTORY_DAYS)));
+        return URI.create(expensesUrl + "?limit=" + PAGE_SIZE
+            + "&startDate=" + encode(month.atDay(1).atStartOfDay().toString())
+            + "&endDate=" + encode(month.atEndOfMonth().atTime(23, 59, 59).toString()));
+    }
+
+    private HttpRequest.Builder request(VirtualUser user, URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json");
+        if (user.authorization() != null) {
+            builder.header("Authorization", user.authorization());
+        }
+        return builder;
+    }
+
+    private Map<String, Object> expense(VirtualUser user, LocalDateTime date) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> expense = new LinkedHashMap<>();
+        expense.put("userId", user.userId());
+        expense.put("description", "Load test expense " + random.nextInt(1_000_000));
+        expense.put("amount", BigDecimal.valueOf(random.nextInt(100, 50_000)).movePointLeft(2).setScale(2, RoundingMode.UNNECESSARY));
+        expense.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        expense.put("date", date.withNano(0).toString());
+        expense.put("notes", "Generated by the load test");
+        return expense;
+    }
+
+    private LocalDateTime recentDate() {
+        return LocalDateTime.now().minusMinutes(ThreadLocalRandom.current().nextInt(60 * 24 * 30));
+    }
+
+    private void rememberCreated(VirtualUser user, byte[] body) {
+        try {
+            String id = objectMapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                user.remember(id);
+            }
+        } catch (IOException e) {
+            // Counted by status code; the id is simply not reused
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize request body", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * What a completed call did: the operation actually performed and its HTTP status.
+     */
+    static final class Call {
+        final Operation operation;
+        final int status;
+
+        Call(Operation operation, int status) {
+            this.operation = operation;
+            this.status = status;
+        }
+    }
+}
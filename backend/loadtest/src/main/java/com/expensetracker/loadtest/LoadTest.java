@@ -0,0 +1,198 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the expense API with a configurable operation mix and reports latency percentiles per operation.
+ *
+ * <p>Two load models are supported. The closed model keeps {@code --concurrency} requests in flight, each
+ * worker sending its next request when the previous one completes, so a slower server receives fewer
+ * requests. The open model starts requests at {@code --rate} per second with exponentially distributed
+ * gaps, whatever the response times, and measures each latency from when the request was due rather than
+ * when it was sent; a stalled server therefore shows up in the percentiles instead of being hidden by the
+ * generator backing off (coordinated omission).
+ *
+ * <pre>
+ * java -jar loadtest.jar keygen [DIR]        write signing-key.json and jwks.json to DIR (target/loadtest/keys)
+ * java -jar loadtest.jar [options]           run a test; see {@link LoadTestOptions}
+ * </pre>
+ */
+public final class LoadTest {
+    private static final DateTimeFormatter REPORT_TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final LoadTestOptions options;
+    private final ExpenseApi api;
+    private final List<VirtualUser> users;
+    private final AtomicReference<Results> results = new AtomicReference<>();
+
+    private LoadTest(LoadTestOptions options, ExpenseApi api, List<VirtualUser> users) {
+        this.options = options;
+        this.api = api;
+        this.users = users;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "keygen".equals(args[0])) {
+            Path directory = Path.of(args.length > 1 ? args[1] : "target/loadtest/keys");
+            Tokens.generateKeys(directory);
+            System.out.println("Wrote " + directory.resolve(Tokens.SIGNING_KEY_FILE)
+                + " and " + directory.resolve(Tokens.JWKS_FILE));
+            return;
+        }
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(callbacks)
+            .build();
+        try {
+            ExpenseApi api = new ExpenseApi(client, objectMapper, options);
+            Tokens tokens = Tokens.from(options);
+            List<VirtualUser> users = new ArrayList<>(options.users);
+            for (int i = 0; i < options.users; i++) {
+                String userId = "loadtest-user-" + i;
+                users.add(new VirtualUser(userId, tokens.authorization(userId)));
+            }
+            if (options.largeHistory()) {
+                System.out.printf("Preloading %d expenses for each of %d users%n", options.historySize, users.size());
+                for (VirtualUser user : users) {
+                    api.preload(user, options.historySize);
+                }
+            }
+
+            Instant startedAt = Instant.now();
+            LoadTest test = new LoadTest(options, api, users);
+            Results measured = test.run();
+            double measuredSeconds = options.duration.toNanos() / 1e9;
+
+            Report report = Report.of(options, measured, startedAt, measuredSeconds);
+            Path reportFile = options.report != null ? options.report
+                : Path.of("target/loadtest/report-" + REPORT_TIMESTAMP.format(startedAt) + ".json");
+            report.write(objectMapper, reportFile);
+            report.print(System.out);
+            if (options.baseline != null) {
+                report.compare(objectMapper, options.baseline, System.out);
+            }
+            System.out.println("\nReport written to " + reportFile);
+        } finally {
+            callbacks.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the warmup and then the measured period, returning only the measured calls. Calls still in flight
+     * when the measured period ends are given a moment to complete but are not waited for indefinitely.
+     */
+    private Results run() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        // Warmup calls are recorded into a throwaway instance
+        results.set(new Results());
+        Thread driver = options.openModel() ? openModel(running) : closedModel(running);
+
+        System.out.printf("Warming up for %ds%n", options.warmup.toSeconds());
+        Thread.sleep(options.warmup.toMillis());
+        Results measured = new Results();
+        results.set(measured);
+        System.out.printf("Measuring for %ds, %s%n", options.duration.toSeconds(), options.openModel()
+            ? "open model at " + options.rate + " req/s" : "closed model with " + options.concurrency + " in flight");
+        Thread.sleep(options.duration.toMillis());
+        // Anything completing from here on is not part of the measured period
+        results.set(new Results());
+        running.set(false);
+        driver.join(TimeUnit.SECONDS.toMillis(30));
+        return measured;
+    }
+
+    private Thread closedModel(AtomicBoolean running) {
+        Thread driver = new Thread(() -> {
+            List<Thread> workers = new ArrayList<>(options.concurrency);
+            for (int i = 0; i < options.concurrency; i++) {
+                Thread worker = new Thread(() -> {
+                    while (running.get()) {
+                        Operation operation = options.nextOperation();
+                        long start = System.nanoTime();
+                        CompletableFuture<ExpenseApi.Call> call = api.call(operation, randomUser());
+                        try {
+                            ExpenseApi.Call completed = call.join();
+                            results.get().record(completed.operation, System.nanoTime() - start, completed.status);
+                        } catch (RuntimeException e) {
+                            results.get().record(operation, System.nanoTime() - start, 0);
+                        }
+                    }
+                }, "loadtest-worker-" + i);
+                worker.setDaemon(true);
+                worker.start();
+                workers.add(worker);
+            }
+            for (Thread worker : workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "loadtest-closed-model");
+        driver.setDaemon(true);
+        driver.start();
+        return driver;
+    }
+
+    private Thread openModel(AtomicBoolean running) {
+        Thread driver = new Thread(() -> {
+            Semaphore inFlight = new Semaphore(options.concurrency);
+            double meanGapNanos = 1e9 / options.rate;
+            long due = System.nanoTime();
+            while (running.get()) {
+                // Poisson arrivals: exponentially distributed gaps around the target rate
+                due += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = due;
+                Operation operation = options.nextOperation();
+                // Waiting for a free slot counts towards latency, since the request was already due
+                inFlight.acquireUninterruptibly();
+                api.call(operation, randomUser()).whenComplete((completed, failure) -> {
+                    inFlight.release();
+                    long latency = System.nanoTime() - intendedStart;
+                    if (failure == null) {
+                        results.get().record(completed.operation, latency, completed.status);
+                    } else {
+                        results.get().record(operation, latency, 0);
+                    }
+                });
+            }
+        }, "loadtest-open-model");
+        driver.setDaemon(true);
+        driver.start();
+        return driver;
+    }
+
+    private VirtualUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+}
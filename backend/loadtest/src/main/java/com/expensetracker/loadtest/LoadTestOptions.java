@@ -0,0 +1,138 @@
+package com.expensetracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Command line options. Every option has a default, so {@code java -jar loadtest.jar} alone runs a one
+ * minute closed-model test against {@code http://localhost:8080}.
+ *
+ * <pre>
+ * --base-url URL          API to drive (http://localhost:8080)
+ * --users N               virtual users, each with its own user id and token (50)
+ * --concurrency N         closed model: requests in flight; open model: cap on requests in flight (32)
+ * --rate N                open model: requests started per second whatever the response times; when
+ *                         absent the closed model is used
+ * --duration D            measured time, e.g. 60s or 5m (60s)
+ * --warmup D              time run before measuring (10s)
+ * --mix SPEC              relative weights, e.g. create=20,list=50,get=20,update=10 (the default)
+ * --scenario NAME         default, or large-history: every user starts with --history-size expenses
+ *                         spread over two years and lists query single months
+ * --history-size N        expenses preloaded per user in large-history (5000)
+ * --signing-key FILE      private RSA JWK used to sign a token per user (see the keygen command)
+ * --token TOKEN           bearer token shared by every user instead of --signing-key
+ * --report FILE           where to write the JSON report (target/loadtest/report-&lt;time&gt;.json)
+ * --baseline FILE         earlier report to compare this run with
+ * </pre>
+ */
+final class LoadTestOptions {
+    String baseUrl = "http://localhost:8080";
+    int users = 50;
+    int concurrency = 32;
+    // Requests per second for the open model; 0 selects the closed model
+    double rate;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    Map<Operation, Integer> mix = parseMix("create=20,list=50,get=20,update=10");
+    String scenario = "default";
+    int historySize = 5000;
+    Path signingKey;
+    String token;
+    Path report;
+    Path baseline;
+
+    private int totalWeight = 100;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--base-url" -> options.baseUrl = value.replaceAll("/+$", "");
+                case "--users" -> options.users = positive(args[i], Integer.parseInt(value));
+                case "--concurrency" -> options.concurrency = positive(args[i], Integer.parseInt(value));
+                case "--rate" -> options.rate = Double.parseDouble(value);
+                case "--duration" -> options.duration = parseDuration(value);
+                case "--warmup" -> options.warmup = parseDuration(value);
+                case "--mix" -> options.mix = parseMix(value);
+                case "--scenario" -> options.scenario = scenario(value);
+                case "--history-size" -> options.historySize = positive(args[i], Integer.parseInt(value));
+                case "--signing-key" -> options.signingKey = Path.of(value);
+                case "--token" -> options.token = value;
+                case "--report" -> options.report = Path.of(value);
+                case "--baseline" -> options.baseline = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        options.totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (options.totalWeight == 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return options;
+    }
+
+    boolean openModel() {
+        return rate > 0;
+    }
+
+    boolean largeHistory() {
+        return "large-history".equals(scenario);
+    }
+
+    Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix weights changed while running");
+    }
+
+    static Duration parseDuration(String value) {
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Durations end in s, m or h: " + value);
+        };
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] weight = part.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like create=20: " + part);
+            }
+            int value = Integer.parseInt(weight[1].trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: " + part);
+            }
+            mix.put(Operation.fromLabel(weight[0].trim()), value);
+        }
+        return mix;
+    }
+
+    private static String scenario(String value) {
+        if (!"default".equals(value) && !"large-history".equals(value)) {
+            throw new IllegalArgumentException("Unknown scenario: " + value);
+        }
+        return value;
+    }
+
+    private static int positive(String option, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(option + " must be at least 1");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.expensetracker.loadtest;
+
+/**
+ * The API calls a virtual user makes, named as they appear in {@code --mix} and in reports.
+ */
+enum Operation {
+    CREATE("create"),
+    LIST("list"),
+    GET("get"),
+    UPDATE("update");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation fromLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+}
@@ -0,0 +1,150 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The outcome of one run as a JSON document with a fixed layout, so runs can be diffed or compared with
+ * {@code --baseline}. Latencies are in milliseconds, throughput in completed calls per second.
+ */
+final class Report {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> document;
+
+    private Report(Map<String, Object> document) {
+        this.document = document;
+    }
+
+    static Report of(LoadTestOptions options, Results results, Instant startedAt, double measuredSeconds) {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("baseUrl", options.baseUrl);
+        run.put("scenario", options.scenario);
+        run.put("model", options.openModel() ? "open" : "closed");
+        run.put("rate", options.rate);
+        run.put("concurrency", options.concurrency);
+        run.put("users", options.users);
+        run.put("historySize", options.largeHistory() ? options.historySize : 0);
+        run.put("warmupSeconds", options.warmup.toSeconds());
+        run.put("measuredSeconds", measuredSeconds);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix.forEach((operation, weight) -> mix.put(operation.label(), weight));
+        run.put("mix", mix);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram latencies = results.latencies(operation);
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Object> stats = stats(latencies, results.errors(operation), measuredSeconds);
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            results.statuses(operation).forEach((status, count) -> statuses.put(String.valueOf(status), count));
+            stats.put("statuses", statuses);
+            operations.put(operation.label(), stats);
+            totalErrors += results.errors(operation);
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("run", run);
+        document.put("total", stats(results.totalLatencies(), totalErrors, measuredSeconds));
+        document.put("operations", operations);
+        return new Report(document);
+    }
+
+    void write(ObjectMapper objectMapper, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    @SuppressWarnings("unchecked")
+    void print(PrintStream out) {
+        out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+            "", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        ((Map<String, Object>) document.get("operations")).forEach((label, stats) -> printRow(out, label, (Map<String, Object>) stats));
+        printRow(out, "total", (Map<String, Object>) document.get("total"));
+    }
+
+    /**
+     * Prints how this run's throughput and latencies moved relative to {@code baseline}, operation by operation.
+     */
+    @SuppressWarnings("unchecked")
+    void compare(ObjectMapper objectMapper, Path baseline, PrintStream out) throws IOException {
+        JsonNode before = objectMapper.readTree(baseline.toFile());
+        out.printf("%nCompared with %s (%s)%n", baseline, before.path("run").path("startedAt").asText());
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) document.get("operations"));
+        rows.put("total", document.get("total"));
+        rows.forEach((label, stats) -> {
+            JsonNode previous = "total".equals(label) ? before.path("total") : before.path("operations").path(label);
+            if (previous.isMissingNode()) {
+                return;
+            }
+            Map<String, Object> current = (Map<String, Object>) stats;
+            Map<String, Object> latency = (Map<String, Object>) current.get("latencyMillis");
+            out.printf("%-8s req/s %s  p50 %s  p99 %s  p99.9 %s%n", label,
+                change(previous.path("throughput").asDouble(), (double) current.get("throughput")),
+                change(previous.path("latencyMillis").path("p50").asDouble(), (double) latency.get("p50")),
+                change(previous.path("latencyMillis").path("p99").asDouble(), (double) latency.get("p99")),
+                change(previous.path("latencyMillis").path("p99.9").asDouble(), (double) latency.get("p99.9")));
+        });
+    }
+
+    Map<String, Object> document() {
+        return document;
+    }
+
+    private static Map<String, Object> stats(Histogram latencies, long errors, double measuredSeconds) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", millis(latencies.getMean()));
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                millis(latencies.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", millis(latencies.getMaxValue()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", latencies.getTotalCount());
+        stats.put("errors", errors);
+        stats.put("throughput", round(latencies.getTotalCount() / measuredSeconds));
+        stats.put("latencyMillis", latency);
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(PrintStream out, String label, Map<String, Object> stats) {
+        Map<String, Object> latency = (Map<String, Object>) stats.get("latencyMillis");
+        out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label,
+            (long) stats.get("count"), (long) stats.get("errors"), (double) stats.get("throughput"),
+            (double) latency.get("p50"), (double) latency.get("p90"), (double) latency.get("p99"),
+            (double) latency.get("p99.9"), (double) latency.get("max"));
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return String.format("%.2f (new)", after);
+        }
+        return String.format("%.2f -> %.2f (%+.1f%%)", before, after, (after - before) * 100 / before);
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.expensetracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the measured calls, per operation. Latencies are recorded in microseconds with
+ * three significant digits. Status 0 stands for a call that failed without a response (timeout, refused
+ * connection); it and any 4xx/5xx count as errors.
+ */
+final class Results {
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+
+    Results() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        latencies.get(operation).recordValue(
+            Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        statuses.get(operation).computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status == 0 || status >= 400) {
+            errors.get(operation).increment();
+        }
+    }
+
+    Histogram latencies(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    Histogram totalLatencies() {
+        Histogram total = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        latencies.values().forEach(total::add);
+        return total;
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    SortedMap<Integer, Long> statuses(Operation operation) {
+        SortedMap<Integer, Long> counts = new ConcurrentSkipListMap<>();
+        statuses.get(operation).forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,73 @@
+package com.expensetracker.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Bearer tokens for the virtual users. With a signing key every user gets its own RS256 access token whose
+ * subject is the user id, so requests are spread over many users the way real traffic is. The API has to
+ * trust the matching public key, which {@link #generateKeys} writes next to the private one.
+ */
+final class Tokens {
+    static final String ISSUER = "expense-tracker-loadtest";
+    static final String SIGNING_KEY_FILE = "signing-key.json";
+    static final String JWKS_FILE = "jwks.json";
+
+    private final RSAKey signingKey;
+    private final String sharedToken;
+    private final Date expiresAt;
+
+    private Tokens(RSAKey signingKey, String sharedToken, Duration validity) {
+        this.signingKey = signingKey;
+        this.sharedToken = sharedToken;
+        this.expiresAt = new Date(System.currentTimeMillis() + validity.toMillis());
+    }
+
+    static Tokens from(LoadTestOptions options) throws IOException, ParseException {
+        // Long enough to outlast preloading and the whole run
+        Duration validity = options.warmup.plus(options.duration).plusHours(1);
+        RSAKey signingKey = options.signingKey != null ? RSAKey.parse(Files.readString(options.signingKey)) : null;
+        return new Tokens(signingKey, options.token, validity);
+    }
+
+    /**
+     * @return the Authorization header for {@code userId}, or {@code null} when no credentials were given
+     */
+    String authorization(String userId) throws JOSEException {
+        if (signingKey != null) {
+            JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(userId)
+                .issuer(ISSUER)
+                .claim("token_use", "access")
+                .issueTime(new Date())
+                .expirationTime(expiresAt)
+                .build();
+            SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+            jwt.sign(new RSASSASigner(signingKey));
+            return "Bearer " + jwt.serialize();
+        }
+        return sharedToken != null ? "Bearer " + sharedToken : null;
+    }
+
+    static void generateKeys(Path directory) throws IOException, JOSEException {
+        RSAKey key = new RSAKeyGenerator(2048).keyID(ISSUER).generate();
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(SIGNING_KEY_FILE), key.toJSONString());
+        Files.writeString(directory.resolve(JWKS_FILE), new JWKSet(key.toPublicJWK()).toString());
+    }
+}
@@ -0,0 +1,48 @@
+package com.expensetracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated user: its id, the Authorization header it sends, and a sample of the expenses it created,
+ * which get and update pick from.
+ */
+final class VirtualUser {
+    private static final int MAX_TRACKED_IDS = 1000;
+
+    private final String userId;
+    private final String authorization;
+    private final List<String> expenseIds = new ArrayList<>();
+
+    VirtualUser(String userId, String authorization) {
+        this.userId = userId;
+        this.authorization = authorization;
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    String authorization() {
+        return authorization;
+    }
+
+    synchronized void remember(String expenseId) {
+        if (expenseIds.size() < MAX_TRACKED_IDS) {
+            expenseIds.add(expenseId);
+        } else {
+            expenseIds.set(ThreadLocalRandom.current().nextInt(MAX_TRACKED_IDS), expenseId);
+        }
+    }
+
+    /**
+     * @return one of the user's expenses, or {@code null} before it has created any
+     */
+    synchronized String randomExpenseId() {
+        if (expenseIds.isEmpty()) {
+            return null;
+        }
+        return expenseIds.get(ThreadLocalRandom.current().nextInt(expenseIds.size()));
+    }
+}
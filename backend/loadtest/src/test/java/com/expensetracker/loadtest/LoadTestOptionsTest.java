@@ -0,0 +1,55 @@
+package com.expensetracker.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void parse_DefaultsToClosedModel() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[0]);
+
+        assertFalse(options.openModel());
+        assertEquals("http://localhost:8080", options.baseUrl);
+        assertEquals(Duration.ofSeconds(60), options.duration);
+        assertEquals(50, options.mix.get(Operation.LIST));
+    }
+
+    @Test
+    void parse_RateSelectsOpenModel() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[] {
+            "--base-url", "http://api.example.com/", "--rate", "250", "--duration", "5m", "--scenario", "large-history"});
+
+        assertTrue(options.openModel());
+        assertTrue(options.largeHistory());
+        assertEquals("http://api.example.com", options.baseUrl);
+        assertEquals(Duration.ofMinutes(5), options.duration);
+    }
+
+    @Test
+    void parse_RejectsUnknownOptionsAndEmptyMix() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[] {"--threads", "4"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[] {"--mix", "create=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[] {"--mix", "delete=10"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[] {"--duration", "10"}));
+    }
+
+    @Test
+    void nextOperation_FollowsMixWeights() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[] {"--mix", "create=1,get=3,update=0"});
+
+        Map<Operation, Integer> picks = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 40_000; i++) {
+            picks.merge(options.nextOperation(), 1, Integer::sum);
+        }
+
+        assertNull(picks.get(Operation.UPDATE));
+        assertNull(picks.get(Operation.LIST));
+        assertEquals(3.0, picks.get(Operation.GET) / (double) picks.get(Operation.CREATE), 0.2);
+    }
+}
@@ -20,12 +20,24 @@ provider "aws" {
   region = var.aws_region
 }
 
+locals {
+  # What fields=summary listings read (ExpenseProjection.SUMMARY_ATTRIBUTES), less the table and index keys
+  # every index projects anyway
+  expense_summary_attributes = ["description", "amountMinor", "currency", "amount", "category", "status"]
+}
+
 # DynamoDB Table
 module "dynamodb" {
   source = "./modules/dynamodb"
 
   table_name = "${var.project_name}-expenses"
   hash_key   = "id"
+
+  # Feeds the outbox relay, which needs new items, and the aggregate stream, which needs both images of
+  # every change
+  stream_enabled   = true
+  stream_view_type = "NEW_AND_OLD_IMAGES"
+
   attributes = [
     {
       name = "id"
@@ -38,6 +50,14 @@ module "dynamodb" {
     {
       name = "date"
       type = "S"
+    },
+    {
+      name = "category"
+      type = "S"
+    },
+    {
+      name = "statusShard"
+      type = "S"
     }
   ]
   global_secondary_indexes = [
@@ -45,9 +65,49 @@ module "dynamodb" {
       name               = "UserIdDateIndex"
       hash_key           = "userId"
       range_key          = "date"
-      projection_type    = "ALL"
+      projection_type    = var.expense_index_projection_type
+      non_key_attributes = local.expense_summary_attributes
+      read_capacity      = 5
+      write_capacity     = 5
+    },
+    {
+      name               = "CategoryDateIndex"
+      hash_key           = "category"
+      range_key          = "date"
+      projection_type    = var.expense_index_projection_type
+      non_key_attributes = [for name in local.expense_summary_attributes : name if name != "category"]
       read_capacity      = 5
       write_capacity     = 5
+    },
+    {
+      # PENDING is spread over PENDING#0..PENDING#7 (see ExpenseIndexes)
+      name               = "StatusShardDateIndex"
+      hash_key           = "statusShard"
+      range_key          = "date"
+      projection_type    = var.expense_index_projection_type
+      non_key_attributes = local.expense_summary_attributes
+      read_capacity      = 5
+      write_capacity     = 5
+    }
+  ]
+}
+
+# Monthly per-category totals maintained by the aggregate_stream Lambda
+module "dynamodb_aggregates" {
+  source = "./modules/dynamodb"
+
+  table_name = "${var.project_name}-expense-aggregates"
+  hash_key   = "userId"
+  range_key  = "period"
+  attributes = [
+    {
+      name = "userId"
+      type = "S"
+    },
+    {
+      # <yyyy-MM>#<category>, see ExpenseAggregates
+      name = "period"
+      type = "S"
     }
   ]
 }
@@ -74,6 +134,12 @@ module "lambda" {
 
   project_name     = var.project_name
   dynamodb_arn     = module.dynamodb.table_arn
+  dynamodb_stream_arn = module.dynamodb.table_stream_arn
+  aggregates_table_arn  = module.dynamodb_aggregates.table_arn
+  aggregates_table_name = module.dynamodb_aggregates.table_name
+  outbox_enabled   = var.outbox_enabled
+  expense_index_projection_type = var.expense_index_projection_type
+  native_runtime   = var.native_runtime
   cognito_user_pool = module.cognito.user_pool_id
   api_gateway_id    = module.api_gateway.id
 }
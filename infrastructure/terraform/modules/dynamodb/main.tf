@@ -4,6 +4,10 @@ resource "aws_dynamodb_table" "this" {
   read_capacity  = 5
   write_capacity = 5
   hash_key       = var.hash_key
+  range_key      = var.range_key
+
+  stream_enabled   = var.stream_enabled
+  stream_view_type = var.stream_enabled ? var.stream_view_type : null
 
   dynamic "attribute" {
     for_each = var.attributes
@@ -20,6 +24,7 @@ resource "aws_dynamodb_table" "this" {
       hash_key           = global_secondary_index.value.hash_key
       range_key          = global_secondary_index.value.range_key
       projection_type    = global_secondary_index.value.projection_type
+      non_key_attributes = global_secondary_index.value.projection_type == "INCLUDE" ? global_secondary_index.value.non_key_attributes : null
       read_capacity      = global_secondary_index.value.read_capacity
       write_capacity     = global_secondary_index.value.write_capacity
     }
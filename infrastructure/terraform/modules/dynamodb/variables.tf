@@ -8,6 +8,12 @@ variable "hash_key" {
   type        = string
 }
 
+variable "range_key" {
+  description = "Range key for the DynamoDB table, if any"
+  type        = string
+  default     = null
+}
+
 variable "attributes" {
   description = "List of DynamoDB attributes"
   type = list(object({
@@ -17,18 +23,31 @@ variable "attributes" {
 }
 
 variable "global_secondary_indexes" {
-  description = "List of global secondary indexes"
+  description = "List of global secondary indexes; non_key_attributes is only used with the INCLUDE projection type"
   type = list(object({
-    name            = string
-    hash_key        = string
-    range_key       = string
-    projection_type = string
-    read_capacity   = number
-    write_capacity  = number
+    name               = string
+    hash_key           = string
+    range_key          = string
+    projection_type    = string
+    non_key_attributes = list(string)
+    read_capacity      = number
+    write_capacity     = number
   }))
   default = []
 }
 
+variable "stream_enabled" {
+  description = "Whether to enable the DynamoDB stream on the table"
+  type        = bool
+  default     = false
+}
+
+variable "stream_view_type" {
+  description = "What the stream records contain when the stream is enabled"
+  type        = string
+  default     = "NEW_IMAGE"
+}
+
 variable "tags" {
   description = "Tags to apply to the DynamoDB table"
   type        = map(string)
@@ -31,7 +31,9 @@ resource "aws_iam_role_policy" "lambda" {
           "logs:CreateLogStream",
           "logs:PutLogEvents",
           "dynamodb:GetItem",
+          "dynamodb:BatchGetItem",
           "dynamodb:PutItem",
+          "dynamodb:BatchWriteItem",
           "dynamodb:UpdateItem",
           "dynamodb:DeleteItem",
           "dynamodb:Query",
@@ -44,81 +46,345 @@ resource "aws_iam_role_policy" "lambda" {
         Resource = [
           "${var.dynamodb_arn}",
           "${var.dynamodb_arn}/index/*",
+          "${var.aggregates_table_arn}",
           "${var.sqs_queue_arn}"
         ]
+      },
+      {
+        Effect = "Allow"
+        Action = [
+          "dynamodb:GetRecords",
+          "dynamodb:GetShardIterator",
+          "dynamodb:DescribeStream",
+          "dynamodb:ListStreams"
+        ]
+        Resource = [
+          "${var.dynamodb_stream_arn}"
+        ]
       }
     ]
   })
 }
 
+# Each function ships its own package built by backend/lambda-core: a minimized jar for java17, or with
+# mvn -Plambda-native package a zip holding a native executable for the provided.al2 runtime.
+# SnapStart is only available on the managed Java runtimes, and native images start fast without it.
+locals {
+  runtime    = var.native_runtime ? "provided.al2" : "java17"
+  snap_start = var.native_runtime ? [] : ["PublishedVersions"]
+  packages = var.native_runtime ? {
+    create_expense       = "create-expense.zip"
+    batch_create_expense = "batch-create-expense.zip"
+    get_expenses         = "get-expenses.zip"
+    stream_expenses      = "stream-expenses.zip"
+    process_expense      = "process-expense.zip"
+    outbox_relay         = "outbox-relay.zip"
+    aggregate_stream     = "aggregate-stream.zip"
+  } : {
+    create_expense       = "create-expense.jar"
+    batch_create_expense = "batch-create-expense.jar"
+    get_expenses         = "get-expenses.jar"
+    stream_expenses      = "stream-expenses.jar"
+    process_expense      = "process-expense.jar"
+    outbox_relay         = "outbox-relay.jar"
+    aggregate_stream     = "aggregate-stream.jar"
+  }
+}
+
 # Lambda function for creating expenses
 resource "aws_lambda_function" "create_expense" {
-  filename         = "${path.module}/functions/create-expense.jar"
+  filename         = "${path.module}/functions/${local.packages.create_expense}"
   function_name    = "${var.project_name}-create-expense"
   role            = aws_iam_role.lambda.arn
   handler         = "com.expensetracker.lambda.CreateExpenseHandler::handleRequest"
-  runtime         = "java17"
+  runtime         = local.runtime
+  timeout         = 30
+  memory_size     = 256
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.create_expense}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
+
+  environment {
+    variables = {
+      DYNAMODB_TABLE = var.dynamodb_table_name
+      SQS_QUEUE_URL  = var.sqs_queue_url
+      OUTBOX_ENABLED = tostring(var.outbox_enabled)
+    }
+  }
+}
+
+# Lambda function for creating expenses in bulk
+resource "aws_lambda_function" "batch_create_expense" {
+  filename         = "${path.module}/functions/${local.packages.batch_create_expense}"
+  function_name    = "${var.project_name}-batch-create-expense"
+  role            = aws_iam_role.lambda.arn
+  handler         = "com.expensetracker.lambda.BatchCreateExpenseHandler::handleRequest"
+  runtime         = local.runtime
   timeout         = 30
   memory_size     = 256
-  source_code_hash = filebase64sha256("${path.module}/functions/create-expense.jar")
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.batch_create_expense}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
 
   environment {
     variables = {
       DYNAMODB_TABLE = var.dynamodb_table_name
       SQS_QUEUE_URL  = var.sqs_queue_url
+      OUTBOX_ENABLED = tostring(var.outbox_enabled)
     }
   }
 }
 
 # Lambda function for getting expenses
 resource "aws_lambda_function" "get_expenses" {
-  filename         = "${path.module}/functions/get-expenses.jar"
+  filename         = "${path.module}/functions/${local.packages.get_expenses}"
   function_name    = "${var.project_name}-get-expenses"
   role            = aws_iam_role.lambda.arn
   handler         = "com.expensetracker.lambda.GetExpensesHandler::handleRequest"
-  runtime         = "java17"
+  runtime         = local.runtime
   timeout         = 30
   memory_size     = 256
-  source_code_hash = filebase64sha256("${path.module}/functions/get-expenses.jar")
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.get_expenses}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
 
   environment {
     variables = {
-      DYNAMODB_TABLE = var.dynamodb_table_name
+      DYNAMODB_TABLE           = var.dynamodb_table_name
+      EXPENSE_INDEX_PROJECTION = var.expense_index_projection_type
+    }
+  }
+}
+
+# Lambda function for streaming a user's full expense list page by page
+resource "aws_lambda_function" "stream_expenses" {
+  filename         = "${path.module}/functions/${local.packages.stream_expenses}"
+  function_name    = "${var.project_name}-stream-expenses"
+  role            = aws_iam_role.lambda.arn
+  handler         = "com.expensetracker.lambda.StreamingGetExpensesHandler::handleRequest"
+  runtime         = local.runtime
+  timeout         = 60
+  memory_size     = 256
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.stream_expenses}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
+
+  environment {
+    variables = {
+      DYNAMODB_TABLE           = var.dynamodb_table_name
+      EXPENSE_INDEX_PROJECTION = var.expense_index_projection_type
     }
   }
 }
 
 # Lambda function for processing expenses (triggered by SQS)
 resource "aws_lambda_function" "process_expense" {
-  filename         = "${path.module}/functions/process-expense.jar"
+  filename         = "${path.module}/functions/${local.packages.process_expense}"
   function_name    = "${var.project_name}-process-expense"
   role            = aws_iam_role.lambda.arn
   handler         = "com.expensetracker.lambda.ProcessExpenseHandler::handleRequest"
-  runtime         = "java17"
+  runtime         = local.runtime
   timeout         = 30
   memory_size     = 256
-  source_code_hash = filebase64sha256("${path.module}/functions/process-expense.jar")
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.process_expense}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
 
   environment {
     variables = {
-      DYNAMODB_TABLE = var.dynamodb_table_name
+      DYNAMODB_TABLE      = var.dynamodb_table_name
+      PROCESS_CONCURRENCY = "10"
     }
   }
 }
 
+# SnapStart only applies to published versions, so every trigger invokes the "live" alias,
+# which always points at the version published with the latest code
+resource "aws_lambda_alias" "create_expense" {
+  name             = "live"
+  function_name    = aws_lambda_function.create_expense.function_name
+  function_version = aws_lambda_function.create_expense.version
+}
+
+resource "aws_lambda_alias" "batch_create_expense" {
+  name             = "live"
+  function_name    = aws_lambda_function.batch_create_expense.function_name
+  function_version = aws_lambda_function.batch_create_expense.version
+}
+
+resource "aws_lambda_alias" "get_expenses" {
+  name             = "live"
+  function_name    = aws_lambda_function.get_expenses.function_name
+  function_version = aws_lambda_function.get_expenses.version
+}
+
+resource "aws_lambda_alias" "stream_expenses" {
+  name             = "live"
+  function_name    = aws_lambda_function.stream_expenses.function_name
+  function_version = aws_lambda_function.stream_expenses.version
+}
+
+resource "aws_lambda_alias" "process_expense" {
+  name             = "live"
+  function_name    = aws_lambda_function.process_expense.function_name
+  function_version = aws_lambda_function.process_expense.version
+}
+
+resource "aws_lambda_alias" "outbox_relay" {
+  name             = "live"
+  function_name    = aws_lambda_function.outbox_relay.function_name
+  function_version = aws_lambda_function.outbox_relay.version
+}
+
+resource "aws_lambda_alias" "aggregate_stream" {
+  name             = "live"
+  function_name    = aws_lambda_function.aggregate_stream.function_name
+  function_version = aws_lambda_function.aggregate_stream.version
+}
+
 # SQS trigger for process_expense Lambda
+# The queue is FIFO, which caps batch_size at 10. The handler processes message groups concurrently
+# and reports only the failed messages, so a bad record no longer causes the whole batch to be redelivered.
 resource "aws_lambda_event_source_mapping" "process_expense" {
-  event_source_arn = var.sqs_queue_arn
-  enabled          = true
-  function_name    = aws_lambda_function.process_expense.arn
-  batch_size       = 1
+  event_source_arn        = var.sqs_queue_arn
+  enabled                 = true
+  function_name           = aws_lambda_alias.process_expense.arn
+  batch_size              = 10
+  function_response_types = ["ReportBatchItemFailures"]
+
+  scaling_config {
+    maximum_concurrency = 20
+  }
+}
+
+# Lambda function relaying new expenses from the table stream to the processing queue
+resource "aws_lambda_function" "outbox_relay" {
+  filename         = "${path.module}/functions/${local.packages.outbox_relay}"
+  function_name    = "${var.project_name}-outbox-relay"
+  role            = aws_iam_role.lambda.arn
+  handler         = "com.expensetracker.lambda.OutboxRelayHandler::handleRequest"
+  runtime         = local.runtime
+  timeout         = 30
+  memory_size     = 256
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.outbox_relay}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
+
+  environment {
+    variables = {
+      SQS_QUEUE_URL = var.sqs_queue_url
+    }
+  }
+}
+
+# Stream trigger for outbox_relay Lambda
+# Only inserts are delivered. Records are batched for up to a second so each invocation fills
+# SendMessageBatch calls; on a partial failure the shard resumes from the first unsent record.
+resource "aws_lambda_event_source_mapping" "outbox_relay" {
+  event_source_arn                   = var.dynamodb_stream_arn
+  enabled                            = var.outbox_enabled
+  function_name                      = aws_lambda_alias.outbox_relay.arn
+  starting_position                  = "LATEST"
+  batch_size                         = 100
+  maximum_batching_window_in_seconds = 1
+  function_response_types            = ["ReportBatchItemFailures"]
+  bisect_batch_on_function_error     = true
+  maximum_retry_attempts             = 10
+
+  filter_criteria {
+    filter {
+      pattern = jsonencode({ eventName = ["INSERT"] })
+    }
+  }
+}
+
+# Lambda function maintaining the monthly totals from every change to the expenses table
+resource "aws_lambda_function" "aggregate_stream" {
+  filename         = "${path.module}/functions/${local.packages.aggregate_stream}"
+  function_name    = "${var.project_name}-aggregate-stream"
+  role            = aws_iam_role.lambda.arn
+  handler         = "com.expensetracker.lambda.AggregateStreamHandler::handleRequest"
+  runtime         = local.runtime
+  timeout         = 30
+  memory_size     = 256
+  source_code_hash = filebase64sha256("${path.module}/functions/${local.packages.aggregate_stream}")
+  publish          = true
+
+  dynamic "snap_start" {
+    for_each = local.snap_start
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
+
+  environment {
+    variables = {
+      AGGREGATES_TABLE = var.aggregates_table_name
+    }
+  }
+}
+
+# Stream trigger for aggregate_stream Lambda
+# Inserts, updates and deletes are all delivered, since any of them can start or stop counting an expense.
+# Records are applied in order, and on a failure the shard resumes from the failed record.
+resource "aws_lambda_event_source_mapping" "aggregate_stream" {
+  event_source_arn                   = var.dynamodb_stream_arn
+  enabled                            = true
+  function_name                      = aws_lambda_alias.aggregate_stream.arn
+  starting_position                  = "LATEST"
+  batch_size                         = 100
+  maximum_batching_window_in_seconds = 1
+  function_response_types            = ["ReportBatchItemFailures"]
+  maximum_retry_attempts             = 10
+
+  filter_criteria {
+    filter {
+      pattern = jsonencode({ eventName = ["INSERT", "MODIFY", "REMOVE"] })
+    }
+  }
 }
 
 # API Gateway integration for create_expense Lambda
 resource "aws_apigatewayv2_integration" "create_expense" {
   api_id           = var.api_gateway_id
   integration_type = "AWS_PROXY"
-  integration_uri  = aws_lambda_function.create_expense.invoke_arn
+  integration_uri  = aws_lambda_alias.create_expense.invoke_arn
   payload_format_version = "2.0"
 }
 
@@ -136,6 +402,34 @@ resource "aws_lambda_permission" "create_expense" {
   statement_id  = "AllowAPIGatewayInvoke"
   action        = "lambda:InvokeFunction"
   function_name = aws_lambda_function.create_expense.function_name
+  qualifier     = aws_lambda_alias.create_expense.name
+  principal     = "apigateway.amazonaws.com"
+  source_arn    = "${var.api_gateway_arn}/*/*"
+}
+
+# API Gateway integration for batch_create_expense Lambda
+resource "aws_apigatewayv2_integration" "batch_create_expense" {
+  api_id           = var.api_gateway_id
+  integration_type = "AWS_PROXY"
+  integration_uri  = aws_lambda_alias.batch_create_expense.invoke_arn
+  payload_format_version = "2.0"
+}
+
+# API Gateway route for batch_create_expense
+resource "aws_apigatewayv2_route" "batch_create_expense" {
+  api_id    = var.api_gateway_id
+  route_key = "POST /expenses/batch"
+  target    = "integrations/${aws_apigatewayv2_integration.batch_create_expense.id}"
+  authorization_type = "JWT"
+  authorizer_id = var.api_gateway_authorizer_id
+}
+
+# Lambda permission for API Gateway
+resource "aws_lambda_permission" "batch_create_expense" {
+  statement_id  = "AllowAPIGatewayInvoke"
+  action        = "lambda:InvokeFunction"
+  function_name = aws_lambda_function.batch_create_expense.function_name
+  qualifier     = aws_lambda_alias.batch_create_expense.name
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${var.api_gateway_arn}/*/*"
 }
@@ -144,7 +438,7 @@ resource "aws_lambda_permission" "create_expense" {
 resource "aws_apigatewayv2_integration" "get_expenses" {
   api_id           = var.api_gateway_id
   integration_type = "AWS_PROXY"
-  integration_uri  = aws_lambda_function.get_expenses.invoke_arn
+  integration_uri  = aws_lambda_alias.get_expenses.invoke_arn
   payload_format_version = "2.0"
 }
 
@@ -162,6 +456,34 @@ resource "aws_lambda_permission" "get_expenses" {
   statement_id  = "AllowAPIGatewayInvoke"
   action        = "lambda:InvokeFunction"
   function_name = aws_lambda_function.get_expenses.function_name
+  qualifier     = aws_lambda_alias.get_expenses.name
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${var.api_gateway_arn}/*/*"
-} 
\ No newline at end of file
+}
+
+# API Gateway integration for stream_expenses Lambda
+resource "aws_apigatewayv2_integration" "stream_expenses" {
+  api_id           = var.api_gateway_id
+  integration_type = "AWS_PROXY"
+  integration_uri  = aws_lambda_alias.stream_expenses.invoke_arn
+  payload_format_version = "2.0"
+}
+
+# API Gateway route for stream_expenses
+resource "aws_apigatewayv2_route" "stream_expenses" {
+  api_id    = var.api_gateway_id
+  route_key = "GET /expenses/all"
+  target    = "integrations/${aws_apigatewayv2_integration.stream_expenses.id}"
+  authorization_type = "JWT"
+  authorizer_id = var.api_gateway_authorizer_id
+}
+
+# Lambda permission for API Gateway
+resource "aws_lambda_permission" "stream_expenses" {
+  statement_id  = "AllowAPIGatewayInvoke"
+  action        = "lambda:InvokeFunction"
+  function_name = aws_lambda_function.stream_expenses.function_name
+  qualifier     = aws_lambda_alias.stream_expenses.name
+  principal     = "apigateway.amazonaws.com"
+  source_arn    = "${var.api_gateway_arn}/*/*"
+}
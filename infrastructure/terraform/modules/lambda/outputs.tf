@@ -3,22 +3,46 @@ output "create_expense_function_arn" {
   value       = aws_lambda_function.create_expense.arn
 }
 
+output "batch_create_expense_function_arn" {
+  description = "ARN of the batch create expense Lambda function"
+  value       = aws_lambda_function.batch_create_expense.arn
+}
+
 output "get_expenses_function_arn" {
   description = "ARN of the get expenses Lambda function"
   value       = aws_lambda_function.get_expenses.arn
 }
 
+output "stream_expenses_function_arn" {
+  description = "ARN of the streaming get expenses Lambda function"
+  value       = aws_lambda_function.stream_expenses.arn
+}
+
 output "process_expense_function_arn" {
   description = "ARN of the process expense Lambda function"
   value       = aws_lambda_function.process_expense.arn
 }
 
+output "outbox_relay_function_arn" {
+  description = "ARN of the outbox relay Lambda function"
+  value       = aws_lambda_function.outbox_relay.arn
+}
+
+output "aggregate_stream_function_arn" {
+  description = "ARN of the aggregate stream Lambda function"
+  value       = aws_lambda_function.aggregate_stream.arn
+}
+
 output "function_arns" {
   description = "Map of all Lambda function ARNs"
   value = {
     create_expense = aws_lambda_function.create_expense.arn
+    batch_create_expense = aws_lambda_function.batch_create_expense.arn
     get_expenses   = aws_lambda_function.get_expenses.arn
+    stream_expenses = aws_lambda_function.stream_expenses.arn
     process_expense = aws_lambda_function.process_expense.arn
+    outbox_relay    = aws_lambda_function.outbox_relay.arn
+    aggregate_stream = aws_lambda_function.aggregate_stream.arn
   }
 }
 
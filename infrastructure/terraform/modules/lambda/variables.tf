@@ -13,6 +13,33 @@ variable "dynamodb_table_name" {
   type        = string
 }
 
+variable "dynamodb_stream_arn" {
+  description = "ARN of the DynamoDB table stream read by the outbox relay"
+  type        = string
+}
+
+variable "aggregates_table_arn" {
+  description = "ARN of the monthly aggregates DynamoDB table"
+  type        = string
+}
+
+variable "aggregates_table_name" {
+  description = "Name of the monthly aggregates DynamoDB table"
+  type        = string
+}
+
+variable "outbox_enabled" {
+  description = "Whether the create functions leave enqueueing to the outbox relay"
+  type        = bool
+  default     = false
+}
+
+variable "expense_index_projection_type" {
+  description = "Projection of the expenses table's secondary indexes, ALL or INCLUDE; the listing functions fetch full items when it is INCLUDE"
+  type        = string
+  default     = "ALL"
+}
+
 variable "sqs_queue_arn" {
   description = "ARN of the SQS queue"
   type        = string
@@ -42,4 +69,9 @@ variable "tags" {
   description = "Tags to apply to all resources"
   type        = map(string)
   default     = {}
-} 
\ No newline at end of file
+} 
+variable "native_runtime" {
+  description = "Deploy the GraalVM native packages on provided.al2 instead of the jars on java17"
+  type        = bool
+  default     = false
+}
@@ -1,7 +1,8 @@
 resource "aws_sqs_queue" "this" {
   name = var.queue_name
 
-  visibility_timeout_seconds = 30
+  # At least 6x the consumer Lambda timeout, so in-flight batches are not redelivered mid-processing
+  visibility_timeout_seconds = 180
   message_retention_seconds = 345600 # 4 days
 
   # Enable server-side encryption
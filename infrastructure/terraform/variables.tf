@@ -16,6 +16,34 @@ variable "environment" {
   default     = "dev"
 }
 
+variable "outbox_enabled" {
+  description = "Enqueue new expenses from the table stream instead of from the create functions"
+  type        = bool
+  default     = true
+}
+
+variable "expense_index_projection_type" {
+  description = <<-EOT
+    Projection of the expenses table's secondary indexes. INCLUDE copies only the attributes that
+    fields=summary listings read, which makes index storage and writes cheaper; full listings served
+    from those indexes then read only ids from the index and fetch the items from the table with
+    BatchGetItem, so set EXPENSE_INDEX_PROJECTION to the same value wherever the API runs
+  EOT
+  type        = string
+  default     = "ALL"
+
+  validation {
+    condition     = contains(["ALL", "INCLUDE"], var.expense_index_projection_type)
+    error_message = "expense_index_projection_type must be ALL or INCLUDE."
+  }
+}
+
+variable "native_runtime" {
+  description = "Deploy the Lambda functions as GraalVM native executables on provided.al2"
+  type        = bool
+  default     = false
+}
+
 variable "tags" {
   description = "Tags to apply to all resources"
   type        = map(string)
@@ -14,15 +14,31 @@ mvn clean package -DskipTests
 echo "Deploying Lambda functions..."
 aws lambda update-function-code \
   --function-name expense-tracker-staging-create-expense \
-  --zip-file fileb://target/create-expense.jar
+  --zip-file fileb://lambda-core/target/create-expense.jar
+
+aws lambda update-function-code \
+  --function-name expense-tracker-staging-batch-create-expense \
+  --zip-file fileb://lambda-core/target/batch-create-expense.jar
 
 aws lambda update-function-code \
   --function-name expense-tracker-staging-get-expenses \
-  --zip-file fileb://target/get-expenses.jar
+  --zip-file fileb://lambda-core/target/get-expenses.jar
+
+aws lambda update-function-code \
+  --function-name expense-tracker-staging-stream-expenses \
+  --zip-file fileb://lambda-core/target/stream-expenses.jar
 
 aws lambda update-function-code \
   --function-name expense-tracker-staging-process-expense \
-  --zip-file fileb://target/process-expense.jar
+  --zip-file fileb://lambda-core/target/process-expense.jar
+
+aws lambda update-function-code \
+  --function-name expense-tracker-staging-outbox-relay \
+  --zip-file fileb://lambda-core/target/outbox-relay.jar
+
+aws lambda update-function-code \
+  --function-name expense-tracker-staging-aggregate-stream \
+  --zip-file fileb://lambda-core/target/aggregate-stream.jar
 
 # Update environment variables
 echo "Updating environment variables..."
@@ -44,6 +60,12 @@ aws ssm put-parameter \
   --type SecureString \
   --overwrite
 
+aws ssm put-parameter \
+  --name "/expense-tracker/staging/EXPENSE_INDEX_PROJECTION" \
+  --value "${EXPENSE_INDEX_PROJECTION:-ALL}" \
+  --type String \
+  --overwrite
+
 # Deploy API Gateway
 echo "Deploying API Gateway..."
 aws apigateway create-deployment \